@@ -0,0 +1,102 @@
+package benchmark;
+
+import graph.NoEdgeInfoGraph;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Random inputs shared by the benchmarks. All of them are built from a fixed seed, so every run of a benchmark with the
+ * same parameters measures the same input.
+ */
+final class BenchmarkData {
+
+    static final long SEED = 42;
+
+    /*  Separator between the fields of a log line  */
+    private static final String SEPARATOR = "    ";
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Returns the email of the user with the given index.
+     */
+    static String user(final int index) {
+        return "user" + index + "@facebook.com";
+    }
+
+    /**
+     * Returns the directed connections of a random graph over the given number of users, where each ordered pair of
+     * different users is connected with the given probability. Each connection is a {@code {source, target}} pair of
+     * user indexes.
+     */
+    static List<int[]> connections(final int userCount, final double density) {
+        final Random random = new Random(SEED);
+        final List<int[]> connections = new ArrayList<int[]>();
+        for (int source = 0; source < userCount; source++) {
+            for (int target = 0; target < userCount; target++) {
+                if (source != target && random.nextDouble() < density) {
+                    connections.add(new int[]{source, target});
+                }
+            }
+        }
+        return connections;
+    }
+
+    /**
+     * Returns a log line in the format read by {@code FaceBookDataProvider} for each of the given connections.
+     */
+    static String[] lines(final List<int[]> connections) {
+        final String[] lines = new String[connections.size()];
+        for (int i = 0; i < lines.length; i++) {
+            final int[] connection = connections.get(i);
+            lines[i] = "Thu Dec 11 17:53:" + (10 + i % 50) + " PST 2008" + SEPARATOR + user(connection[0]) + SEPARATOR
+                    + user(connection[1]);
+        }
+        return lines;
+    }
+
+    /**
+     * Writes the given lines into a temporary file, which is deleted when the JVM exits.
+     */
+    static File writeLog(final String[] lines) throws IOException {
+        final File file = File.createTempFile("benchmark", ".txt");
+        file.deleteOnExit();
+        final PrintWriter writer = new PrintWriter(file, "UTF-8");
+        try {
+            for (String line : lines) {
+                writer.print(line);
+                writer.print('\n');
+            }
+        } finally {
+            writer.close();
+        }
+        return file;
+    }
+
+    /**
+     * Returns a random undirected graph over the given number of users, where each pair of different users is connected
+     * in both directions with the given probability.
+     */
+    static NoEdgeInfoGraph<String> undirectedGraph(final int userCount, final double density) {
+        final Random random = new Random(SEED);
+        final NoEdgeInfoGraph<String> graph = new NoEdgeInfoGraph<String>();
+        for (int i = 0; i < userCount; i++) {
+            graph.addVertex(user(i));
+        }
+        for (int i = 0; i < userCount; i++) {
+            for (int j = i + 1; j < userCount; j++) {
+                if (random.nextDouble() < density) {
+                    graph.addConnection(user(i), user(j));
+                    graph.addConnection(user(j), user(i));
+                }
+            }
+        }
+        return graph;
+    }
+}
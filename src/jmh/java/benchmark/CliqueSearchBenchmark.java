@@ -0,0 +1,68 @@
+package benchmark;
+
+import graph.BaseAbsCliqueFinder;
+import graph.BitSetCliqueFinder;
+import graph.BronKerboschCliqueFinder;
+import graph.NoEdgeInfoGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search of all the maximal cliques of a random undirected graph through
+ * {@link BaseAbsCliqueFinder#getAllMaximalCliques()}, with both strategies of {@link BronKerboschCliqueFinder} and with
+ * {@link BitSetCliqueFinder}. The {@code PIVOT} finder never switches to the bit matrix, so it measures the pivoting
+ * search over the graph itself.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CliqueSearchBenchmark {
+
+    @Param({"100", "500"})
+    private int users;
+
+    @Param({"0.05", "0.2"})
+    private double density;
+
+    @Param({"CLASSIC", "PIVOT", "BITSET"})
+    private String finder;
+
+    private NoEdgeInfoGraph<String> graph;
+
+    @Setup
+    public void setUp() {
+        graph = BenchmarkData.undirectedGraph(users, density);
+    }
+
+    @Benchmark
+    public Collection<Set<String>> getAllMaximalCliques() {
+        return newFinder().getAllMaximalCliques();
+    }
+
+    private BaseAbsCliqueFinder<String, String> newFinder() {
+        if ("BITSET".equals(finder)) {
+            return new BitSetCliqueFinder<String, String>(graph);
+        }
+        final BronKerboschCliqueFinder<String, String> bronKerbosch = new BronKerboschCliqueFinder<String, String>(graph,
+                BronKerboschCliqueFinder.Strategy.valueOf(finder));
+        //Densities above 1 never switch to the bit matrix
+        bronKerbosch.setDenseGraphThreshold(2);
+        return bronKerbosch;
+    }
+}
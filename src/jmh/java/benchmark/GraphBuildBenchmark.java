@@ -0,0 +1,117 @@
+package benchmark;
+
+import graph.IntGraph;
+import graph.MutualGraphBuilder;
+import graph.NoEdgeInfoGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building the directed graph of the connections through {@link NoEdgeInfoGraph#addConnection(Object, Object)}, and
+ * filtering it through {@link NoEdgeInfoGraph#removeNonBidirectionalConnections()}. Each ordered pair of users is
+ * connected with the given density, so about {@code density} of the connections are bidirectional.
+ * <p/>
+ * The mutual graph of the user ids is built both ways {@code PeakTraffic} did: a directed graph filtered afterwards, and
+ * a {@link MutualGraphBuilder} which keeps the bidirectional connections as they come.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class GraphBuildBenchmark {
+
+    @Param({"100", "1000"})
+    private int users;
+
+    @Param({"0.01", "0.1"})
+    private double density;
+
+    private String[] sources;
+    private String[] targets;
+
+    /*  The same connections between user ids, as handed by the provider  */
+    private int[] sourceIds;
+    private int[] targetIds;
+
+    @Setup
+    public void setUp() {
+        final List<int[]> connections = BenchmarkData.connections(users, density);
+        sources = new String[connections.size()];
+        targets = new String[connections.size()];
+        sourceIds = new int[connections.size()];
+        targetIds = new int[connections.size()];
+        for (int i = 0; i < sources.length; i++) {
+            sources[i] = BenchmarkData.user(connections.get(i)[0]);
+            targets[i] = BenchmarkData.user(connections.get(i)[1]);
+            sourceIds[i] = connections.get(i)[0];
+            targetIds[i] = connections.get(i)[1];
+        }
+    }
+
+    private NoEdgeInfoGraph<String> build() {
+        final NoEdgeInfoGraph<String> result = new NoEdgeInfoGraph<String>();
+        for (int i = 0; i < sources.length; i++) {
+            result.addConnection(sources[i], targets[i]);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public NoEdgeInfoGraph<String> addConnection() {
+        return build();
+    }
+
+    @Benchmark
+    public int removeNonBidirectionalConnections(final DirectedGraph directed) {
+        return directed.graph.removeNonBidirectionalConnections();
+    }
+
+    @Benchmark
+    public NoEdgeInfoGraph<Integer> filteredMutualGraph() {
+        final NoEdgeInfoGraph<Integer> result = new NoEdgeInfoGraph<Integer>();
+        for (int i = 0; i < sourceIds.length; i++) {
+            result.addConnection(sourceIds[i], targetIds[i]);
+        }
+        result.removeNonBidirectionalConnections();
+        return result;
+    }
+
+    @Benchmark
+    public IntGraph mutualGraphBuilder() {
+        final MutualGraphBuilder builder = new MutualGraphBuilder();
+        for (int i = 0; i < sourceIds.length; i++) {
+            builder.addConnection(sourceIds[i], targetIds[i]);
+        }
+        return builder.getGraph();
+    }
+
+    /**
+     * Directed graph filtered by {@link #removeNonBidirectionalConnections(DirectedGraph)}, built again before each call
+     * as the filter modifies it. It is a state of its own so the other benchmarks do not build it.
+     */
+    @State(Scope.Thread)
+    public static class DirectedGraph {
+
+        private NoEdgeInfoGraph<String> graph;
+
+        @Setup(Level.Invocation)
+        public void build(final GraphBuildBenchmark benchmark) {
+            graph = benchmark.build();
+        }
+    }
+}
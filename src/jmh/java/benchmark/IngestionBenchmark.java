@@ -0,0 +1,60 @@
+package benchmark;
+
+import data.provider.FaceBookDataProvider;
+import graph.BaseAbsGraph;
+import main.PeakTraffic;
+import metrics.MetricsRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The ingestion phase of {@link PeakTraffic}, from a log file to the graph of its mutual connections, through
+ * {@link PeakTraffic#ingest(FaceBookDataProvider, metrics.PhaseMetrics, int)}. A single thread builds the graph through
+ * a {@code MutualGraphBuilder}, while several threads share a {@code ConcurrentGraphBuilder} and the symbol table of the
+ * provider. The log holds a connection for each ordered pair of users with the given density, so it has about
+ * {@code users^2 * density} lines.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class IngestionBenchmark {
+
+    @Param({"1000", "3000"})
+    private int users;
+
+    @Param({"0.1"})
+    private double density;
+
+    @Param({"1", "2", "4"})
+    private int threads;
+
+    private File log;
+
+    @Setup
+    public void setUp() throws IOException {
+        log = BenchmarkData.writeLog(BenchmarkData.lines(BenchmarkData.connections(users, density)));
+    }
+
+    @Benchmark
+    public BaseAbsGraph<Integer, Integer> ingest() {
+        final FaceBookDataProvider provider = new FaceBookDataProvider(log.getPath(),
+                FaceBookDataProvider.DateMode.SKIP);
+        return PeakTraffic.ingest(provider, new MetricsRegistry().startPhase("ingestion"), threads);
+    }
+}
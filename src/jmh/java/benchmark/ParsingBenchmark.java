@@ -0,0 +1,64 @@
+package benchmark;
+
+import data.FacebookData;
+import data.provider.FaceBookDataProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of the log lines, both from memory through {@link FaceBookDataProvider#dataFromString(String)} and from a file
+ * through {@link FaceBookDataProvider#getAllData()}. The log holds a connection for each ordered pair of users with the
+ * given density, so it has about {@code users^2 * density} lines.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ParsingBenchmark {
+
+    @Param({"100", "1000"})
+    private int users;
+
+    @Param({"0.01", "0.1"})
+    private double density;
+
+    private String[] lines;
+
+    private File log;
+
+    @Setup
+    public void setUp() throws IOException {
+        lines = BenchmarkData.lines(BenchmarkData.connections(users, density));
+        log = BenchmarkData.writeLog(lines);
+    }
+
+    @Benchmark
+    public void dataFromString(final Blackhole blackhole) {
+        final FaceBookDataProvider provider = new FaceBookDataProvider(log.getPath());
+        for (String line : lines) {
+            blackhole.consume(provider.dataFromString(line));
+        }
+    }
+
+    @Benchmark
+    public List<FacebookData> getAllData() {
+        return new FaceBookDataProvider(log.getPath()).getAllData();
+    }
+}
@@ -5,9 +5,36 @@ package data;
  */
 public interface FacebookData {
 
+    /*  Value returned by getCommunicationTime() when the date is not known  */
+    long NO_TIME = Long.MIN_VALUE;
+
+    /**
+     * Returns the date of the communication as written in the log, or null if the provider was set to skip or only
+     * keep the parsed time of the dates.
+     */
     String getCommunicationDate();
 
+    /**
+     * Returns the date of the communication in seconds since the epoch, or {@link #NO_TIME} if the provider was set to
+     * skip the dates.
+     *
+     * @throws IllegalArgumentException if the date is not valid or its time zone is not supported
+     */
+    long getCommunicationTime();
+
     String getSourceUser();
 
     String getTargetUser();
+
+    /**
+     * Returns the id the source user was given by the symbol table of the provider which parsed this data, or -1 if
+     * the data was not built by a provider.
+     */
+    int getSourceUserId();
+
+    /**
+     * Returns the id the target user was given by the symbol table of the provider which parsed this data, or -1 if
+     * the data was not built by a provider.
+     */
+    int getTargetUserId();
 }
@@ -0,0 +1,16 @@
+package data.provider;
+
+/**
+ * Callback notified by a {@link FileDataProvider} for each piece of data parsed from its source file.
+ *
+ * @param <T> Type of the data.
+ */
+public interface DataConsumer<T> {
+
+    /**
+     * Called for each parsed data, following the order of the lines of the source file.
+     *
+     * @param data
+     */
+    public void consume(T data);
+}
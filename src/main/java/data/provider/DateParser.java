@@ -0,0 +1,186 @@
+package data.provider;
+
+import java.nio.charset.Charset;
+
+/**
+ * Parser for the dates of the log, written as {@code "Thu Dec 11 17:53:01 PST 2008"}, into seconds since the epoch.
+ * <p/>
+ * Dates are parsed by hand straight from the bytes of the line, without building any String nor calendar object. The
+ * day name is skipped, and the time zone must be one of the abbreviations in {@link #ZONES}; their standard or daylight
+ * offset is fixed by the abbreviation itself, so no time zone database is needed.
+ */
+final class DateParser {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private static final String[] MONTHS = {
+            "Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"};
+
+    /*  Supported time zone abbreviations, and their offset from UTC in hours  */
+    private static final String[] ZONES = {
+            "UTC", "GMT", "PST", "PDT", "MST", "MDT", "CST", "CDT", "EST", "EDT", "AKST", "AKDT", "HST", "CET", "CEST"};
+    private static final int[] ZONE_OFFSETS = {
+            0, 0, -8, -7, -7, -6, -6, -5, -5, -4, -9, -8, -10, 1, 2};
+
+    private DateParser() {
+    }
+
+    /**
+     * Returns the seconds since the epoch for the date written in {@code bytes[offset, offset + length)}.
+     *
+     * @param bytes
+     * @param offset
+     * @param length
+     * @throws IllegalArgumentException if the date is not valid or its time zone is not supported
+     */
+    static long parseEpochSeconds(final byte[] bytes, final int offset, final int length) {
+        final Cursor cursor = new Cursor(bytes, offset, offset + length);
+
+        cursor.nextToken();
+        cursor.nextToken();
+        final int month = cursor.indexOf(MONTHS) + 1;
+        final int day = cursor.nextNumber(':');
+        final int hour = cursor.nextNumber(':');
+        final int minute = cursor.nextNumber(':');
+        final int second = cursor.nextNumber(' ');
+        cursor.nextToken();
+        final int zone = cursor.indexOf(ZONES);
+        final int year = cursor.nextNumber(' ');
+        if (month == 0 || zone < 0 || cursor.hasMoreTokens() || day < 1 || day > 31 || hour > 23 || minute > 59
+                || second > 60) {
+            throw invalidDate(bytes, offset, length);
+        }
+
+        final long days = daysFromCivil(year, month, day);
+        return days * 86400 + hour * 3600 + minute * 60 + second - ZONE_OFFSETS[zone] * 3600L;
+    }
+
+    /**
+     * Returns the seconds since the epoch for the given date.
+     *
+     * @param date
+     * @throws IllegalArgumentException if the date is not valid or its time zone is not supported
+     */
+    static long parseEpochSeconds(final String date) {
+        final byte[] bytes = new byte[date.length()];
+        for (int i = 0; i < bytes.length; i++) {
+            final char c = date.charAt(i);
+            //Non ASCII characters are never valid, so mapping them to any other non valid byte is enough
+            bytes[i] = c < 0x80 ? (byte) c : (byte) '?';
+        }
+        return parseEpochSeconds(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Returns the number of days between 1970-01-01 and the given date of the proleptic Gregorian calendar, following
+     * [Hinnant H.: chrono-Compatible Low-Level Date Algorithms].
+     */
+    static long daysFromCivil(int year, final int month, final int day) {
+        year -= month <= 2 ? 1 : 0;
+        final int era = (year >= 0 ? year : year - 399) / 400;
+        final int yearOfEra = year - era * 400;
+        final int dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        final int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097L + dayOfEra - 719468;
+    }
+
+    private static IllegalArgumentException invalidDate(final byte[] bytes, final int offset, final int length) {
+        return new IllegalArgumentException("Malformed date: " + new String(bytes, offset, length, UTF_8));
+    }
+
+    /**
+     * Walks the whitespace separated tokens of a date. A token is also ended by the separator given to
+     * {@link #nextNumber(char)}.
+     */
+    private static final class Cursor {
+
+        private final byte[] bytes;
+        private final int offset;
+        private final int end;
+
+        private int position;
+        private int tokenStart;
+        private int tokenEnd;
+
+        Cursor(byte[] bytes, int offset, int end) {
+            this.bytes = bytes;
+            this.offset = offset;
+            this.end = end;
+            this.position = offset;
+        }
+
+        /**
+         * Moves to the next whitespace separated token.
+         */
+        void nextToken() {
+            skipWhitespace();
+            tokenStart = position;
+            while (position < end && !isWhitespace(bytes[position])) {
+                position++;
+            }
+            tokenEnd = position;
+            if (tokenStart == tokenEnd) {
+                throw invalidDate(bytes, offset, end - offset);
+            }
+        }
+
+        /**
+         * Returns the index of the current token within the given values, or -1 if it is not one of them.
+         */
+        int indexOf(final String[] values) {
+            for (int i = 0; i < values.length; i++) {
+                if (tokenEquals(values[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Parses the number starting at the next token, which ends with a whitespace, the given separator or the end
+         * of the date. The separator is consumed.
+         */
+        int nextNumber(final char separator) {
+            skipWhitespace();
+            int value = 0;
+            final int start = position;
+            while (position < end && bytes[position] >= '0' && bytes[position] <= '9' && position - start < 9) {
+                value = value * 10 + bytes[position++] - '0';
+            }
+            if (position == start || (position < end && bytes[position] != separator && !isWhitespace(bytes[position]))) {
+                throw invalidDate(bytes, offset, end - offset);
+            }
+            if (position < end && bytes[position] == separator) {
+                position++;
+            }
+            return value;
+        }
+
+        boolean hasMoreTokens() {
+            skipWhitespace();
+            return position < end;
+        }
+
+        private boolean tokenEquals(final String value) {
+            if (tokenEnd - tokenStart != value.length()) {
+                return false;
+            }
+            for (int i = 0; i < value.length(); i++) {
+                if (bytes[tokenStart + i] != value.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void skipWhitespace() {
+            while (position < end && isWhitespace(bytes[position])) {
+                position++;
+            }
+        }
+
+        private static boolean isWhitespace(final byte b) {
+            return b == ' ' || b == '\t' || b == '\r' || b == '\n';
+        }
+    }
+}
@@ -2,26 +2,234 @@ package data.provider;
 
 import data.FacebookData;
 
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
 /**
  * FileDataProvider which builds {@link data.FacebookData} for each String.
+ * <p/>
+ * When reading a file, lines are parsed straight from their bytes and the user emails are interned through a
+ * {@link SymbolTable}, so every occurrence of the same user shares a single String instance. The table also gives each
+ * user an int id, available through {@link FacebookData#getSourceUserId()} and {@link FacebookData#getTargetUserId()},
+ * which can be translated back through {@link #getSymbolTable()}.
+ * <p/>
+ * How the date of each line is handled is set through a {@link DateMode}. Clustering does not need the dates at all, so
+ * they can be skipped for saving the work and memory of keeping them.
  */
 public class FaceBookDataProvider extends FileDataProvider<FacebookData> {
 
+    /**
+     * Possible ways of handling the date of each line.
+     */
+    public enum DateMode {
+        /**
+         * The date is kept as a String, built while parsing the line.
+         */
+        STRING,
+        /**
+         * The bytes of the date are kept, and only decoded into a String the first time it is asked for.
+         */
+        LAZY,
+        /**
+         * The date is parsed into seconds since the epoch, available through
+         * {@link FacebookData#getCommunicationTime()}. The String date is not kept.
+         */
+        EPOCH_SECONDS,
+        /**
+         * The date is not kept at all.
+         */
+        SKIP
+    }
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
 
+    private final SymbolTable mUsers = new SymbolTable();
+
+    private final DateMode mDateMode;
+
+    /**
+     * Constructs a new FaceBookDataProvider which keeps the date of each line as a String.
+     *
+     * @param mSourceFile
+     */
     public FaceBookDataProvider(String mSourceFile) {
+        this(mSourceFile, DateMode.STRING);
+    }
+
+    /**
+     * Constructs a new FaceBookDataProvider which handles the date of each line as set by the given mode.
+     *
+     * @param mSourceFile
+     * @param dateMode
+     */
+    public FaceBookDataProvider(String mSourceFile, DateMode dateMode) {
         super(mSourceFile);
+        if (dateMode == null) {
+            throw new IllegalArgumentException("The date mode cannot be null");
+        }
+        mDateMode = dateMode;
+    }
+
+    /**
+     * Returns how the date of each line is handled.
+     */
+    public DateMode getDateMode() {
+        return mDateMode;
+    }
+
+    /**
+     * Returns the number of different users seen so far.
+     */
+    public int getUserCount() {
+        return mUsers.size();
     }
 
+    /**
+     * Returns the symbol table holding all the users seen so far, which translates the user ids of the parsed data
+     * back to emails.
+     */
+    public SymbolTable getSymbolTable() {
+        return mUsers;
+    }
+
+    /**
+     * Builds a {@link data.FacebookData} from a log line. The line is scanned once from its end: the last two
+     * whitespace separated fields are the source and target users, and everything before them is the date. Fields may
+     * be separated by tabs or by runs of spaces, and the single spaces within the date are kept as they are.
+     *
+     * @param aStringToken the log line
+     * @throws IllegalArgumentException if the line does not contain a date, a source and a target user, or if the
+     *                                  date cannot be parsed while using {@link DateMode#EPOCH_SECONDS}
+     */
     @Override
     public FacebookData dataFromString(String aStringToken) {
-        //TODO:Although the description ensures well formatted input this is not the best approach to extract the data.
-        final String[] splittedContent = aStringToken.split("   ");
-        String date = "";
-        for (int i = 0; i < splittedContent.length - 2; i++) {
-            date += " " + splittedContent[i];
-        }
-        final String target = splittedContent[splittedContent.length - 1];
-        final String source = splittedContent[splittedContent.length - 2];
-        return new FacebookDataImpl(date.trim(), source.trim(), target.trim());
+        int end = skipWhitespaceBackwards(aStringToken, aStringToken.length());
+        int start = skipTokenBackwards(aStringToken, end);
+        final String targetToken = aStringToken.substring(start, end);
+
+        end = skipWhitespaceBackwards(aStringToken, start);
+        start = skipTokenBackwards(aStringToken, end);
+        final String sourceToken = aStringToken.substring(start, end);
+
+        end = skipWhitespaceBackwards(aStringToken, start);
+        start = skipWhitespaceForwards(aStringToken, 0, end);
+        if (start == end || sourceToken.isEmpty()) {
+            throw new IllegalArgumentException("Malformed line, expected a date, a source and a target user: " + aStringToken);
+        }
+        final int sourceId = mUsers.internId(sourceToken);
+        final int targetId = mUsers.internId(targetToken);
+        final String source = mUsers.symbolOf(sourceId);
+        final String target = mUsers.symbolOf(targetId);
+        switch (mDateMode) {
+            case EPOCH_SECONDS:
+                return new FacebookDataImpl(null, null, DateParser.parseEpochSeconds(aStringToken.substring(start, end)),
+                        source, target, sourceId, targetId);
+            case SKIP:
+                return new FacebookDataImpl(null, source, target, sourceId, targetId);
+            default:
+                //The line is already a String, so there is nothing to save by keeping the date lazy
+                return new FacebookDataImpl(aStringToken.substring(start, end), source, target, sourceId, targetId);
+        }
+    }
+
+    /**
+     * Same as {@link #dataFromString(String)}, but working on the UTF-8 encoded bytes of the line. Users are looked up
+     * in the intern table straight from the bytes, so a String is only created the first time a user is seen; the date
+     * is only decoded into a String while using {@link DateMode#STRING}.
+     *
+     * @throws IllegalArgumentException if the line does not contain a date, a source and a target user, or if the
+     *                                  date cannot be parsed while using {@link DateMode#EPOCH_SECONDS}
+     */
+    @Override
+    public FacebookData dataFromBytes(final byte[] line, final int offset, final int length) {
+        final int lineEnd = offset + length;
+        int end = skipWhitespaceBackwards(line, offset, lineEnd);
+        int start = skipTokenBackwards(line, offset, end);
+        final int targetStart = start;
+        final int targetEnd = end;
+
+        end = skipWhitespaceBackwards(line, offset, start);
+        start = skipTokenBackwards(line, offset, end);
+        final int sourceStart = start;
+        final int sourceEnd = end;
+
+        end = skipWhitespaceBackwards(line, offset, start);
+        start = skipWhitespaceForwards(line, offset, end);
+        if (start == end || sourceStart == sourceEnd) {
+            throw new IllegalArgumentException("Malformed line, expected a date, a source and a target user: "
+                    + new String(line, offset, length, UTF_8));
+        }
+        final int sourceId = mUsers.internId(line, sourceStart, sourceEnd - sourceStart);
+        final int targetId = mUsers.internId(line, targetStart, targetEnd - targetStart);
+        final String source = mUsers.symbolOf(sourceId);
+        final String target = mUsers.symbolOf(targetId);
+        switch (mDateMode) {
+            case LAZY:
+                return new FacebookDataImpl(null, Arrays.copyOfRange(line, start, end), FacebookData.NO_TIME,
+                        source, target, sourceId, targetId);
+            case EPOCH_SECONDS:
+                return new FacebookDataImpl(null, null, DateParser.parseEpochSeconds(line, start, end - start),
+                        source, target, sourceId, targetId);
+            case SKIP:
+                return new FacebookDataImpl(null, source, target, sourceId, targetId);
+            default:
+                return new FacebookDataImpl(new String(line, start, end - start, UTF_8), source, target,
+                        sourceId, targetId);
+        }
+    }
+
+    /**
+     * Returns the index following the last non whitespace character before {@code index}.
+     */
+    private static int skipWhitespaceBackwards(final String line, int index) {
+        while (index > 0 && isWhitespace(line.charAt(index - 1))) {
+            index--;
+        }
+        return index;
+    }
+
+    /**
+     * Returns the index of the first character of the token ending at {@code index}.
+     */
+    private static int skipTokenBackwards(final String line, int index) {
+        while (index > 0 && !isWhitespace(line.charAt(index - 1))) {
+            index--;
+        }
+        return index;
+    }
+
+    /**
+     * Returns the index of the first non whitespace character between {@code index} and {@code end}.
+     */
+    private static int skipWhitespaceForwards(final String line, int index, final int end) {
+        while (index < end && isWhitespace(line.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+
+    private static int skipWhitespaceBackwards(final byte[] line, final int from, int index) {
+        while (index > from && isWhitespace((char) line[index - 1])) {
+            index--;
+        }
+        return index;
+    }
+
+    private static int skipTokenBackwards(final byte[] line, final int from, int index) {
+        while (index > from && !isWhitespace((char) line[index - 1])) {
+            index--;
+        }
+        return index;
+    }
+
+    private static int skipWhitespaceForwards(final byte[] line, int index, final int end) {
+        while (index < end && isWhitespace((char) line[index])) {
+            index++;
+        }
+        return index;
+    }
+
+    private static boolean isWhitespace(final char c) {
+        return c == ' ' || c == '\t' || c == '\r' || c == '\n';
     }
 }
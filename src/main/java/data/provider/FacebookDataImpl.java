@@ -2,28 +2,75 @@ package data.provider;
 
 import data.FacebookData;
 
+import java.nio.charset.Charset;
+
 /**
- * Representation of the input data defined by the file used for PeekTraffic problem from Facebook. Each instance provides
+ * Representation of the input data defined by the file used for PeakTraffic problem from Facebook. Each instance provides
  * data about the date when the communication took pace, and the source and destination users involved in the communication.
+ * <p/>
+ * Depending on the {@link FaceBookDataProvider.DateMode} of the provider, the date is kept as a String, as its raw
+ * bytes which are only decoded when asked for, as seconds since the epoch, or not kept at all.
  */
 public class FacebookDataImpl implements FacebookData {
 
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
     private String mCommunicationDate;
+    private byte[] mRawCommunicationDate;
+    private long mCommunicationTime;
     private String sourceUser;
     private String targetUser;
+    private int sourceUserId;
+    private int targetUserId;
 
 
     FacebookDataImpl(String mCommunicationDate, String sourceUser, String targetUser) {
+        this(mCommunicationDate, sourceUser, targetUser, -1, -1);
+    }
+
+    FacebookDataImpl(String mCommunicationDate, String sourceUser, String targetUser, int sourceUserId, int targetUserId) {
+        this(mCommunicationDate, null, NO_TIME, sourceUser, targetUser, sourceUserId, targetUserId);
+    }
+
+    /**
+     * Creates a FacebookDataImpl whose date is given as a String, as its UTF-8 encoded bytes, or as seconds since the
+     * epoch. At most one of the three should be set; the date is skipped if none of them is.
+     */
+    FacebookDataImpl(String mCommunicationDate, byte[] mRawCommunicationDate, long mCommunicationTime,
+                     String sourceUser, String targetUser, int sourceUserId, int targetUserId) {
         this.mCommunicationDate = mCommunicationDate;
+        this.mRawCommunicationDate = mRawCommunicationDate;
+        this.mCommunicationTime = mCommunicationTime;
         this.sourceUser = sourceUser;
         this.targetUser = targetUser;
+        this.sourceUserId = sourceUserId;
+        this.targetUserId = targetUserId;
     }
 
     @Override
     public String getCommunicationDate() {
+        if (mCommunicationDate == null && mRawCommunicationDate != null) {
+            //Lazy date, decoded the first time it is asked for
+            mCommunicationDate = new String(mRawCommunicationDate, UTF_8);
+            mRawCommunicationDate = null;
+        }
         return mCommunicationDate;
     }
 
+    @Override
+    public long getCommunicationTime() {
+        if (mCommunicationTime != NO_TIME) {
+            return mCommunicationTime;
+        }
+        if (mRawCommunicationDate != null) {
+            return DateParser.parseEpochSeconds(mRawCommunicationDate, 0, mRawCommunicationDate.length);
+        }
+        if (mCommunicationDate != null) {
+            return DateParser.parseEpochSeconds(mCommunicationDate);
+        }
+        return NO_TIME;
+    }
+
     @Override
     public String getSourceUser() {
         return sourceUser;
@@ -34,6 +81,16 @@ public class FacebookDataImpl implements FacebookData {
         return targetUser;
     }
 
+    @Override
+    public int getSourceUserId() {
+        return sourceUserId;
+    }
+
+    @Override
+    public int getTargetUserId() {
+        return targetUserId;
+    }
+
 
     @Override
     public boolean equals(Object o) {
@@ -42,8 +99,11 @@ public class FacebookDataImpl implements FacebookData {
 
         FacebookDataImpl that = (FacebookDataImpl) o;
 
-        if (mCommunicationDate != null ? !mCommunicationDate.equals(that.mCommunicationDate) : that.mCommunicationDate != null)
+        final String communicationDate = getCommunicationDate();
+        final String thatCommunicationDate = that.getCommunicationDate();
+        if (communicationDate != null ? !communicationDate.equals(thatCommunicationDate) : thatCommunicationDate != null)
             return false;
+        if (mCommunicationTime != that.mCommunicationTime) return false;
         if (sourceUser != null ? !sourceUser.equals(that.sourceUser) : that.sourceUser != null) return false;
         if (targetUser != null ? !targetUser.equals(that.targetUser) : that.targetUser != null) return false;
 
@@ -52,7 +112,9 @@ public class FacebookDataImpl implements FacebookData {
 
     @Override
     public int hashCode() {
-        int result = mCommunicationDate != null ? mCommunicationDate.hashCode() : 0;
+        final String communicationDate = getCommunicationDate();
+        int result = communicationDate != null ? communicationDate.hashCode() : 0;
+        result = 31 * result + (int) (mCommunicationTime ^ (mCommunicationTime >>> 32));
         result = 31 * result + (sourceUser != null ? sourceUser.hashCode() : 0);
         result = 31 * result + (targetUser != null ? targetUser.hashCode() : 0);
         return result;
@@ -61,7 +123,8 @@ public class FacebookDataImpl implements FacebookData {
     @Override
     public String toString() {
         return "FacebookData{" +
-                "mCommunicationDate='" + mCommunicationDate + '\'' +
+                "mCommunicationDate='" + getCommunicationDate() + '\'' +
+                (mCommunicationTime != NO_TIME ? ", mCommunicationTime=" + mCommunicationTime : "") +
                 ", sourceUser='" + sourceUser + '\'' +
                 ", targetUser='" + targetUser + '\'' +
                 '}';
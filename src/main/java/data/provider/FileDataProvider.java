@@ -3,10 +3,21 @@ package data.provider;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.Scanner;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 
 /**
  * Abstract class which generates Data of type T from the given File source. For each line defined in the given File,
@@ -14,6 +25,17 @@ import java.util.Scanner;
  */
 public abstract class FileDataProvider<T> {
 
+    /*  Number of chunks each thread gets when reading in parallel, so threads finishing early can take more work  */
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    /*  Biggest chunk that can be memory mapped at once  */
+    private static final long MAX_CHUNK_SIZE = Integer.MAX_VALUE;
+
+    /*  Initial size of the buffer used when reading the file sequentially  */
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
     final String mSourceFile;
 
     /**
@@ -33,29 +55,80 @@ public abstract class FileDataProvider<T> {
      */
     public abstract T dataFromString(final String aStringToken);
 
+    /**
+     * Returns a T data parsed from the UTF-8 encoded line stored in {@code line[offset, offset + length)}, without its
+     * line break. The default implementation decodes the line and calls {@link #dataFromString(String)}; subclasses may
+     * override it for parsing the bytes directly. The given array is reused for the following lines, so it must not be
+     * kept.
+     *
+     * @param line
+     * @param offset
+     * @param length
+     * @return
+     */
+    public T dataFromBytes(final byte[] line, final int offset, final int length) {
+        return dataFromString(new String(line, offset, length, UTF_8));
+    }
+
     /**
      * Retuns a List<T> representing all the parsed data the source file contained. If any error occurs, then an empty
      * List will be returned instead.
      */
     public List<T> getAllData() {
-
-        FileInputStream inputStream = null;
-        Scanner sc = null;
         final List<T> data = new ArrayList<T>();
+        final boolean completed = forEach(new DataConsumer<T>() {
+            @Override
+            public void consume(T item) {
+                data.add(item);
+            }
+        });
+        if (!completed) {
+            return Collections.emptyList();
+        }
+        return data;
+    }
 
-        //make use of Scanner instead of directly reading the file content. This will avoid loading the whole file in memory
+    /**
+     * Parses the source file line by line, handing each parsed T data to the given consumer as soon as it is built. The
+     * file is read in blocks into a reusable buffer, and each line is handed to {@link #dataFromBytes(byte[], int, int)}
+     * as a slice of that buffer, so the memory used does not depend on the size of the file. Both '\n' and "\r\n" line
+     * breaks are supported. If any error occurs while reading the file, the reading stops and false is returned; note
+     * that the consumer may have already received part of the data.
+     *
+     * @param consumer the consumer to notify for each line of the file
+     * @return if the whole file was read
+     */
+    public boolean forEach(final DataConsumer<T> consumer) {
+        FileInputStream inputStream = null;
         try {
             inputStream = new FileInputStream(mSourceFile);
-            sc = new Scanner(inputStream, "UTF-8");
-            while (sc.hasNextLine()) {
-                String line = sc.nextLine();
-                data.add(dataFromString(line));
+            byte[] buffer = new byte[READ_BUFFER_SIZE];
+            int length = 0;
+            int read;
+            while ((read = inputStream.read(buffer, length, buffer.length - length)) != -1) {
+                length += read;
+
+                //Hand all the complete lines of the buffer
+                int lineStart = 0;
+                for (int i = lineStart; i < length; i++) {
+                    if (buffer[i] == '\n') {
+                        consumer.consume(dataFromBytes(buffer, lineStart, lineLength(buffer, lineStart, i)));
+                        lineStart = i + 1;
+                    }
+                }
+
+                //Move the incomplete last line to the beginning of the buffer, growing it if the line fills it
+                length -= lineStart;
+                System.arraycopy(buffer, lineStart, buffer, 0, length);
+                if (length == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                }
             }
-            // note that Scanner suppresses exceptions
-            if (sc.ioException() != null) {
-                throw sc.ioException();
+            //The last line of the file may have no line break
+            if (length > 0) {
+                consumer.consume(dataFromBytes(buffer, 0, lineLength(buffer, 0, length)));
             }
-            return data;
+            return true;
         } catch (FileNotFoundException e) {
             e.printStackTrace();
         } catch (IOException e) {
@@ -68,10 +141,245 @@ public abstract class FileDataProvider<T> {
                     e.printStackTrace();
                 }
             }
-            if (sc != null) {
-                sc.close();
+        }
+        return false;
+    }
+
+    /**
+     * Returns a List<T> representing all the parsed data the source file contained, using the given number of threads.
+     * The file is memory mapped and split into line aligned chunks, which are parsed in parallel into one buffer per
+     * chunk. The buffers are then merged following the order of the chunks, so the returned List has the same content
+     * and order than the one returned by {@link #getAllData()}. If any error occurs while reading the file, an empty
+     * List will be returned instead.
+     * <p/>
+     * Note that {@link #dataFromString(String)} will be called concurrently, so it must be thread safe.
+     *
+     * @param parallelism the number of threads to use. Must be positive
+     */
+    public List<T> getAllData(final int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("The number of threads must be positive");
+        }
+
+        RandomAccessFile file = null;
+        ExecutorService executor = null;
+        try {
+            file = new RandomAccessFile(mSourceFile, "r");
+            final FileChannel channel = file.getChannel();
+            final List<long[]> chunks = splitInChunks(channel, parallelism * CHUNKS_PER_THREAD);
+
+            //Parse each chunk into its own buffer
+            executor = Executors.newFixedThreadPool(parallelism);
+            final List<Future<List<T>>> parsedChunks = new ArrayList<Future<List<T>>>(chunks.size());
+            for (final long[] chunk : chunks) {
+                parsedChunks.add(executor.submit(new Callable<List<T>>() {
+                    @Override
+                    public List<T> call() throws IOException {
+                        final List<T> buffer = new ArrayList<T>();
+                        parseChunk(channel.map(FileChannel.MapMode.READ_ONLY, chunk[0], chunk[1] - chunk[0]),
+                                new DataConsumer<T>() {
+                                    @Override
+                                    public void consume(T data) {
+                                        buffer.add(data);
+                                    }
+                                });
+                        return buffer;
+                    }
+                }));
+            }
+
+            //Merge the buffers following the order of the chunks
+            final List<List<T>> buffers = new ArrayList<List<T>>(parsedChunks.size());
+            int size = 0;
+            for (Future<List<T>> parsedChunk : parsedChunks) {
+                final List<T> buffer = parsedChunk.get();
+                buffers.add(buffer);
+                size += buffer.size();
+            }
+            final List<T> data = new ArrayList<T>(size);
+            for (List<T> buffer : buffers) {
+                data.addAll(buffer);
+            }
+            return data;
+        } catch (FileNotFoundException e) {
+            e.printStackTrace();
+        } catch (IOException e) {
+            e.printStackTrace();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            e.printStackTrace();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            e.printStackTrace();
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+            if (file != null) {
+                try {
+                    file.close();
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
             }
         }
         return Collections.emptyList();
     }
+
+    /**
+     * Parses the source file using the given number of threads, handing each parsed T data to the given consumer as soon
+     * as it is built. The file is memory mapped and split into line aligned chunks as in {@link #getAllData(int)}, but
+     * the data is not buffered, so the memory used does not depend on the size of the file. If any error occurs while
+     * reading the file, the reading stops and false is returned; note that the consumer may have already received part
+     * of the data.
+     * <p/>
+     * Note that both {@link #dataFromBytes(byte[], int, int)} and the consumer will be called concurrently from several
+     * threads, so they must be thread safe, and that the data does not follow the order of the lines of the file.
+     *
+     * @param consumer    the consumer to notify for each line of the file
+     * @param parallelism the number of threads to use. Must be positive
+     * @return if the whole file was read
+     */
+    public boolean forEach(final DataConsumer<T> consumer, final int parallelism) {
+        return forEach(consumer, parallelism, Executors.defaultThreadFactory());
+    }
+
+    /**
+     * Same as {@link #forEach(DataConsumer, int)}, creating the parsing threads through the given factory, e.g. for
+     * measuring them.
+     *
+     * @param consumer      the consumer to notify for each line of the file
+     * @param parallelism   the number of threads to use. Must be positive
+     * @param threadFactory the factory of the parsing threads
+     * @return if the whole file was read
+     */
+    public boolean forEach(final DataConsumer<T> consumer, final int parallelism, final ThreadFactory threadFactory) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("The number of threads must be positive");
+        }
+        if (threadFactory == null) {
+            throw new IllegalArgumentException("The thread factory cannot be null");
+        }
+
+        RandomAccessFile file = null;
+        ExecutorService executor = null;
+        try {
+            file = new RandomAccessFile(mSourceFile, "r");
+            final FileChannel channel = file.getChannel();
+            final List<long[]> chunks = splitInChunks(channel, parallelism * CHUNKS_PER_THREAD);
+
+            executor = Executors.newFixedThreadPool(parallelism, threadFactory);
+            final List<Future<Void>> parsedChunks = new ArrayList<Future<Void>>(chunks.size());
+            for (final long[] chunk : chunks) {
+                parsedChunks.add(executor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() throws IOException {
+                        parseChunk(channel.map(FileChannel.MapMode.READ_ONLY, chunk[0], chunk[1] - chunk[0]), consumer);
+                        return null;
+                    }
+                }));
+            }
+            for (Future<Void> parsedChunk : parsedChunks) {
+                parsedChunk.get();
+            }
+            return true;
+        } catch (FileNotFoundException e) {
+            e.printStackTrace();
+        } catch (IOException e) {
+            e.printStackTrace();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            e.printStackTrace();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            e.printStackTrace();
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+            if (file != null) {
+                try {
+                    file.close();
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Splits the file into about {@code chunkCount} chunks, returned as {@code [start, end)} byte ranges. Each chunk
+     * ends right after a line break (or at the end of the file), so no line is split between two chunks.
+     */
+    private static List<long[]> splitInChunks(final FileChannel channel, final int chunkCount) throws IOException {
+        final long size = channel.size();
+        final long chunkSize = Math.max(1, Math.min(MAX_CHUNK_SIZE / 2, (size + chunkCount - 1) / chunkCount));
+        final List<long[]> chunks = new ArrayList<long[]>(chunkCount);
+        final ByteBuffer buffer = ByteBuffer.allocate(4096);
+
+        long start = 0;
+        while (start < size) {
+            //Move the end of the chunk forward until the next line break
+            long end = Math.min(size, start + chunkSize);
+            boolean lineBreakFound = end == size;
+            while (!lineBreakFound) {
+                buffer.clear();
+                final int read = channel.read(buffer, end);
+                if (read <= 0) {
+                    end = size;
+                    break;
+                }
+                for (int i = 0; i < read && !lineBreakFound; i++) {
+                    end++;
+                    lineBreakFound = buffer.get(i) == '\n';
+                }
+                if (end - start > MAX_CHUNK_SIZE) {
+                    throw new IOException("Line too long to be mapped, found at byte " + start);
+                }
+            }
+            chunks.add(new long[]{start, end});
+            start = end;
+        }
+        return chunks;
+    }
+
+    /**
+     * Parses all the lines of the given chunk, handing each parsed T data to the given consumer. Both '\n' and "\r\n"
+     * line breaks are supported.
+     */
+    private void parseChunk(final MappedByteBuffer chunk, final DataConsumer<T> consumer) {
+        byte[] line = new byte[256];
+        int lineLength = 0;
+        while (chunk.hasRemaining()) {
+            final byte b = chunk.get();
+            if (b == '\n') {
+                consumer.consume(dataFromBytes(line, 0, lineLength(line, 0, lineLength)));
+                lineLength = 0;
+            } else {
+                if (lineLength == line.length) {
+                    line = Arrays.copyOf(line, line.length * 2);
+                }
+                line[lineLength++] = b;
+            }
+        }
+        //The last line of the file may have no line break
+        if (lineLength > 0) {
+            consumer.consume(dataFromBytes(line, 0, lineLength(line, 0, lineLength)));
+        }
+    }
+
+    /**
+     * Returns the length of the line stored in {@code line[start, end)}, leaving out the '\r' of a "\r\n" line break.
+     */
+    private static int lineLength(final byte[] line, final int start, final int end) {
+        if (end > start && line[end - 1] == '\r') {
+            return end - start - 1;
+        }
+        return end - start;
+    }
 }
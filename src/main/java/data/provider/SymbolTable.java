@@ -0,0 +1,305 @@
+package data.provider;
+
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Intern dictionary for the user emails found while parsing a log. Emails are looked up straight from the UTF-8 bytes
+ * of the line they were read from, so a String is only created the first time an email is seen; any later occurrence
+ * returns that same String instance without allocating anything.
+ * <p/>
+ * Every symbol is also given a dense int id, assigned consecutively from 0 in order of appearance, so the users can be
+ * handled as ints (e.g. as the vertices of a graph) and translated back through {@link #symbolOf(int)} at the end. When
+ * several threads intern at once the ids are still dense, but the order of appearance is the one in which they won the
+ * race.
+ * <p/>
+ * Symbols are spread by hash over a fixed number of shards, each of them an open addressing hash table with linear
+ * probing behind its own lock, which keeps the hash of each symbol for avoiding byte comparisons on collisions. Interning
+ * only locks the shard of the symbol, so the threads parsing a file in parallel rarely wait for each other. The symbol
+ * of each id is kept in chunks which are never moved once allocated, so {@link #symbolOf(int)} takes no lock at all.
+ * All the methods are thread safe.
+ */
+public class SymbolTable {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    /*  Number of shards per available processor by default, so few threads share a lock at any time  */
+    private static final int SHARDS_PER_PROCESSOR = 8;
+
+    private static final int INITIAL_SHARD_CAPACITY = 64;
+
+    /*  Symbols per chunk of the id index. Must be a power of two  */
+    private static final int CHUNK_BITS = 12;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+
+    private final Shard[] shards;
+
+    /*  Next id to give, which is also the number of symbols  */
+    private final AtomicInteger size = new AtomicInteger();
+
+    /*  Symbol of each id, by chunks of CHUNK_SIZE ids. The directory is only replaced under its own lock  */
+    private final Object chunksLock = new Object();
+    private volatile AtomicReferenceArray<String>[] chunks;
+
+    /**
+     * Creates an empty SymbolTable with several shards per available processor.
+     */
+    public SymbolTable() {
+        this(Runtime.getRuntime().availableProcessors() * SHARDS_PER_PROCESSOR);
+    }
+
+    /**
+     * Creates an empty SymbolTable with the given number of shards.
+     *
+     * @param shardCount the number of shards. Must be positive
+     */
+    public SymbolTable(final int shardCount) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("The number of shards must be positive");
+        }
+        shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard();
+        }
+        chunks = newDirectory(16);
+    }
+
+    /**
+     * Returns the String for the UTF-8 encoded symbol stored in {@code bytes[offset, offset + length)}. The String is
+     * only created if the symbol was not seen before, otherwise the previously created instance is returned.
+     *
+     * @param bytes
+     * @param offset
+     * @param length
+     */
+    public String intern(final byte[] bytes, final int offset, final int length) {
+        final int hash = hash(bytes, offset, length);
+        final Shard shard = shardOf(hash);
+        synchronized (shard) {
+            //The entry must be looked up before reading the array, which may be replaced while interning
+            final int entry = shard.intern(bytes, offset, length, hash);
+            return shard.symbols[entry];
+        }
+    }
+
+    /**
+     * Returns the id of the UTF-8 encoded symbol stored in {@code bytes[offset, offset + length)}, adding it to the
+     * table if it was not seen before.
+     *
+     * @param bytes
+     * @param offset
+     * @param length
+     */
+    public int internId(final byte[] bytes, final int offset, final int length) {
+        final int hash = hash(bytes, offset, length);
+        final Shard shard = shardOf(hash);
+        synchronized (shard) {
+            //The entry must be looked up before reading the array, which may be replaced while interning
+            final int entry = shard.intern(bytes, offset, length, hash);
+            return shard.ids[entry];
+        }
+    }
+
+    /**
+     * Returns the id of the given symbol, adding it to the table if it was not seen before.
+     *
+     * @param symbol
+     */
+    public int internId(final String symbol) {
+        final byte[] bytes = symbol.getBytes(UTF_8);
+        return internId(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Returns the id of the given symbol, or -1 if it is not part of the table.
+     *
+     * @param symbol
+     */
+    public int idOf(final String symbol) {
+        final byte[] bytes = symbol.getBytes(UTF_8);
+        final int hash = hash(bytes, 0, bytes.length);
+        final Shard shard = shardOf(hash);
+        synchronized (shard) {
+            final int entry = shard.slots[shard.find(bytes, 0, bytes.length, hash)] - 1;
+            return entry < 0 ? -1 : shard.ids[entry];
+        }
+    }
+
+    /**
+     * Returns the symbol with the given id.
+     *
+     * @param id
+     * @throws IllegalArgumentException if no symbol has the given id
+     */
+    public String symbolOf(final int id) {
+        if (id < 0 || id >= size.get()) {
+            throw new IllegalArgumentException("No symbol has the id " + id);
+        }
+        //The id may have just been given by another thread which is still storing its symbol
+        String symbol;
+        while ((symbol = symbolAt(id)) == null) {
+            Thread.yield();
+        }
+        return symbol;
+    }
+
+    /**
+     * Returns the number of different symbols the table holds. Ids go from 0 to {@code size() - 1}.
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Returns the number of shards of the table.
+     */
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    private Shard shardOf(final int hash) {
+        //The lowest bits of the hash select the slot within the shard, so the shard is picked from the highest ones
+        return shards[(int) (((hash * 0x9E3779B9) & 0xFFFFFFFFL) * shards.length >>> 32)];
+    }
+
+    /**
+     * Gives the next id to the given symbol and stores it in the id index.
+     */
+    private int register(final String symbol) {
+        final int id = size.getAndIncrement();
+        final int chunk = id >>> CHUNK_BITS;
+        AtomicReferenceArray<String>[] directory = chunks;
+        if (chunk >= directory.length || directory[chunk] == null) {
+            synchronized (chunksLock) {
+                directory = chunks;
+                if (chunk >= directory.length) {
+                    directory = Arrays.copyOf(directory, Math.max(directory.length * 2, chunk + 1));
+                }
+                if (directory[chunk] == null) {
+                    directory[chunk] = new AtomicReferenceArray<String>(CHUNK_SIZE);
+                }
+                chunks = directory;
+            }
+        }
+        directory[chunk].set(id & (CHUNK_SIZE - 1), symbol);
+        return id;
+    }
+
+    /**
+     * Returns the symbol stored for the given id, or null if it is not stored yet.
+     */
+    private String symbolAt(final int id) {
+        final AtomicReferenceArray<String>[] directory = chunks;
+        final int chunk = id >>> CHUNK_BITS;
+        if (chunk >= directory.length || directory[chunk] == null) {
+            return null;
+        }
+        return directory[chunk].get(id & (CHUNK_SIZE - 1));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static AtomicReferenceArray<String>[] newDirectory(final int length) {
+        return new AtomicReferenceArray[length];
+    }
+
+    private static int hash(final byte[] bytes, final int offset, final int length) {
+        int hash = 0;
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + bytes[i];
+        }
+        //Spread the high bits, as only the lowest ones select the slot
+        return hash ^ (hash >>> 16);
+    }
+
+    private static boolean equals(final byte[] key, final byte[] bytes, final int offset, final int length) {
+        if (key.length != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (key[i] != bytes[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Open addressing table holding the symbols of a shard. Only accessed while holding its lock.
+     */
+    private final class Shard {
+
+        /*  Each slot holds the index of an entry plus one, or 0 if it is empty  */
+        private int[] slots = new int[INITIAL_SHARD_CAPACITY * 2];
+
+        /*  Hash, bytes, String and id of each entry of the shard  */
+        private int[] hashes = new int[INITIAL_SHARD_CAPACITY];
+        private byte[][] keys = new byte[INITIAL_SHARD_CAPACITY][];
+        private String[] symbols = new String[INITIAL_SHARD_CAPACITY];
+        private int[] ids = new int[INITIAL_SHARD_CAPACITY];
+
+        private int size;
+
+        /**
+         * Returns the entry of the given symbol, adding it to the table if it did not exist.
+         */
+        int intern(final byte[] bytes, final int offset, final int length, final int hash) {
+            int slot = find(bytes, offset, length, hash);
+            if (slots[slot] != 0) {
+                return slots[slot] - 1;
+            }
+
+            //First time the symbol is seen
+            if (size == symbols.length) {
+                grow();
+                slot = find(bytes, offset, length, hash);
+            }
+            final int entry = size++;
+            hashes[entry] = hash;
+            keys[entry] = Arrays.copyOfRange(bytes, offset, offset + length);
+            symbols[entry] = new String(bytes, offset, length, UTF_8);
+            ids[entry] = register(symbols[entry]);
+            slots[slot] = entry + 1;
+            return entry;
+        }
+
+        /**
+         * Returns the slot holding the given symbol, or the empty slot where it should be placed if it is not part of
+         * the shard.
+         */
+        int find(final byte[] bytes, final int offset, final int length, final int hash) {
+            final int mask = slots.length - 1;
+            int slot = hash & mask;
+            int entry;
+            while ((entry = slots[slot] - 1) >= 0) {
+                if (hashes[entry] == hash && SymbolTable.equals(keys[entry], bytes, offset, length)) {
+                    return slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        /**
+         * Doubles the capacity of the shard, keeping the load factor of the slots under 0.5.
+         */
+        private void grow() {
+            final int capacity = symbols.length * 2;
+            hashes = Arrays.copyOf(hashes, capacity);
+            keys = Arrays.copyOf(keys, capacity);
+            symbols = Arrays.copyOf(symbols, capacity);
+            ids = Arrays.copyOf(ids, capacity);
+
+            slots = new int[capacity * 2];
+            final int mask = slots.length - 1;
+            for (int entry = 0; entry < size; entry++) {
+                int slot = hashes[entry] & mask;
+                while (slots[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                slots[slot] = entry + 1;
+            }
+        }
+    }
+}
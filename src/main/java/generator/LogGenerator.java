@@ -0,0 +1,408 @@
+package generator;
+
+import Log.Log;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.TimeZone;
+
+/**
+ * Generator of synthetic interaction logs in the format read by {@code FaceBookDataProvider}, for testing and
+ * benchmarking on inputs of any size. The whole log is derived from a seed, so the same settings always write the same
+ * file, byte by byte.
+ * <p/>
+ * The log is made of:
+ * <ul>
+ * <li>Random interactions. Both users of each of them are drawn with a probability following a power law, so the
+ * number of interactions of the users follows a power law degree distribution with the given exponent, as in social
+ * graphs: a few hubs and many users with a handful of interactions.</li>
+ * <li>Reciprocal interactions. Each random interaction is answered by its target right away with the reciprocity
+ * probability, which sets how many bidirectional connections the log has.</li>
+ * <li>Planted cliques. For each planted clique size, that many distinct users interact with each other in both
+ * directions, so the log holds at least those clusters. Their interactions are spread evenly over the log.</li>
+ * </ul>
+ * Each line takes place one second after the previous one, so the log is sorted by date. Lines are written as they are
+ * generated, so the memory used only depends on the number of users and planted cliques.
+ * <p/>
+ * It can be run as a program taking the path of the file to write followed by any of the options
+ * {@code users=<count> interactions=<count> reciprocity=<probability> exponent=<power law exponent>
+ * cliques=<size>,<size>... seed=<seed>}.
+ */
+public class LogGenerator {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    /*  Separator between the fields of a line, as in the challenge input  */
+    private static final String SEPARATOR = "    ";
+
+    /*  Return codes of the program  */
+    private static final int NO_FILE_PROVIDED_RETURN_CODE = 10;
+    private static final int INVALID_OPTION_RETURN_CODE = 20;
+    private static final int WRITE_ERROR_RETURN_CODE = 30;
+
+    /*  Thu Dec 11 17:53:01 PST 2008, the date of the first line of the challenge example  */
+    private static final long DEFAULT_START_TIME = 1229046781L;
+
+    private final int userCount;
+
+    private final long interactionCount;
+
+    private long seed = 42;
+
+    private double reciprocity = 0.3;
+
+    private double powerLawExponent = 2.5;
+
+    private int[] plantedCliqueSizes = new int[0];
+
+    private long startTime = DEFAULT_START_TIME;
+
+    /*  Users of each clique planted by the last call to write  */
+    private List<List<Integer>> plantedCliques = Collections.emptyList();
+
+    /**
+     * Creates a generator of logs with the given number of users and random interactions.
+     *
+     * @param userCount        the number of users. Must be at least 2
+     * @param interactionCount the number of random interactions, not counting the reciprocal nor the planted ones.
+     *                         Cannot be negative
+     */
+    public LogGenerator(int userCount, long interactionCount) {
+        if (userCount < 2) {
+            throw new IllegalArgumentException("There must be at least 2 users");
+        }
+        if (interactionCount < 0) {
+            throw new IllegalArgumentException("The number of interactions cannot be negative");
+        }
+        this.userCount = userCount;
+        this.interactionCount = interactionCount;
+    }
+
+    /**
+     * Sets the seed all the log is derived from.
+     *
+     * @param seed
+     */
+    public void setSeed(final long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Sets the probability of each random interaction being answered by its target.
+     *
+     * @param reciprocity between 0 and 1
+     */
+    public void setReciprocity(final double reciprocity) {
+        if (!(reciprocity >= 0 && reciprocity <= 1)) {
+            throw new IllegalArgumentException("The reciprocity must be between 0 and 1");
+        }
+        this.reciprocity = reciprocity;
+    }
+
+    /**
+     * Sets the exponent of the power law followed by the number of interactions of the users. Social graphs usually
+     * have exponents between 2 and 3; the lower the exponent, the more interactions the hubs take.
+     *
+     * @param powerLawExponent must be greater than 1
+     */
+    public void setPowerLawExponent(final double powerLawExponent) {
+        if (!(powerLawExponent > 1) || Double.isInfinite(powerLawExponent)) {
+            throw new IllegalArgumentException("The power law exponent must be greater than 1");
+        }
+        this.powerLawExponent = powerLawExponent;
+    }
+
+    /**
+     * Sets the sizes of the cliques to plant in the log, one clique per size.
+     *
+     * @param plantedCliqueSizes each of them between 2 and the number of users
+     */
+    public void setPlantedCliqueSizes(final int... plantedCliqueSizes) {
+        for (int size : plantedCliqueSizes) {
+            if (size < 2 || size > userCount) {
+                throw new IllegalArgumentException("The planted clique sizes must be between 2 and " + userCount);
+            }
+        }
+        this.plantedCliqueSizes = plantedCliqueSizes.clone();
+    }
+
+    /**
+     * Sets the date of the first line, in seconds since the epoch.
+     *
+     * @param startTime
+     */
+    public void setStartTime(final long startTime) {
+        this.startTime = startTime;
+    }
+
+    /**
+     * Returns the email of the user with the given index.
+     *
+     * @param index
+     */
+    public static String user(final int index) {
+        return "user" + index + "@facebook.com";
+    }
+
+    /**
+     * Returns the indexes of the users of each clique planted by the last call to {@link #write(Writer)}, or an empty
+     * list if no log was written yet.
+     */
+    public List<List<Integer>> getPlantedCliques() {
+        return plantedCliques;
+    }
+
+    /**
+     * Writes the log into the given file, replacing it if it exists.
+     *
+     * @param file
+     * @return the number of lines written
+     * @throws IOException if the file cannot be written
+     */
+    public long write(final File file) throws IOException {
+        final Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), UTF_8), 1 << 16);
+        try {
+            return write(writer);
+        } finally {
+            writer.close();
+        }
+    }
+
+    /**
+     * Writes the log into the given writer. The writer is flushed but not closed.
+     *
+     * @param writer
+     * @return the number of lines written
+     * @throws IOException if the writer fails
+     */
+    public long write(final Writer writer) throws IOException {
+        final Random random = new Random(seed);
+        final double[] cumulativeWeights = cumulativeWeights();
+        final int[] cliqueInteractions = plantCliques(random);
+        final LineWriter lines = new LineWriter(writer, startTime);
+
+        //Clique interactions are spread evenly over the random ones: the i-th one goes after the random interaction
+        //i * interactionCount / cliqueInteractionCount
+        final int cliqueInteractionCount = cliqueInteractions.length / 2;
+        int nextClique = 0;
+        for (long i = 0; i < interactionCount; i++) {
+            while (nextClique < cliqueInteractionCount && nextClique * interactionCount <= i * cliqueInteractionCount) {
+                lines.write(cliqueInteractions[2 * nextClique], cliqueInteractions[2 * nextClique + 1]);
+                nextClique++;
+            }
+
+            final int source = drawUser(cumulativeWeights, random);
+            int target = drawUser(cumulativeWeights, random);
+            while (target == source) {
+                target = drawUser(cumulativeWeights, random);
+            }
+            lines.write(source, target);
+            if (random.nextDouble() < reciprocity) {
+                lines.write(target, source);
+            }
+        }
+        while (nextClique < cliqueInteractionCount) {
+            lines.write(cliqueInteractions[2 * nextClique], cliqueInteractions[2 * nextClique + 1]);
+            nextClique++;
+        }
+        writer.flush();
+        return lines.count;
+    }
+
+    /**
+     * Returns the cumulative weights of the users, the weight of the user i being {@code (i + 1)^(-1 / (exponent - 1))}.
+     * Drawing users by weight gives a number of interactions per user following a power law with the given exponent.
+     */
+    private double[] cumulativeWeights() {
+        final double weightExponent = -1 / (powerLawExponent - 1);
+        final double[] cumulativeWeights = new double[userCount];
+        double total = 0;
+        for (int i = 0; i < userCount; i++) {
+            total += Math.pow(i + 1, weightExponent);
+            cumulativeWeights[i] = total;
+        }
+        return cumulativeWeights;
+    }
+
+    private static int drawUser(final double[] cumulativeWeights, final Random random) {
+        final double point = random.nextDouble() * cumulativeWeights[cumulativeWeights.length - 1];
+        final int index = Arrays.binarySearch(cumulativeWeights, point);
+        return Math.min(index >= 0 ? index + 1 : -index - 1, cumulativeWeights.length - 1);
+    }
+
+    /**
+     * Chooses the users of each planted clique, and returns all their interactions in random order as consecutive
+     * source and target pairs.
+     */
+    private int[] plantCliques(final Random random) {
+        final List<List<Integer>> cliques = new ArrayList<List<Integer>>(plantedCliqueSizes.length);
+        int interactions = 0;
+        for (int size : plantedCliqueSizes) {
+            final Set<Integer> members = new HashSet<Integer>();
+            final List<Integer> clique = new ArrayList<Integer>(size);
+            while (clique.size() < size) {
+                final int user = random.nextInt(userCount);
+                if (members.add(user)) {
+                    clique.add(user);
+                }
+            }
+            cliques.add(Collections.unmodifiableList(clique));
+            interactions += size * (size - 1);
+        }
+        plantedCliques = Collections.unmodifiableList(cliques);
+
+        final int[] pairs = new int[interactions * 2];
+        int index = 0;
+        for (List<Integer> clique : cliques) {
+            for (Integer source : clique) {
+                for (Integer target : clique) {
+                    if (!source.equals(target)) {
+                        pairs[index++] = source;
+                        pairs[index++] = target;
+                    }
+                }
+            }
+        }
+        //Fisher-Yates shuffle of the pairs, so the clique is built up over the whole log
+        for (int i = interactions - 1; i > 0; i--) {
+            final int j = random.nextInt(i + 1);
+            final int source = pairs[2 * i];
+            final int target = pairs[2 * i + 1];
+            pairs[2 * i] = pairs[2 * j];
+            pairs[2 * i + 1] = pairs[2 * j + 1];
+            pairs[2 * j] = source;
+            pairs[2 * j + 1] = target;
+        }
+        return pairs;
+    }
+
+    /**
+     * Writes the log lines, one second after each other. The date is only formatted once per minute, as the zone and
+     * everything but the seconds stay the same within a minute.
+     */
+    private static final class LineWriter {
+
+        private final Writer writer;
+
+        private final SimpleDateFormat minuteFormat = new SimpleDateFormat("EEE MMM dd HH:mm:", Locale.US);
+        private final SimpleDateFormat zoneFormat = new SimpleDateFormat(" zzz yyyy", Locale.US);
+
+        private long time;
+        private long minute = Long.MIN_VALUE;
+        private String minutePrefix;
+        private String minuteSuffix;
+
+        private long count;
+
+        LineWriter(Writer writer, long startTime) {
+            this.writer = writer;
+            this.time = startTime;
+            final TimeZone zone = TimeZone.getTimeZone("America/Los_Angeles");
+            minuteFormat.setTimeZone(zone);
+            zoneFormat.setTimeZone(zone);
+        }
+
+        void write(final int source, final int target) throws IOException {
+            final long currentMinute = time >= 0 ? time / 60 : (time - 59) / 60;
+            if (currentMinute != minute) {
+                minute = currentMinute;
+                final Date date = new Date(minute * 60 * 1000);
+                minutePrefix = minuteFormat.format(date);
+                minuteSuffix = zoneFormat.format(date);
+            }
+            final int second = (int) (time - minute * 60);
+
+            writer.write(minutePrefix);
+            writer.write('0' + second / 10);
+            writer.write('0' + second % 10);
+            writer.write(minuteSuffix);
+            writer.write(SEPARATOR);
+            writer.write(user(source));
+            writer.write(SEPARATOR);
+            writer.write(user(target));
+            writer.write('\n');
+            time++;
+            count++;
+        }
+    }
+
+    public static void main(String[] args) {
+        if (args == null || args.length == 0) {
+            Log.error("No path provided to the file to write. Please provide a path followed by any of the options "
+                    + "users=<count> interactions=<count> reciprocity=<probability> exponent=<exponent> "
+                    + "cliques=<size>,<size>... seed=<seed>");
+            System.exit(NO_FILE_PROVIDED_RETURN_CODE);
+        }
+
+        int users = 10000;
+        long interactions = 1000000;
+        Double reciprocity = null;
+        Double exponent = null;
+        int[] cliques = null;
+        Long seed = null;
+        try {
+            for (int i = 1; i < args.length; i++) {
+                final int separator = args[i].indexOf('=');
+                final String name = separator < 0 ? args[i] : args[i].substring(0, separator);
+                final String value = separator < 0 ? "" : args[i].substring(separator + 1);
+                if ("users".equals(name)) {
+                    users = Integer.parseInt(value);
+                } else if ("interactions".equals(name)) {
+                    interactions = Long.parseLong(value);
+                } else if ("reciprocity".equals(name)) {
+                    reciprocity = Double.parseDouble(value);
+                } else if ("exponent".equals(name)) {
+                    exponent = Double.parseDouble(value);
+                } else if ("cliques".equals(name)) {
+                    final String[] sizes = value.isEmpty() ? new String[0] : value.split(",");
+                    cliques = new int[sizes.length];
+                    for (int s = 0; s < sizes.length; s++) {
+                        cliques[s] = Integer.parseInt(sizes[s].trim());
+                    }
+                } else if ("seed".equals(name)) {
+                    seed = Long.parseLong(value);
+                } else {
+                    throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+
+            final LogGenerator generator = new LogGenerator(users, interactions);
+            if (reciprocity != null) {
+                generator.setReciprocity(reciprocity);
+            }
+            if (exponent != null) {
+                generator.setPowerLawExponent(exponent);
+            }
+            if (cliques != null) {
+                generator.setPlantedCliqueSizes(cliques);
+            }
+            if (seed != null) {
+                generator.setSeed(seed);
+            }
+            final long lines = generator.write(new File(args[0]));
+            System.err.println("Written " + lines + " lines into " + args[0]);
+        } catch (IllegalArgumentException e) {
+            //Also covers the NumberFormatException of the options
+            Log.error(e.getMessage());
+            System.exit(INVALID_OPTION_RETURN_CODE);
+        } catch (IOException e) {
+            Log.error("The log could not be written: " + e.getMessage());
+            System.exit(WRITE_ERROR_RETURN_CODE);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package graph;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Base class for the maximal clique finders. Subclasses implement the enumeration itself through
+ * {@link #findCliques(CliqueVisitor)}, which streams every maximal clique to a {@link CliqueVisitor} as soon as it is
+ * found. The methods returning collections of cliques are built on top of it, so callers which only need to inspect,
+ * filter or write out the cliques should use the visitor directly and avoid keeping all of them in memory.
+ * <p/>
+ * Note that all the finders only work with unidirectional graphs.
+ *
+ * @param <V> Type of the vertices of the graph.
+ * @param <E> Type of the edges of the graph.
+ */
+public abstract class BaseAbsCliqueFinder<V, E> {
+
+    /*  The graph in which cliques are to be found  */
+    protected final BaseAbsGraph<V, E> graph;
+
+    /*  Cliques with fewer vertices than this are neither searched nor reported  */
+    protected int minimumCliqueSize = 1;
+
+    /*  Number of recursion nodes visited by the last search  */
+    protected long recursionNodeCount;
+
+    /**
+     * Creates a new clique finder.
+     *
+     * @param graph the graph in which cliques are to be found; graph must be
+     *              simple
+     */
+    protected BaseAbsCliqueFinder(final BaseAbsGraph<V, E> graph) {
+        this.graph = graph;
+    }
+
+    /**
+     * Sets the minimum number of vertices a maximal clique must have for being reported. Branches of the search which
+     * cannot lead to a clique of that size (this is, those where the potential clique plus all the candidates are
+     * fewer than {@code minimumCliqueSize} vertices) are pruned, so small cliques are not even built.
+     * <p/>
+     * Note that this does not change which cliques are maximal, it only skips reporting the small ones.
+     *
+     * @param minimumCliqueSize the minimum size. Must be positive
+     */
+    public void setMinimumCliqueSize(final int minimumCliqueSize) {
+        if (minimumCliqueSize <= 0) {
+            throw new IllegalArgumentException("The minimum clique size must be positive");
+        }
+        this.minimumCliqueSize = minimumCliqueSize;
+    }
+
+    /**
+     * Returns the minimum number of vertices a maximal clique must have for being reported.
+     */
+    public int getMinimumCliqueSize() {
+        return minimumCliqueSize;
+    }
+
+    /**
+     * Returns the number of nodes of the recursion tree visited by the last call to {@link #findCliques(CliqueVisitor)},
+     * this is, the number of recursive calls made including the ones of pruned branches. It tells how much work the
+     * search took regardless of the number of cliques found.
+     */
+    public long getRecursionNodeCount() {
+        return recursionNodeCount;
+    }
+
+    /**
+     * Finds all maximal cliques of the graph, calling the given visitor for each of them. A clique is maximal if it is
+     * impossible to enlarge it by adding another vertex from the graph.
+     *
+     * @param visitor the visitor to notify for every maximal clique
+     */
+    public abstract void findCliques(CliqueVisitor<V> visitor);
+
+    /**
+     * Finds all maximal cliques of the graph. A clique is maximal if it is
+     * impossible to enlarge it by adding another vertex from the graph. Note
+     * that a maximal clique is not necessarily the biggest clique in the graph.
+     *
+     * @return Collection of cliques (each of which is represented as a Set of
+     * vertices)
+     */
+    public Collection<Set<V>> getAllMaximalCliques() {
+        final Collection<Set<V>> cliques = new ArrayList<Set<V>>();
+        findCliques(new CliqueVisitor<V>() {
+            @Override
+            public void visitClique(List<V> clique) {
+                cliques.add(new HashSet<V>(clique));
+            }
+        });
+        return cliques;
+    }
+
+    /**
+     * Finds the biggest maximal cliques of the graph. Only the biggest cliques found so far are kept while searching.
+     *
+     * @return Collection of cliques (each of which is represented as a Set of
+     * vertices)
+     */
+    public Collection<Set<V>> getBiggestMaximalCliques() {
+        final Collection<Set<V>> biggest_cliques = new ArrayList<Set<V>>();
+        findCliques(new CliqueVisitor<V>() {
+
+            private int maximum = 0;
+
+            @Override
+            public synchronized void visitClique(List<V> clique) {
+                if (clique.size() > maximum) {
+                    maximum = clique.size();
+                    biggest_cliques.clear();
+                }
+                if (clique.size() == maximum) {
+                    biggest_cliques.add(new HashSet<V>(clique));
+                }
+            }
+        });
+        return biggest_cliques;
+    }
+}
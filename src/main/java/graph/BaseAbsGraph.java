@@ -1,7 +1,10 @@
 package graph;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -81,6 +84,53 @@ public abstract class BaseAbsGraph<V, E> {// implements IGraph<V,E>{
         return vertices.get(vertex);
     }
 
+    /**
+     * Replaces the {@link graph.BaseAbsGraph.EdgeContainer} of the given vertex, which must already be part of the
+     * graph. This allows subclasses to switch a vertex to a container which suits it better, e.g. depending on its
+     * degree; the new container must hold the same edges as the old one.
+     *
+     * @param vertex
+     * @param edges
+     */
+    protected void setEdges(final V vertex, final EdgeContainer<V, E> edges) {
+        if (!vertices.containsKey(vertex)) {
+            throw new IllegalArgumentException("The vertex " + vertex + " is not part of the graph");
+        }
+        vertices.put(vertex, edges);
+    }
+
+    /**
+     * Returns the vertices the given vertex is connected to, resolving each of its edges through
+     * {@link graph.BaseAbsGraph.EdgeContainer#getVertexForEdge(Object)}. An empty collection is returned if the vertex
+     * does not exist within the graph.
+     *
+     * @param vertex
+     * @return
+     */
+    public Collection<V> getNeighbours(final V vertex) {
+        final EdgeContainer<V, E> edges = vertices.get(vertex);
+        if (edges == null) {
+            return Collections.emptyList();
+        }
+        final List<V> neighbours = new ArrayList<V>(edges.size());
+        for (E edge : edges) {
+            neighbours.add(edges.getVertexForEdge(edge));
+        }
+        return neighbours;
+    }
+
+
+    /**
+     * Returns the number of edges of the graph. Note that a bidirectional connection counts as two edges.
+     */
+    public int edgeCount() {
+        int count = 0;
+        for (V vertex : vertexSet()) {
+            count += getEdges(vertex).size();
+        }
+        return count;
+    }
+
 
     /**
      * Adds a new vertex to the graph if it did not exist before. Note that the vertex will be added to the vertex set of the graph, but this vertex
@@ -97,6 +147,17 @@ public abstract class BaseAbsGraph<V, E> {// implements IGraph<V,E>{
         }
     }
 
+    /**
+     * Removes the given vertex and all its outgoing edges from the graph. Note that edges from other vertices pointing
+     * to the removed one are not removed, as finding them requires knowing how each subclass stores its edges.
+     *
+     * @param vertex
+     * @return if the vertex was part of the graph
+     */
+    public boolean removeVertex(final V vertex) {
+        return vertices.remove(vertex) != null;
+    }
+
     /**
      * Adds a new connection defined by the tuple({@code sourceVertex, targetEdge, edge}). Note that all the input
      * parameters shouldn't  be null.
@@ -113,12 +174,38 @@ public abstract class BaseAbsGraph<V, E> {// implements IGraph<V,E>{
         if (sourceVertex == null || edge == null || targetEdge == null) {
             throw new IllegalArgumentException("None of the provided parameter can be null");
         }
-        EdgeContainer edges = vertices.get(sourceVertex);
+        EdgeContainer<V, E> edges = vertices.get(sourceVertex);
         if (edges == null) {
+            //Only new vertices need a put, the container of an existing one is updated in place
             edges = mEdgeContainerFactory.newEdgeContainer();
+            vertices.put(sourceVertex, edges);
         }
         edges.addEdge(targetEdge, edge);
-        vertices.put(sourceVertex, edges);
+    }
+
+
+    /**
+     * Removes all the edges from {@code sourceVertex} to {@code targetVertex}. The vertices themselves are kept, even if
+     * they have no edges left.
+     *
+     * @param sourceVertex Source vertex
+     * @param targetVertex Target vertex
+     * @return if any edge was removed
+     */
+    public boolean removeConnection(final V sourceVertex, final V targetVertex) {
+        final EdgeContainer<V, E> edges = vertices.get(sourceVertex);
+        if (edges == null) {
+            return false;
+        }
+        final List<E> edgesToRemove = new ArrayList<E>();
+        for (E edge : edges) {
+            final V vertex = edges.getVertexForEdge(edge);
+            if (vertex == null ? targetVertex == null : vertex.equals(targetVertex)) {
+                edgesToRemove.add(edge);
+            }
+        }
+        edges.remove(edgesToRemove);
+        return !edgesToRemove.isEmpty();
     }
 
 
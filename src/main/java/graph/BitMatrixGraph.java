@@ -0,0 +1,415 @@
+package graph;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Immutable graph stored as an adjacency matrix of bits. Each vertex is mapped to a dense int id through a dictionary,
+ * and the row of each vertex is a bitset over all the ids, packed with the other rows in a single {@code long[]}: the
+ * row of the vertex with id i takes the {@link #wordsPerRow()} longs starting at {@code i * wordsPerRow()}.
+ * <p/>
+ * {@link #containsEdge(int, int)} is a single bit test, and the common neighbours of two vertices are the word-wise AND
+ * of their rows. The matrix takes {@code V^2 / 8} bytes whatever the number of edges, so it only pays off for small and
+ * dense graphs, e.g. what is left of the mutual graph after {@link NoEdgeInfoGraph#removeVerticesBelowCore(int)}. See
+ * {@link #isDenseEnough(BaseAbsGraph, double)}.
+ * <p/>
+ * The graph is built from a mutable one through {@link #fromGraph(BaseAbsGraph)}. As in {@link NoEdgeInfoGraph} edges
+ * carry no information, the target vertex is used as the edge. Any attempt of modifying the graph throws an
+ * {@link UnsupportedOperationException}.
+ *
+ * @param <V> Type for the Vertex to store.
+ */
+public class BitMatrixGraph<V> extends BaseAbsGraph<V, V> {
+
+    /**
+     * Highest number of vertices a graph may have for {@link #isDenseEnough(BaseAbsGraph, double)}, which keeps the
+     * matrix under 32MB.
+     */
+    public static final int MAX_VERTICES = 1 << 14;
+
+    /*  Vertex for each id  */
+    private final List<V> vertices;
+
+    /*  Id for each vertex  */
+    private final Map<V, Integer> ids;
+
+    /*  Number of longs each row takes  */
+    private final int words;
+
+    /*  Rows of all the vertices, one after the other  */
+    private final long[] matrix;
+
+    /*  Number of edges of each vertex id  */
+    private final int[] degrees;
+
+    private final int edgeCount;
+
+    private BitMatrixGraph(List<V> vertices, Map<V, Integer> ids, int words, long[] matrix, int[] degrees,
+                           int edgeCount) {
+        super();
+        this.vertices = vertices;
+        this.ids = ids;
+        this.words = words;
+        this.matrix = matrix;
+        this.degrees = degrees;
+        this.edgeCount = edgeCount;
+    }
+
+    /**
+     * Builds a BitMatrixGraph holding the same vertices and connections as the given graph. Self loops are dropped, as
+     * a vertex cannot be part of a clique with itself, and so are the edges pointing to vertices that are not part of
+     * {@link BaseAbsGraph#vertexSet()}.
+     *
+     * @param graph the graph to copy
+     */
+    public static <V> BitMatrixGraph<V> fromGraph(final BaseAbsGraph<V, ?> graph) {
+        final int vertexCount = graph.vertexSet().size();
+        final List<V> vertices = new ArrayList<V>(vertexCount);
+        final Map<V, Integer> ids = new HashMap<V, Integer>(vertexCount * 2);
+        for (V vertex : graph.vertexSet()) {
+            ids.put(vertex, vertices.size());
+            vertices.add(vertex);
+        }
+
+        final int words = (vertexCount + 63) >>> 6;
+        final long[] matrix = new long[vertexCount * words];
+        final int[] degrees = new int[vertexCount];
+        int edgeCount = 0;
+        for (int id = 0; id < vertexCount; id++) {
+            final int row = id * words;
+            for (V neighbour : graph.getNeighbours(vertices.get(id))) {
+                final Integer neighbourId = ids.get(neighbour);
+                if (neighbourId != null && neighbourId != id) {
+                    final long bit = 1L << neighbourId;
+                    final int word = row + (neighbourId >>> 6);
+                    if ((matrix[word] & bit) == 0) {
+                        matrix[word] |= bit;
+                        degrees[id]++;
+                    }
+                }
+            }
+            edgeCount += degrees[id];
+        }
+        return new BitMatrixGraph<V>(vertices, ids, words, matrix, degrees, edgeCount);
+    }
+
+    /**
+     * Returns the density of the given graph, that is the number of edges between different vertices of the graph
+     * divided by the highest number of edges it could have, {@code V * (V - 1)}. Note that a bidirectional connection
+     * counts as two edges, so a complete graph has density 1.
+     *
+     * @param graph
+     */
+    public static double densityOf(final BaseAbsGraph<?, ?> graph) {
+        return countDensity(graph);
+    }
+
+    private static <V> double countDensity(final BaseAbsGraph<V, ?> graph) {
+        final long vertexCount = graph.vertexSet().size();
+        if (vertexCount < 2) {
+            return 0;
+        }
+        long edgeCount = 0;
+        for (V vertex : graph.vertexSet()) {
+            final EdgeContainer<V, ?> edges = graph.getEdges(vertex);
+            edgeCount += edges.size();
+            if (edges.containsEdge(vertex)) {
+                edgeCount--;
+            }
+        }
+        return (double) edgeCount / (vertexCount * (vertexCount - 1));
+    }
+
+    /**
+     * Returns if the given graph is worth converting to a BitMatrixGraph: it has at most {@link #MAX_VERTICES}
+     * vertices, and its {@link #densityOf(BaseAbsGraph) density} is at least the given threshold.
+     *
+     * @param graph
+     * @param densityThreshold
+     */
+    public static boolean isDenseEnough(final BaseAbsGraph<?, ?> graph, final double densityThreshold) {
+        return graph.vertexSet().size() <= MAX_VERTICES && densityOf(graph) >= densityThreshold;
+    }
+
+    /**
+     * Returns the number of vertices of the graph.
+     */
+    public int vertexCount() {
+        return vertices.size();
+    }
+
+    /**
+     * Returns the number of edges of the graph. Note that a bidirectional connection counts as two edges.
+     */
+    @Override
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * Returns the number of longs taken by the row of each vertex.
+     */
+    public int wordsPerRow() {
+        return words;
+    }
+
+    /**
+     * Returns the id of the given vertex, or -1 if it is not part of the graph.
+     *
+     * @param vertex
+     */
+    public int idOf(final V vertex) {
+        final Integer id = ids.get(vertex);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Returns the vertex for the given id.
+     *
+     * @param id
+     */
+    public V vertexOf(final int id) {
+        return vertices.get(id);
+    }
+
+    /**
+     * Returns the number of edges of the vertex with the given id.
+     *
+     * @param id
+     */
+    public int degree(final int id) {
+        return degrees[id];
+    }
+
+    /**
+     * Returns if the graph has an edge between the two vertices with the given ids.
+     *
+     * @param sourceId
+     * @param targetId
+     */
+    public boolean containsEdge(final int sourceId, final int targetId) {
+        return (matrix[sourceId * words + (targetId >>> 6)] & (1L << targetId)) != 0;
+    }
+
+    /**
+     * Copies the row of the vertex with the given id into the given bitset, which must hold at least
+     * {@link #wordsPerRow()} longs.
+     *
+     * @param id
+     * @param bitset
+     */
+    public void copyRow(final int id, final long[] bitset) {
+        System.arraycopy(matrix, id * words, bitset, 0, words);
+    }
+
+    /**
+     * Intersects the given bitset with the row of the vertex with the given id, leaving in it only the ids the vertex
+     * is connected to.
+     *
+     * @param id
+     * @param bitset a bitset of at least {@link #wordsPerRow()} longs
+     */
+    public void intersectRow(final int id, final long[] bitset) {
+        final int row = id * words;
+        for (int w = 0; w < words; w++) {
+            bitset[w] &= matrix[row + w];
+        }
+    }
+
+    /**
+     * Removes from the given bitset the ids the vertex with the given id is connected to.
+     *
+     * @param id
+     * @param bitset a bitset of at least {@link #wordsPerRow()} longs
+     */
+    public void subtractRow(final int id, final long[] bitset) {
+        final int row = id * words;
+        for (int w = 0; w < words; w++) {
+            bitset[w] &= ~matrix[row + w];
+        }
+    }
+
+    /**
+     * Returns the number of vertices both vertices with the given ids are connected to.
+     *
+     * @param firstId
+     * @param secondId
+     */
+    public int commonNeighbourCount(final int firstId, final int secondId) {
+        final int first = firstId * words;
+        final int second = secondId * words;
+        int count = 0;
+        for (int w = 0; w < words; w++) {
+            count += Long.bitCount(matrix[first + w] & matrix[second + w]);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of vertices of the given bitset the vertex with the given id is connected to.
+     *
+     * @param id
+     * @param bitset a bitset of at least {@link #wordsPerRow()} longs
+     */
+    public int countConnections(final int id, final long[] bitset) {
+        final int row = id * words;
+        int count = 0;
+        for (int w = 0; w < words; w++) {
+            count += Long.bitCount(matrix[row + w] & bitset[w]);
+        }
+        return count;
+    }
+
+    @Override
+    public boolean containsEdge(V sourceVertex, V targetVertex) {
+        final Integer sourceId = ids.get(sourceVertex);
+        final Integer targetId = ids.get(targetVertex);
+        return sourceId != null && targetId != null && containsEdge(sourceId, targetId);
+    }
+
+    @Override
+    public Set<V> vertexSet() {
+        return Collections.unmodifiableSet(ids.keySet());
+    }
+
+    @Override
+    protected EdgeContainer<V, V> getEdges(V vertex) {
+        final Integer id = ids.get(vertex);
+        return id == null ? null : new RowContainer(id);
+    }
+
+    @Override
+    public Collection<V> getNeighbours(final V vertex) {
+        final Integer id = ids.get(vertex);
+        if (id == null) {
+            return Collections.emptyList();
+        }
+        final List<V> neighbours = new ArrayList<V>(degrees[id]);
+        final Iterator<V> row = new RowContainer(id).iterator();
+        while (row.hasNext()) {
+            neighbours.add(row.next());
+        }
+        return Collections.unmodifiableList(neighbours);
+    }
+
+    @Override
+    public void addVertex(V newVertex) {
+        throw new UnsupportedOperationException("A BitMatrixGraph cannot be modified");
+    }
+
+    @Override
+    public boolean removeVertex(V vertex) {
+        throw new UnsupportedOperationException("A BitMatrixGraph cannot be modified");
+    }
+
+    @Override
+    public void addConnection(V sourceVertex, V targetEdge, V edge) {
+        throw new UnsupportedOperationException("A BitMatrixGraph cannot be modified");
+    }
+
+    @Override
+    public boolean removeConnection(V sourceVertex, V targetVertex) {
+        throw new UnsupportedOperationException("A BitMatrixGraph cannot be modified");
+    }
+
+    /**
+     * Read-only {@link graph.BaseAbsGraph.EdgeContainer} over the row of a vertex.
+     */
+    private class RowContainer extends AbstractSet<V> implements BaseAbsGraph.EdgeContainer<V, V> {
+
+        private final int id;
+
+        RowContainer(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public void addEdge(V targetVertex, V edge) {
+            throw new UnsupportedOperationException("A BitMatrixGraph cannot be modified");
+        }
+
+        @Override
+        public boolean containsEdge(V vertex) {
+            final Integer targetId = ids.get(vertex);
+            return targetId != null && BitMatrixGraph.this.containsEdge(id, targetId);
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            final Integer targetId = ids.get(o);
+            return targetId != null && BitMatrixGraph.this.containsEdge(id, targetId);
+        }
+
+        @Override
+        public V getVertexForEdge(V edge) {
+            return containsEdge(edge) ? edge : null;
+        }
+
+        @Override
+        public Set<V> getEdges() {
+            return this;
+        }
+
+        @Override
+        public void remove(Collection<V> edgesToRemove) {
+            throw new UnsupportedOperationException("A BitMatrixGraph cannot be modified");
+        }
+
+        @Override
+        public int size() {
+            return degrees[id];
+        }
+
+        @Override
+        public Iterator<V> iterator() {
+            return new Iterator<V>() {
+
+                private final int row = id * words;
+                private int next = nextSetBit(0);
+
+                private int nextSetBit(int from) {
+                    int word = from >>> 6;
+                    if (word >= words) {
+                        return -1;
+                    }
+                    long bits = matrix[row + word] & (-1L << from);
+                    while (bits == 0) {
+                        if (++word >= words) {
+                            return -1;
+                        }
+                        bits = matrix[row + word];
+                    }
+                    return (word << 6) + Long.numberOfTrailingZeros(bits);
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return next >= 0;
+                }
+
+                @Override
+                public V next() {
+                    if (next < 0) {
+                        throw new NoSuchElementException();
+                    }
+                    final int current = next;
+                    next = nextSetBit(current + 1);
+                    return vertices.get(current);
+                }
+
+                @Override
+                public void remove() {
+                    throw new UnsupportedOperationException("A BitMatrixGraph cannot be modified");
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package graph;
+
+import java.util.AbstractList;
+import java.util.List;
+
+/**
+ * Maximal clique finder which runs the pivoting Bron-Kerbosch algorithm (see {@link BronKerboschCliqueFinder.Strategy#PIVOT})
+ * over bitsets.
+ * <p/>
+ * The graph is first copied into a {@link BitMatrixGraph}, where each vertex is mapped to a dense int id and its
+ * neighbourhood is a row of bits, so intersecting the candidates or the already found nodes with a neighbourhood
+ * becomes a word-wise AND. The candidates, already found and branching sets of every recursion depth are kept in
+ * scratch buffers which are reused between branches, therefore no allocation takes place while searching except when
+ * reporting a clique.
+ * <p/>
+ * The neighbourhoods take {@code V^2 / 8} bytes, which makes this finder a good fit for small and dense graphs of a few
+ * thousand vertices. As the other finders, it only works with unidirectional graphs.
+ * <p/>
+ * The search keeps the same counters as {@link BronKerboschCliqueFinder}, which can be read while it is running through
+ * {@link #getStatistics()}. It never asks the graph whether two vertices are connected, so its {@code containsEdge}
+ * calls are always 0.
+ */
+public class BitSetCliqueFinder<V, E> extends BaseAbsCliqueFinder<V, E> {
+
+    private CliqueVisitor<V> visitor;
+
+    /*  Counters of the searches started through findCliques(CliqueVisitor), and the ones of the current search  */
+    private final SearchCounters ownCounters = new SearchCounters();
+    private SearchCounters counters;
+
+    /*  Neighbourhood bitset for each vertex id  */
+    private BitMatrixGraph<V> neighbours;
+
+    /*  Number of longs each bitset takes  */
+    private int words;
+
+    /*  Scratch bitsets per recursion depth, allocated the first time each depth is reached  */
+    private long[][] candidates;
+    private long[][] alreadyFound;
+    private long[][] branches;
+
+    /*  Vertex ids of the clique being built. The clique at depth d holds d vertices  */
+    private int[] potentialClique;
+    private int potentialCliqueSize;
+
+    /*  Read-only view of the potential clique handed to the visitor  */
+    private final List<V> cliqueView = new AbstractList<V>() {
+        @Override
+        public V get(int index) {
+            if (index >= potentialCliqueSize) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + potentialCliqueSize);
+            }
+            return neighbours.vertexOf(potentialClique[index]);
+        }
+
+        @Override
+        public int size() {
+            return potentialCliqueSize;
+        }
+    };
+
+    /**
+     * Creates a new clique finder.
+     *
+     * @param graph the graph in which cliques are to be found; graph must be
+     *              simple
+     */
+    public BitSetCliqueFinder(BaseAbsGraph<V, E> graph) {
+        super(graph);
+    }
+
+    /**
+     * Returns the counters of the running search, or of the last one if none is running, see
+     * {@link BronKerboschCliqueFinder#getStatistics()}.
+     */
+    public SearchStatistics getStatistics() {
+        return ownCounters.getStatistics();
+    }
+
+    @Override
+    public void findCliques(CliqueVisitor<V> visitor) {
+        ownCounters.reset();
+        try {
+            findCliques(visitor, ownCounters);
+        } finally {
+            ownCounters.publish(true);
+        }
+    }
+
+    /**
+     * Finds all maximal cliques of the graph, adding the work done to the given counters. They are neither reset nor
+     * published as finished, which is up to the caller.
+     */
+    void findCliques(CliqueVisitor<V> visitor, SearchCounters counters) {
+        final long startNodes = counters.recursionNodes;
+        recursionNodeCount = 0;
+        if (graph.vertexSet().isEmpty()) {
+            return;
+        }
+        this.visitor = visitor;
+        this.counters = counters;
+        final int maxDegree = buildNeighbourhoods();
+
+        //A clique cannot be bigger than the highest degree plus one, and the search goes one level deeper than that
+        final int maxDepth = maxDegree + 2;
+        candidates = new long[maxDepth][];
+        alreadyFound = new long[maxDepth][];
+        branches = new long[maxDepth][];
+        potentialClique = new int[maxDepth];
+
+        ensureDepth(0);
+        for (int id = 0; id < neighbours.vertexCount(); id++) {
+            set(candidates[0], id);
+        }
+        try {
+            findCliques(0);
+        } finally {
+            recursionNodeCount = counters.recursionNodes - startNodes;
+
+            //Release the matrix and the scratch buffers, they are as big as the graph
+            neighbours = null;
+            candidates = null;
+            alreadyFound = null;
+            branches = null;
+            this.visitor = null;
+            this.counters = null;
+        }
+    }
+
+    /**
+     * Copies the graph into a {@link BitMatrixGraph}, which drops the self loops. Returns the highest degree of the
+     * graph.
+     */
+    private int buildNeighbourhoods() {
+        neighbours = BitMatrixGraph.fromGraph(graph);
+        words = neighbours.wordsPerRow();
+        int maxDegree = 0;
+        for (int id = 0; id < neighbours.vertexCount(); id++) {
+            maxDegree = Math.max(maxDegree, neighbours.degree(id));
+        }
+        return maxDegree;
+    }
+
+    private void ensureDepth(int depth) {
+        if (candidates[depth] == null) {
+            candidates[depth] = new long[words];
+            alreadyFound[depth] = new long[words];
+            branches[depth] = new long[words];
+        }
+    }
+
+    private void findCliques(int depth) {
+        counters.visitNode(depth);
+        final long[] p = candidates[depth];
+        final long[] x = alreadyFound[depth];
+        if (minimumCliqueSize > 1 && depth + cardinality(p) < minimumCliqueSize) {
+            //No clique big enough can be found within this branch
+            counters.prunedBranches++;
+            return;
+        }
+        if (isEmpty(p)) {
+            if (isEmpty(x)) {
+                counters.cliques++;
+                potentialCliqueSize = depth;
+                visitor.visitClique(cliqueView);
+            }
+            return;
+        }
+
+        //Only the candidates not connected to the pivot have to be branched on
+        final long[] branch = branches[depth];
+        System.arraycopy(p, 0, branch, 0, words);
+        neighbours.subtractRow(choosePivot(p, x), branch);
+        if (depth == 0) {
+            counters.topLevelBranches = cardinality(branch);
+        }
+
+        ensureDepth(depth + 1);
+        final long[] newP = candidates[depth + 1];
+        final long[] newX = alreadyFound[depth + 1];
+        for (int w = 0; w < words; w++) {
+            long word = branch[w];
+            while (word != 0) {
+                final int candidate = (w << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+
+                System.arraycopy(p, 0, newP, 0, words);
+                System.arraycopy(x, 0, newX, 0, words);
+                neighbours.intersectRow(candidate, newP);
+                neighbours.intersectRow(candidate, newX);
+                potentialClique[depth] = candidate;
+                findCliques(depth + 1);
+
+                //Move candidate from candidates to already found
+                p[w] &= ~(1L << candidate);
+                x[w] |= 1L << candidate;
+                counters.completeBranch(depth);
+            }
+        }
+    }
+
+    /**
+     * Returns the vertex within {@code p} or {@code x} which is connected to the highest number of vertices of
+     * {@code p}.
+     */
+    private int choosePivot(long[] p, long[] x) {
+        int pivot = -1;
+        int maxConnections = -1;
+        for (int w = 0; w < words; w++) {
+            long word = p[w] | x[w];
+            while (word != 0) {
+                final int vertex = (w << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+
+                final int connections = neighbours.countConnections(vertex, p);
+                if (connections > maxConnections) {
+                    maxConnections = connections;
+                    pivot = vertex;
+                }
+            }
+        }
+        return pivot;
+    }
+
+
+    private static void set(long[] bitset, int index) {
+        bitset[index >>> 6] |= 1L << index;
+    }
+
+    private static boolean isEmpty(long[] bitset) {
+        for (long word : bitset) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int cardinality(long[] bitset) {
+        int count = 0;
+        for (long word : bitset) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+}
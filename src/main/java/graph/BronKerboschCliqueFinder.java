@@ -22,6 +22,7 @@ package graph;
  */
 
 
+import java.io.PrintStream;
 import java.util.*;
 
 
@@ -33,79 +34,200 @@ import java.util.*;
  * <p/>
  * This class contains small adaptions from the original version implemented by Ewgenij Proschak
  * Note that this algorithm has the constraint of only working with unidirectional graphs.
+ * <p/>
+ * The search keeps a few counters (see {@link SearchStatistics}), which can be read while it is running through
+ * {@link #getStatistics()} or printed at a fixed period through {@link #setProgressReport(PrintStream, long)}.
  */
-public class BronKerboschCliqueFinder<V, E> {
+public class BronKerboschCliqueFinder<V, E> extends BaseAbsCliqueFinder<V, E> {
+
+
+    /**
+     * Enumeration strategies supported by the finder. Both of them report exactly the same maximal cliques, they only
+     * differ on the shape of the recursion tree explored for finding them.
+     */
+    public enum Strategy {
+        /**
+         * Original Bron-Kerbosch version, which branches on every candidate and stops a branch when a node within the
+         * already found nodes is connected to all the candidates.
+         */
+        CLASSIC,
+        /**
+         * Tomita et al. pivoting version. On each recursion the pivot u from candidates or already_found connected
+         * to the highest number of candidates is chosen, and only the candidates not connected to the pivot are branched on. This bounds
+         * the recursion tree to O(3^(n/3)) nodes, which is the worst-case optimal bound.
+         */
+        PIVOT
+    }
+
+    /**
+     * Default density from which the {@link Strategy#PIVOT} search runs over a {@link BitMatrixGraph}. See
+     * {@link #setDenseGraphThreshold(double)}.
+     */
+    public static final double DEFAULT_DENSE_GRAPH_THRESHOLD = 0.05;
+
+    private final Strategy strategy;
+
+    private double denseGraphThreshold = DEFAULT_DENSE_GRAPH_THRESHOLD;
 
+    /*  Visitor notified of the cliques found by the current search, and read-only view of the potential clique  */
+    private CliqueVisitor<V> visitor;
+    private List<V> clique_view;
 
-    private final BaseAbsGraph<V, E> graph;
+    /*  Counters of the current search, shared with the BitSetCliqueFinder the search may be handed to  */
+    private final SearchCounters counters = new SearchCounters();
 
-    private Collection<Set<V>> cliques;
+    /*  Where and how often the progress of the search is printed. Null if it is not printed  */
+    private PrintStream progressOut;
+    private long progressPeriodMillis;
 
 
     /**
-     * Creates a new clique finder.
+     * Creates a new clique finder which uses the {@link Strategy#CLASSIC} strategy.
      *
      * @param graph the graph in which cliques are to be found; graph must be
      *              simple
      */
     public BronKerboschCliqueFinder(BaseAbsGraph<V, E> graph) {
-        this.graph = graph;
+        this(graph, Strategy.CLASSIC);
     }
 
+    /**
+     * Creates a new clique finder which will enumerate the cliques using the given {@link Strategy}.
+     *
+     * @param graph    the graph in which cliques are to be found; graph must be
+     *                 simple
+     * @param strategy the enumeration strategy to use
+     */
+    public BronKerboschCliqueFinder(BaseAbsGraph<V, E> graph, Strategy strategy) {
+        super(graph);
+        if (strategy == null) {
+            throw new IllegalArgumentException("The enumeration strategy cannot be null");
+        }
+        this.strategy = strategy;
+    }
 
     /**
-     * Finds all maximal cliques of the graph. A clique is maximal if it is
-     * impossible to enlarge it by adding another vertex from the graph. Note
-     * that a maximal clique is not necessarily the biggest clique in the graph.
-     * <p/>
-     * Note also that this algorithm only works with unidirectional graphs.
+     * Returns the {@link Strategy} this finder uses for enumerating the cliques.
+     */
+    public Strategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Sets the density from which the {@link Strategy#PIVOT} search copies the graph into a {@link BitMatrixGraph} and
+     * runs over its rows through a {@link BitSetCliqueFinder}, instead of calling
+     * {@link BaseAbsGraph#containsEdge(Object, Object)} for each pair of vertices. On dense graphs the bit matrix is
+     * smaller than the hashed adjacency and its intersections are word-wise ANDs. Graphs with more than
+     * {@link BitMatrixGraph#MAX_VERTICES} vertices are never copied. The {@link Strategy#CLASSIC} search ignores it.
      *
-     * @return Collection of cliques (each of which is represented as a Set of
-     * vertices)
+     * @param denseGraphThreshold the density, see {@link BitMatrixGraph#densityOf(BaseAbsGraph)}. Values above 1 never
+     *                            switch to the bit matrix
+     */
+    public void setDenseGraphThreshold(final double denseGraphThreshold) {
+        if (!(denseGraphThreshold >= 0)) {
+            throw new IllegalArgumentException("The dense graph threshold must be a non negative number");
+        }
+        this.denseGraphThreshold = denseGraphThreshold;
+    }
+
+    /**
+     * Returns the density from which the {@link Strategy#PIVOT} search runs over a {@link BitMatrixGraph}.
      */
-    public Collection<Set<V>> getAllMaximalCliques() {
-        cliques = new ArrayList<Set<V>>();
-        List<V> potential_clique = new ArrayList<V>();
-        List<V> candidates = new ArrayList<V>();
-        List<V> already_found = new ArrayList<V>();
-        candidates.addAll(graph.vertexSet());
-        findCliques(potential_clique, candidates, already_found);
-        return cliques;
+    public double getDenseGraphThreshold() {
+        return denseGraphThreshold;
     }
 
     /**
-     * Finds the biggest maximal cliques of the graph.
+     * Sets the stream where the progress of every search is printed at a fixed period from a daemon thread, see
+     * {@link SearchProgressReporter}. Each line holds the counters of {@link #getStatistics()}, the throughput in
+     * recursion nodes per second and the fraction of the top level branches left.
+     *
+     * @param out          the stream to print to, or null for not printing the progress
+     * @param periodMillis the milliseconds between two lines. Must be positive
+     */
+    public void setProgressReport(final PrintStream out, final long periodMillis) {
+        if (out != null && periodMillis <= 0) {
+            throw new IllegalArgumentException("The progress report period must be positive");
+        }
+        progressOut = out;
+        progressPeriodMillis = periodMillis;
+    }
+
+    /**
+     * Returns the counters of the running search, or of the last one if none is running. While the search runs they
+     * are refreshed every few thousand recursion nodes and on every top level branch completed, so this method can be
+     * called from any thread without slowing the search down.
+     * <p/>
+     * When the {@link Strategy#PIVOT} search is handed to a {@link BitSetCliqueFinder} the counters are the ones of its
+     * search, which never asks the graph for edges, so no {@code containsEdge} calls are counted.
+     */
+    public SearchStatistics getStatistics() {
+        return counters.getStatistics();
+    }
+
+
+    /**
+     * Finds all maximal cliques of the graph, calling the given visitor for each of them. A clique is maximal if it is
+     * impossible to enlarge it by adding another vertex from the graph.
      * <p/>
-     * Note that this algorithm only works with unidirectional graphs.
+     * Note also that this algorithm only works with unidirectional graphs.
      *
-     * @return Collection of cliques (each of which is represented as a Set of
-     * vertices)
+     * @param visitor the visitor to notify for every maximal clique
      */
-    public Collection<Set<V>> getBiggestMaximalCliques() {
-        // first, find all cliques
-        getAllMaximalCliques();
-
-        int maximum = 0;
-        Collection<Set<V>> biggest_cliques = new ArrayList<Set<V>>();
-        for (Set<V> clique : cliques) {
-            if (maximum < clique.size()) {
-                maximum = clique.size();
-            }
+    @Override
+    public void findCliques(final CliqueVisitor<V> visitor) {
+        counters.reset();
+        final SearchProgressReporter reporter = progressOut == null ? null
+                : new SearchProgressReporter(counters, progressOut, progressPeriodMillis);
+        if (reporter != null) {
+            reporter.start();
         }
-        for (Set<V> clique : cliques) {
-            if (maximum == clique.size()) {
-                biggest_cliques.add(clique);
+        try {
+            if (strategy == Strategy.PIVOT && BitMatrixGraph.isDenseEnough(graph, denseGraphThreshold)) {
+                final BitSetCliqueFinder<V, E> denseFinder = new BitSetCliqueFinder<V, E>(graph);
+                denseFinder.setMinimumCliqueSize(minimumCliqueSize);
+                denseFinder.findCliques(visitor, counters);
+                return;
+            }
+            this.visitor = visitor;
+            List<V> potential_clique = new ArrayList<V>();
+            clique_view = Collections.unmodifiableList(potential_clique);
+            if (strategy == Strategy.PIVOT) {
+                findCliquesWithPivot(potential_clique, new ArrayList<V>(graph.vertexSet()), new ArrayList<V>());
+            } else {
+                List<V> candidates = new ArrayList<V>();
+                List<V> already_found = new ArrayList<V>();
+                candidates.addAll(graph.vertexSet());
+                findCliques(potential_clique, candidates, already_found);
+            }
+            this.visitor = null;
+        } finally {
+            recursionNodeCount = counters.recursionNodes;
+            counters.publish(true);
+            if (reporter != null) {
+                reporter.stop();
             }
         }
-        return biggest_cliques;
     }
 
     private void findCliques(
             List<V> potential_clique,
             List<V> candidates,
             List<V> already_found) {
+        final int depth = potential_clique.size();
+        counters.visitNode(depth);
+        if (depth + candidates.size() < minimumCliqueSize) {
+            // no clique big enough can be found within this branch
+            counters.prunedBranches++;
+            return;
+        }
         List<V> candidates_array = new ArrayList<V>(candidates);
-        if (!end(candidates, already_found)) {
+        if (end(candidates, already_found)) {
+            counters.prunedBranches++;
+        } else {
+            if (depth == 0) {
+                counters.topLevelBranches = candidates_array.size();
+            }
             // for each candidate_node in candidates do
             for (V candidate : candidates_array) {
                 List<V> new_candidates = new ArrayList<V>();
@@ -118,7 +240,7 @@ public class BronKerboschCliqueFinder<V, E> {
                 // create new_candidates by removing nodes in candidates not
                 // connected to candidate node
                 for (V new_candidate : candidates) {
-                    if (graph.containsEdge(candidate, new_candidate)) {
+                    if (containsEdge(candidate, new_candidate)) {
                         new_candidates.add(new_candidate);
                     }// of if
                 } // of for
@@ -126,7 +248,7 @@ public class BronKerboschCliqueFinder<V, E> {
                 // create new_already_found by removing nodes in already_found
                 // not connected to candidate node
                 for (V new_found : already_found) {
-                    if (graph.containsEdge(candidate, new_found)) {
+                    if (containsEdge(candidate, new_found)) {
                         new_already_found.add(new_found);
                     } // of if
                 } // of for
@@ -134,7 +256,10 @@ public class BronKerboschCliqueFinder<V, E> {
                 // if new_candidates and new_already_found are empty
                 if (new_candidates.isEmpty() && new_already_found.isEmpty()) {
                     // potential_clique is maximal_clique
-                    cliques.add(new HashSet<V>(potential_clique));
+                    if (potential_clique.size() >= minimumCliqueSize) {
+                        counters.cliques++;
+                        visitor.visitClique(clique_view);
+                    }
                 } // of if
                 else {
                     // recursive call
@@ -147,8 +272,119 @@ public class BronKerboschCliqueFinder<V, E> {
                 // move candidate_node from potential_clique to already_found;
                 already_found.add(candidate);
                 potential_clique.remove(candidate);
+                counters.completeBranch(depth);
             } // of for
-        } // of if
+        } // of else
+    }
+
+    private void findCliquesWithPivot(
+            List<V> potential_clique,
+            List<V> candidates,
+            List<V> already_found) {
+        final int depth = potential_clique.size();
+        counters.visitNode(depth);
+        if (depth + candidates.size() < minimumCliqueSize) {
+            // no clique big enough can be found within this branch
+            counters.prunedBranches++;
+            return;
+        }
+        if (candidates.isEmpty()) {
+            if (already_found.isEmpty()) {
+                // potential_clique is maximal_clique
+                counters.cliques++;
+                visitor.visitClique(clique_view);
+            }
+            return;
+        }
+
+        // only the candidates not connected to the pivot have to be branched on. Any maximal clique containing a
+        // neighbour of the pivot is found again either from the pivot itself or from one of its non neighbours.
+        final V pivot = choosePivot(candidates, already_found);
+        final List<V> branches = new ArrayList<V>();
+        for (V candidate : candidates) {
+            if (!connected(pivot, candidate)) {
+                branches.add(candidate);
+            }
+        }
+        if (depth == 0) {
+            counters.topLevelBranches = branches.size();
+        }
+
+        // candidates and already_found are owned by this call, so they can be updated in place.
+        final Set<V> removed = new HashSet<V>();
+        for (V candidate : branches) {
+            List<V> new_candidates = new ArrayList<V>();
+            List<V> new_already_found = new ArrayList<V>();
+            for (V new_candidate : candidates) {
+                if (!removed.contains(new_candidate) && connected(candidate, new_candidate)) {
+                    new_candidates.add(new_candidate);
+                }
+            }
+            for (V new_found : already_found) {
+                if (connected(candidate, new_found)) {
+                    new_already_found.add(new_found);
+                }
+            }
+
+            potential_clique.add(candidate);
+            findCliquesWithPivot(potential_clique, new_candidates, new_already_found);
+            potential_clique.remove(potential_clique.size() - 1);
+
+            // move candidate_node from candidates to already_found
+            removed.add(candidate);
+            already_found.add(candidate);
+            counters.completeBranch(depth);
+        }
+    }
+
+    /**
+     * Returns the vertex within {@code candidates} or {@code already_found} which is connected to the highest number of
+     * candidates.
+     */
+    private V choosePivot(List<V> candidates, List<V> already_found) {
+        V pivot = null;
+        int maxConnections = -1;
+        for (V vertex : candidates) {
+            final int connections = countConnections(vertex, candidates);
+            if (connections > maxConnections) {
+                maxConnections = connections;
+                pivot = vertex;
+            }
+        }
+        for (V vertex : already_found) {
+            final int connections = countConnections(vertex, candidates);
+            if (connections > maxConnections) {
+                maxConnections = connections;
+                pivot = vertex;
+            }
+        }
+        return pivot;
+    }
+
+    /**
+     * Returns if the two given vertices are connected. Self loops are ignored, as a vertex cannot be a neighbour of
+     * itself within a clique.
+     */
+    private boolean connected(V sourceVertex, V targetVertex) {
+        return !sourceVertex.equals(targetVertex) && containsEdge(sourceVertex, targetVertex);
+    }
+
+    /**
+     * Returns if the graph holds the edge from {@code sourceVertex} to {@code targetVertex}, counting the call.
+     */
+    private boolean containsEdge(V sourceVertex, V targetVertex) {
+        counters.containsEdgeCalls++;
+        return graph.containsEdge(sourceVertex, targetVertex);
+    }
+
+    private int countConnections(V vertex, List<V> candidates) {
+        int edgecounter = 0;
+        for (V candidate : candidates) {
+            if (connected(vertex, candidate)) {
+                edgecounter++;
+            }
+        }
+        return edgecounter;
     }
 
     private boolean end(List<V> candidates, List<V> already_found) {
@@ -158,7 +394,7 @@ public class BronKerboschCliqueFinder<V, E> {
         for (V found : already_found) {
             edgecounter = 0;
             for (V candidate : candidates) {
-                if (graph.containsEdge(found, candidate)) {
+                if (containsEdge(found, candidate)) {
                     edgecounter++;
                 } // of if
             } // of for
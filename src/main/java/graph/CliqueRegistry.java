@@ -0,0 +1,93 @@
+package graph;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Set of cliques indexed by vertex, so the cliques a vertex is part of can be found without going through all of them.
+ * Cliques are stored as sets, which must not be modified once added.
+ *
+ * @param <V> Type for the Vertex of the graph.
+ */
+class CliqueRegistry<V> {
+
+    private final Set<Set<V>> cliques = new HashSet<Set<V>>();
+
+    private final Map<V, List<Set<V>>> cliquesByVertex = new HashMap<V, List<Set<V>>>();
+
+    /**
+     * Adds the given clique. Returns false if it was already part of the registry.
+     */
+    boolean add(final Set<V> clique) {
+        if (!cliques.add(clique)) {
+            return false;
+        }
+        for (V vertex : clique) {
+            List<Set<V>> vertexCliques = cliquesByVertex.get(vertex);
+            if (vertexCliques == null) {
+                vertexCliques = new ArrayList<Set<V>>(2);
+                cliquesByVertex.put(vertex, vertexCliques);
+            }
+            vertexCliques.add(clique);
+        }
+        return true;
+    }
+
+    /**
+     * Removes the given clique. Returns false if it was not part of the registry.
+     */
+    boolean remove(final Set<V> clique) {
+        if (!cliques.remove(clique)) {
+            return false;
+        }
+        for (V vertex : clique) {
+            final List<Set<V>> vertexCliques = cliquesByVertex.get(vertex);
+            vertexCliques.remove(clique);
+            if (vertexCliques.isEmpty()) {
+                cliquesByVertex.remove(vertex);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Removes all the cliques the given vertex is part of.
+     */
+    void removeAll(final V vertex) {
+        for (Set<V> clique : new ArrayList<Set<V>>(cliquesOf(vertex))) {
+            remove(clique);
+        }
+    }
+
+    boolean contains(final Set<V> clique) {
+        return cliques.contains(clique);
+    }
+
+    /**
+     * Returns a read-only view of the cliques the given vertex is part of.
+     */
+    Collection<Set<V>> cliquesOf(final V vertex) {
+        final List<Set<V>> vertexCliques = cliquesByVertex.get(vertex);
+        if (vertexCliques == null) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableList(vertexCliques);
+    }
+
+    /**
+     * Returns a read-only view of all the cliques.
+     */
+    Set<Set<V>> all() {
+        return Collections.unmodifiableSet(cliques);
+    }
+
+    int size() {
+        return cliques.size();
+    }
+}
@@ -0,0 +1,21 @@
+package graph;
+
+import java.util.List;
+
+/**
+ * Callback notified by a {@link BaseAbsCliqueFinder} each time a maximal clique is found.
+ *
+ * @param <V> Type of the vertices of the cliques.
+ */
+public interface CliqueVisitor<V> {
+
+    /**
+     * Called for each maximal clique as soon as it is found. The given list is a read-only view over the finder's own
+     * buffers, therefore it is only valid during the call: it must be copied if the clique has to be kept afterwards.
+     * <p/>
+     * Finders running on several threads may call this method concurrently.
+     *
+     * @param clique vertices of the found clique, in no specific order
+     */
+    public void visitClique(List<V> clique);
+}
@@ -0,0 +1,333 @@
+package graph;
+
+import java.util.AbstractList;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Immutable graph stored in compressed sparse row (CSR) format. Each vertex is mapped to a dense int id through a
+ * dictionary, and all the adjacency lists are packed in a single sorted {@code int[]}: the neighbours of the vertex with
+ * id i are stored between {@code offsets[i]} and {@code offsets[i + 1]}. This takes 4 bytes per edge, and
+ * {@link #containsEdge(int, int)} is a binary search over the adjacency list of the source vertex.
+ * <p/>
+ * The graph is built from a mutable one through {@link #fromGraph(BaseAbsGraph)}, and it can be handed to the clique
+ * finders as any other {@link BaseAbsGraph}. As in {@link NoEdgeInfoGraph} edges carry no information, the target vertex
+ * is used as the edge. Any attempt of modifying the graph throws an {@link UnsupportedOperationException}.
+ *
+ * @param <V> Type for the Vertex to store.
+ */
+public class CompactGraph<V> extends BaseAbsGraph<V, V> {
+
+    /*  Vertex for each id  */
+    private final List<V> vertices;
+
+    /*  Id for each vertex  */
+    private final Map<V, Integer> ids;
+
+    /*  Start of the adjacency list of each vertex id within adjacency. Holds one element more than vertices  */
+    private final int[] offsets;
+
+    /*  Sorted adjacency lists of all the vertices  */
+    private final int[] adjacency;
+
+    private CompactGraph(List<V> vertices, Map<V, Integer> ids, int[] offsets, int[] adjacency) {
+        super();
+        this.vertices = vertices;
+        this.ids = ids;
+        this.offsets = offsets;
+        this.adjacency = adjacency;
+    }
+
+    /**
+     * Builds a CompactGraph holding the same vertices and connections as the given graph. Self loops are kept, while
+     * edges pointing to vertices that are not part of {@link BaseAbsGraph#vertexSet()} are dropped.
+     *
+     * @param graph the graph to copy
+     */
+    public static <V> CompactGraph<V> fromGraph(final BaseAbsGraph<V, ?> graph) {
+        return fromAdjacency(graph.vertexSet(), new Adjacency<V>() {
+            @Override
+            public Collection<V> neighboursOf(V vertex) {
+                return graph.getNeighbours(vertex);
+            }
+        });
+    }
+
+    /**
+     * Source of the neighbours of each vertex for {@link #fromAdjacency(Collection, Adjacency)}.
+     */
+    interface Adjacency<V> {
+
+        /**
+         * Returns the vertices the given one is connected to.
+         */
+        Collection<V> neighboursOf(V vertex);
+    }
+
+    /**
+     * Builds a CompactGraph holding the given vertices and the connections given by {@code adjacency} for each of them.
+     * Edges pointing to vertices that are not part of {@code vertexSet} are dropped.
+     */
+    static <V> CompactGraph<V> fromAdjacency(final Collection<V> vertexSet, final Adjacency<V> adjacency) {
+        final int vertexCount = vertexSet.size();
+        final List<V> vertices = new ArrayList<V>(vertexCount);
+        final Map<V, Integer> ids = new HashMap<V, Integer>(vertexCount * 2);
+        for (V vertex : vertexSet) {
+            ids.put(vertex, vertices.size());
+            vertices.add(vertex);
+        }
+
+        final int[] offsets = new int[vertexCount + 1];
+        int[] adjacencyList = new int[Math.max(16, vertexCount)];
+        int edgeCount = 0;
+        for (int id = 0; id < vertexCount; id++) {
+            final Collection<V> neighbours = adjacency.neighboursOf(vertices.get(id));
+            if (adjacencyList.length < edgeCount + neighbours.size()) {
+                adjacencyList = Arrays.copyOf(adjacencyList,
+                        Math.max(adjacencyList.length * 2, edgeCount + neighbours.size()));
+            }
+            final int start = edgeCount;
+            for (V neighbour : neighbours) {
+                final Integer neighbourId = ids.get(neighbour);
+                if (neighbourId != null) {
+                    adjacencyList[edgeCount++] = neighbourId;
+                }
+            }
+            Arrays.sort(adjacencyList, start, edgeCount);
+            offsets[id + 1] = edgeCount;
+        }
+        return new CompactGraph<V>(vertices, ids, offsets, Arrays.copyOf(adjacencyList, edgeCount));
+    }
+
+    /**
+     * Returns a CompactGraph without the vertices whose core number is lower than the given one, nor the connections
+     * from or to them. This is the read-only counterpart of {@link NoEdgeInfoGraph#removeVerticesBelowCore(int)}: as
+     * each vertex of a clique of size n has n-1 neighbours within the clique, the (n-1)-core holds all the cliques of
+     * size n or bigger. Only bidirectional connections are taken into account for computing the core numbers.
+     *
+     * @param core the minimum core number a vertex needs for being kept
+     * @return this graph if no vertex is below the given core, or a new graph otherwise
+     */
+    public CompactGraph<V> withoutVerticesBelowCore(final int core) {
+        final DegeneracyOrdering<V> ordering = new DegeneracyOrdering<V>(this);
+        final List<V> kept = new ArrayList<V>(vertices.size());
+        for (V vertex : vertices) {
+            if (ordering.getCoreNumber(vertex) >= core) {
+                kept.add(vertex);
+            }
+        }
+        if (kept.size() == vertices.size()) {
+            return this;
+        }
+        return fromAdjacency(kept, new Adjacency<V>() {
+            @Override
+            public Collection<V> neighboursOf(V vertex) {
+                return getNeighbours(vertex);
+            }
+        });
+    }
+
+    /**
+     * Returns the number of vertices of the graph.
+     */
+    public int vertexCount() {
+        return vertices.size();
+    }
+
+    /**
+     * Returns the number of edges of the graph. Note that a bidirectional connection counts as two edges.
+     */
+    @Override
+    public int edgeCount() {
+        return adjacency.length;
+    }
+
+    /**
+     * Returns the id of the given vertex, or -1 if it is not part of the graph.
+     *
+     * @param vertex
+     */
+    public int idOf(final V vertex) {
+        final Integer id = ids.get(vertex);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Returns the vertex for the given id.
+     *
+     * @param id
+     */
+    public V vertexOf(final int id) {
+        return vertices.get(id);
+    }
+
+    /**
+     * Returns the number of edges of the vertex with the given id.
+     *
+     * @param id
+     */
+    public int degree(final int id) {
+        return offsets[id + 1] - offsets[id];
+    }
+
+    /**
+     * Returns the id of the i-th neighbour of the vertex with the given id. Neighbours are sorted by id.
+     *
+     * @param id
+     * @param index between 0 and {@code degree(id) - 1}
+     */
+    public int neighbour(final int id, final int index) {
+        return adjacency[offsets[id] + index];
+    }
+
+    /**
+     * Returns if the graph has an edge between the two vertices with the given ids.
+     *
+     * @param sourceId
+     * @param targetId
+     */
+    public boolean containsEdge(final int sourceId, final int targetId) {
+        return Arrays.binarySearch(adjacency, offsets[sourceId], offsets[sourceId + 1], targetId) >= 0;
+    }
+
+    @Override
+    public boolean containsEdge(V sourceVertex, V targetVertex) {
+        final Integer sourceId = ids.get(sourceVertex);
+        final Integer targetId = ids.get(targetVertex);
+        return sourceId != null && targetId != null && containsEdge(sourceId, targetId);
+    }
+
+    @Override
+    public Set<V> vertexSet() {
+        return Collections.unmodifiableSet(ids.keySet());
+    }
+
+    @Override
+    protected EdgeContainer<V, V> getEdges(V vertex) {
+        final Integer id = ids.get(vertex);
+        return id == null ? null : new RowContainer(id);
+    }
+
+    @Override
+    public Collection<V> getNeighbours(final V vertex) {
+        final Integer id = ids.get(vertex);
+        if (id == null) {
+            return Collections.emptyList();
+        }
+        return new AbstractList<V>() {
+            @Override
+            public V get(int index) {
+                return vertices.get(neighbour(id, index));
+            }
+
+            @Override
+            public int size() {
+                return degree(id);
+            }
+        };
+    }
+
+    @Override
+    public void addVertex(V newVertex) {
+        throw new UnsupportedOperationException("A CompactGraph cannot be modified");
+    }
+
+    @Override
+    public boolean removeVertex(V vertex) {
+        throw new UnsupportedOperationException("A CompactGraph cannot be modified");
+    }
+
+    @Override
+    public void addConnection(V sourceVertex, V targetEdge, V edge) {
+        throw new UnsupportedOperationException("A CompactGraph cannot be modified");
+    }
+
+    @Override
+    public boolean removeConnection(V sourceVertex, V targetVertex) {
+        throw new UnsupportedOperationException("A CompactGraph cannot be modified");
+    }
+
+    /**
+     * Read-only {@link graph.BaseAbsGraph.EdgeContainer} over the adjacency list of a vertex.
+     */
+    private class RowContainer extends AbstractSet<V> implements BaseAbsGraph.EdgeContainer<V, V> {
+
+        private final int id;
+
+        RowContainer(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public void addEdge(V targetVertex, V edge) {
+            throw new UnsupportedOperationException("A CompactGraph cannot be modified");
+        }
+
+        @Override
+        public boolean containsEdge(V vertex) {
+            final Integer targetId = ids.get(vertex);
+            return targetId != null && CompactGraph.this.containsEdge(id, targetId);
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            final Integer targetId = ids.get(o);
+            return targetId != null && CompactGraph.this.containsEdge(id, targetId);
+        }
+
+        @Override
+        public V getVertexForEdge(V edge) {
+            return containsEdge(edge) ? edge : null;
+        }
+
+        @Override
+        public Set<V> getEdges() {
+            return this;
+        }
+
+        @Override
+        public void remove(Collection<V> edgesToRemove) {
+            throw new UnsupportedOperationException("A CompactGraph cannot be modified");
+        }
+
+        @Override
+        public int size() {
+            return degree(id);
+        }
+
+        @Override
+        public Iterator<V> iterator() {
+            return new Iterator<V>() {
+
+                private int index = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return index < degree(id);
+                }
+
+                @Override
+                public V next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return vertices.get(neighbour(id, index++));
+                }
+
+                @Override
+                public void remove() {
+                    throw new UnsupportedOperationException("A CompactGraph cannot be modified");
+                }
+            };
+        }
+    }
+}
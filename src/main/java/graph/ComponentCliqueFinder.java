@@ -0,0 +1,236 @@
+package graph;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Maximal clique finder which splits the graph into its {@link ConnectedComponents} and searches each component on its
+ * own, as no clique spans two components.
+ * <p/>
+ * Components with fewer vertices than the minimum clique size are dropped before searching, e.g. all the single vertices
+ * and pairs when looking for cliques of at least 3 vertices. Each remaining component is searched as an independent task
+ * on a {@link ForkJoinPool}, biggest components first so the longest tasks start early. Every search only maps the
+ * vertices of its component to ids, so its working set is the component instead of the whole graph. Components are
+ * searched through a {@link DegeneracyCliqueFinder}, or through a {@link BitSetCliqueFinder} when they are dense (see
+ * {@link BronKerboschCliqueFinder#setDenseGraphThreshold(double)}).
+ * <p/>
+ * The cliques of different components are reported from different threads, so their order is not deterministic, but
+ * their content is. As the other finders, it only works with unidirectional graphs.
+ */
+public class ComponentCliqueFinder<V, E> extends BaseAbsCliqueFinder<V, E> {
+
+    private final int parallelism;
+
+    private ForkJoinPool.ForkJoinWorkerThreadFactory threadFactory = ForkJoinPool.defaultForkJoinWorkerThreadFactory;
+
+    private double denseGraphThreshold = BronKerboschCliqueFinder.DEFAULT_DENSE_GRAPH_THRESHOLD;
+
+    /*  Recursion nodes visited by the components searched so far  */
+    private AtomicLong visitedNodes;
+
+    /**
+     * Creates a new clique finder which will use as many threads as available processors.
+     *
+     * @param graph the graph in which cliques are to be found; graph must be
+     *              simple
+     */
+    public ComponentCliqueFinder(BaseAbsGraph<V, E> graph) {
+        this(graph, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a new clique finder which will use the given number of threads.
+     *
+     * @param graph       the graph in which cliques are to be found; graph must be
+     *                    simple
+     * @param parallelism the number of threads to use. Must be positive
+     */
+    public ComponentCliqueFinder(BaseAbsGraph<V, E> graph, int parallelism) {
+        super(graph);
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("The number of threads must be positive");
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Returns the number of threads this finder uses.
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Sets the factory creating the threads of the pool of each search, e.g. for measuring their resources.
+     *
+     * @param threadFactory the factory. Cannot be null
+     */
+    public void setThreadFactory(final ForkJoinPool.ForkJoinWorkerThreadFactory threadFactory) {
+        if (threadFactory == null) {
+            throw new IllegalArgumentException("The thread factory cannot be null");
+        }
+        this.threadFactory = threadFactory;
+    }
+
+    /**
+     * Sets the density from which a component is searched over a bit matrix. See
+     * {@link BronKerboschCliqueFinder#setDenseGraphThreshold(double)}.
+     *
+     * @param denseGraphThreshold the density. Values above 1 never switch to the bit matrix
+     */
+    public void setDenseGraphThreshold(final double denseGraphThreshold) {
+        if (!(denseGraphThreshold >= 0)) {
+            throw new IllegalArgumentException("The dense graph threshold must be a non negative number");
+        }
+        this.denseGraphThreshold = denseGraphThreshold;
+    }
+
+    /**
+     * Finds all maximal cliques of the graph, calling the given visitor for each of them. Note that the visitor will be
+     * called concurrently from several threads, so it must be thread safe.
+     *
+     * @param visitor the visitor to notify for every maximal clique
+     */
+    @Override
+    public void findCliques(final CliqueVisitor<V> visitor) {
+        final List<Set<V>> components = new ConnectedComponents<V>(graph).getComponents(minimumCliqueSize);
+        visitedNodes = new AtomicLong();
+        recursionNodeCount = 0;
+        if (components.isEmpty()) {
+            return;
+        }
+        if (parallelism == 1 || components.size() == 1) {
+            for (Set<V> component : components) {
+                new ComponentTask(component, visitor).compute();
+            }
+            recursionNodeCount = visitedNodes.get();
+            return;
+        }
+
+        final List<ComponentTask> tasks = new ArrayList<ComponentTask>(components.size());
+        for (Set<V> component : components) {
+            tasks.add(new ComponentTask(component, visitor));
+        }
+        final ForkJoinPool pool = new ForkJoinPool(parallelism, threadFactory, null, false);
+        try {
+            pool.invoke(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    invokeAll(tasks);
+                }
+            });
+        } finally {
+            pool.shutdown();
+            recursionNodeCount = visitedNodes.get();
+        }
+    }
+
+    /**
+     * Finds all maximal cliques of the graph. The cliques found by all the threads are merged into a concurrent
+     * collector.
+     *
+     * @return Collection of cliques (each of which is represented as a Set of
+     * vertices)
+     */
+    @Override
+    public Collection<Set<V>> getAllMaximalCliques() {
+        final Queue<Set<V>> cliques = new ConcurrentLinkedQueue<Set<V>>();
+        findCliques(new CliqueVisitor<V>() {
+            @Override
+            public void visitClique(List<V> clique) {
+                cliques.add(new HashSet<V>(clique));
+            }
+        });
+        return new ArrayList<Set<V>>(cliques);
+    }
+
+    /**
+     * Task searching the cliques of a single component.
+     */
+    private final class ComponentTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Set<V> component;
+        private final CliqueVisitor<V> visitor;
+
+        ComponentTask(Set<V> component, CliqueVisitor<V> visitor) {
+            this.component = component;
+            this.visitor = visitor;
+        }
+
+        @Override
+        protected void compute() {
+            final ComponentGraph subgraph = new ComponentGraph(component);
+            final BaseAbsCliqueFinder<V, E> finder = BitMatrixGraph.isDenseEnough(subgraph, denseGraphThreshold)
+                    ? new BitSetCliqueFinder<V, E>(subgraph)
+                    : new DegeneracyCliqueFinder<V, E>(subgraph);
+            finder.setMinimumCliqueSize(minimumCliqueSize);
+            finder.findCliques(visitor);
+            visitedNodes.addAndGet(finder.getRecursionNodeCount());
+        }
+    }
+
+    /**
+     * Read-only view of the graph restricted to the vertices of a component. As a component holds all the neighbours
+     * of its vertices, the edges are the ones of the whole graph.
+     */
+    private final class ComponentGraph extends BaseAbsGraph<V, E> {
+
+        private final Set<V> component;
+
+        ComponentGraph(Set<V> component) {
+            super();
+            this.component = Collections.unmodifiableSet(component);
+        }
+
+        @Override
+        public Set<V> vertexSet() {
+            return component;
+        }
+
+        @Override
+        protected EdgeContainer<V, E> getEdges(V vertex) {
+            return component.contains(vertex) ? graph.getEdges(vertex) : null;
+        }
+
+        @Override
+        public Collection<V> getNeighbours(V vertex) {
+            return component.contains(vertex) ? graph.getNeighbours(vertex) : Collections.<V>emptyList();
+        }
+
+        @Override
+        public boolean containsEdge(V sourceVertex, V targetVertex) {
+            return component.contains(sourceVertex) && graph.containsEdge(sourceVertex, targetVertex);
+        }
+
+        @Override
+        public void addVertex(V newVertex) {
+            throw new UnsupportedOperationException("A component of a graph cannot be modified");
+        }
+
+        @Override
+        public boolean removeVertex(V vertex) {
+            throw new UnsupportedOperationException("A component of a graph cannot be modified");
+        }
+
+        @Override
+        public void addConnection(V sourceVertex, V targetEdge, E edge) {
+            throw new UnsupportedOperationException("A component of a graph cannot be modified");
+        }
+
+        @Override
+        public boolean removeConnection(V sourceVertex, V targetVertex) {
+            throw new UnsupportedOperationException("A component of a graph cannot be modified");
+        }
+    }
+}
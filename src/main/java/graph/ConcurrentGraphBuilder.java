@@ -0,0 +1,209 @@
+package graph;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Builds a graph from several threads at once, e.g. the threads parsing the chunks of a file through
+ * {@code FileDataProvider.forEach(DataConsumer, int)}, and freezes it into a read-only {@link CompactGraph} for the clique
+ * search.
+ * <p/>
+ * Vertices are spread by hash over a fixed number of shards, each of them holding the adjacency of its vertices in its
+ * own map behind its own lock. Adding a connection only locks the shard of its source vertex, so threads adding
+ * connections of different vertices rarely wait for each other, and each lock is held for a single map lookup and set
+ * insertion. As in {@link NoEdgeInfoGraph} edges carry no information and connections are directed.
+ * <p/>
+ * {@link #freeze()} and {@link #freezeMutual()} are meant to be called once all the threads are done adding
+ * connections.
+ *
+ * @param <V> Type for the Vertex to store.
+ */
+public class ConcurrentGraphBuilder<V> {
+
+    /*  Number of shards per available processor by default, so few threads share a lock at any time  */
+    private static final int SHARDS_PER_PROCESSOR = 8;
+
+    private final List<Shard<V>> shards;
+
+    /**
+     * Creates an empty builder with several shards per available processor.
+     */
+    public ConcurrentGraphBuilder() {
+        this(Runtime.getRuntime().availableProcessors() * SHARDS_PER_PROCESSOR);
+    }
+
+    /**
+     * Creates an empty builder with the given number of shards.
+     *
+     * @param shardCount the number of shards. Must be positive
+     */
+    public ConcurrentGraphBuilder(int shardCount) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("The number of shards must be positive");
+        }
+        shards = new ArrayList<Shard<V>>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            shards.add(new Shard<V>());
+        }
+    }
+
+    /**
+     * Returns the number of shards of the builder.
+     */
+    public int getShardCount() {
+        return shards.size();
+    }
+
+    /**
+     * Adds the given vertex, if it was not already part of the graph.
+     *
+     * @param vertex
+     */
+    public void addVertex(final V vertex) {
+        if (vertex == null) {
+            throw new IllegalArgumentException("None of the provided parameter can be null");
+        }
+        final Shard<V> shard = shardOf(vertex);
+        synchronized (shard) {
+            shard.neighboursOf(vertex);
+        }
+    }
+
+    /**
+     * Adds the connection from {@code source} to {@code target}. The source vertex is added to the graph if it was not
+     * part of it. This method can be called concurrently from several threads.
+     *
+     * @param source
+     * @param target
+     * @return if the connection did not exist before
+     */
+    public boolean addConnection(final V source, final V target) {
+        if (source == null || target == null) {
+            throw new IllegalArgumentException("None of the provided parameter can be null");
+        }
+        final Shard<V> shard = shardOf(source);
+        synchronized (shard) {
+            return shard.neighboursOf(source).add(target);
+        }
+    }
+
+    /**
+     * Returns if the connection from {@code source} to {@code target} was added.
+     *
+     * @param source
+     * @param target
+     */
+    public boolean containsConnection(final V source, final V target) {
+        final Shard<V> shard = shardOf(source);
+        synchronized (shard) {
+            final Set<V> neighbours = shard.adjacency.get(source);
+            return neighbours != null && neighbours.contains(target);
+        }
+    }
+
+    /**
+     * Returns the number of vertices added so far.
+     */
+    public int getVertexCount() {
+        int count = 0;
+        for (Shard<V> shard : shards) {
+            synchronized (shard) {
+                count += shard.adjacency.size();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns a read-only graph holding all the vertices and connections added so far. Connections pointing to vertices
+     * that were never added as a vertex nor as the source of a connection are dropped.
+     */
+    public CompactGraph<V> freeze() {
+        final Map<V, Set<V>> adjacency = snapshot();
+        return CompactGraph.fromAdjacency(adjacency.keySet(), new CompactGraph.Adjacency<V>() {
+            @Override
+            public Collection<V> neighboursOf(V vertex) {
+                return adjacency.get(vertex);
+            }
+        });
+    }
+
+    /**
+     * Returns a read-only graph holding only the connections added in both directions, as the ones a clique can be made
+     * of. Self connections are dropped, and so are the vertices left without connections.
+     */
+    public CompactGraph<V> freezeMutual() {
+        final Map<V, Set<V>> adjacency = snapshot();
+        final Map<V, List<V>> mutual = new LinkedHashMap<V, List<V>>();
+        for (Map.Entry<V, Set<V>> entry : adjacency.entrySet()) {
+            final V vertex = entry.getKey();
+            List<V> neighbours = null;
+            for (V neighbour : entry.getValue()) {
+                final Set<V> reverse = adjacency.get(neighbour);
+                if (!neighbour.equals(vertex) && reverse != null && reverse.contains(vertex)) {
+                    if (neighbours == null) {
+                        neighbours = new ArrayList<V>();
+                    }
+                    neighbours.add(neighbour);
+                }
+            }
+            if (neighbours != null) {
+                mutual.put(vertex, neighbours);
+            }
+        }
+        return CompactGraph.fromAdjacency(mutual.keySet(), new CompactGraph.Adjacency<V>() {
+            @Override
+            public Collection<V> neighboursOf(V vertex) {
+                return mutual.get(vertex);
+            }
+        });
+    }
+
+    /**
+     * Returns the adjacency of all the shards merged into a single map. The sets are the ones of the shards, so they
+     * must not be modified.
+     */
+    private Map<V, Set<V>> snapshot() {
+        final Map<V, Set<V>> adjacency = new HashMap<V, Set<V>>(getVertexCount() * 2);
+        for (Shard<V> shard : shards) {
+            synchronized (shard) {
+                adjacency.putAll(shard.adjacency);
+            }
+        }
+        return Collections.unmodifiableMap(adjacency);
+    }
+
+    private Shard<V> shardOf(final V vertex) {
+        //Spread the high bits of the hash, as the shard is chosen by the low ones
+        int hash = vertex.hashCode() * 0x9E3779B9;
+        hash ^= hash >>> 16;
+        return shards.get((hash & Integer.MAX_VALUE) % shards.size());
+    }
+
+    /**
+     * Adjacency of the vertices of a shard. It is guarded by the lock of the shard itself.
+     */
+    private static final class Shard<V> {
+
+        private final Map<V, Set<V>> adjacency = new HashMap<V, Set<V>>();
+
+        /**
+         * Returns the neighbours of the given vertex, adding the vertex if it was not part of the shard.
+         */
+        Set<V> neighboursOf(V vertex) {
+            Set<V> neighbours = adjacency.get(vertex);
+            if (neighbours == null) {
+                neighbours = new HashSet<V>();
+                adjacency.put(vertex, neighbours);
+            }
+            return neighbours;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package graph;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Connected components of a Graph, found through a union-find (disjoint set) pass over all its edges. Edges are taken as
+ * undirected, so two vertices are in the same component if there is a path of edges between them in any direction.
+ * Edges pointing to vertices that are not part of {@link BaseAbsGraph#vertexSet()} are ignored.
+ * <p/>
+ * Internally each vertex is mapped to a dense int id, and the disjoint sets are stored as a parent array with union by
+ * size and path halving, so the whole pass takes O(V + E) amortized time with no allocation besides the arrays.
+ * <p/>
+ * No clique spans two components, so the cliques of a graph can be searched component by component. See
+ * {@link ComponentCliqueFinder}.
+ *
+ * @param <V> Type of the vertices of the graph.
+ */
+public class ConnectedComponents<V> {
+
+    /*  Vertex for each id  */
+    private final List<V> vertices;
+
+    /*  Id for each vertex  */
+    private final Map<V, Integer> ids;
+
+    /*  Parent of each vertex id within its disjoint set. Roots are their own parent  */
+    private final int[] parents;
+
+    /*  Number of vertices of the set of each root id  */
+    private final int[] sizes;
+
+    private int componentCount;
+
+    /**
+     * Computes the connected components of the given graph.
+     *
+     * @param graph
+     */
+    public ConnectedComponents(final BaseAbsGraph<V, ?> graph) {
+        final int vertexCount = graph.vertexSet().size();
+        vertices = new ArrayList<V>(vertexCount);
+        ids = new HashMap<V, Integer>(vertexCount * 2);
+        for (V vertex : graph.vertexSet()) {
+            ids.put(vertex, vertices.size());
+            vertices.add(vertex);
+        }
+
+        parents = new int[vertexCount];
+        sizes = new int[vertexCount];
+        for (int id = 0; id < vertexCount; id++) {
+            parents[id] = id;
+            sizes[id] = 1;
+        }
+        componentCount = vertexCount;
+        for (int id = 0; id < vertexCount; id++) {
+            for (V neighbour : graph.getNeighbours(vertices.get(id))) {
+                final Integer neighbourId = ids.get(neighbour);
+                if (neighbourId != null) {
+                    union(id, neighbourId);
+                }
+            }
+        }
+    }
+
+    private int find(int id) {
+        while (parents[id] != id) {
+            parents[id] = parents[parents[id]];
+            id = parents[id];
+        }
+        return id;
+    }
+
+    private void union(final int first, final int second) {
+        int firstRoot = find(first);
+        int secondRoot = find(second);
+        if (firstRoot == secondRoot) {
+            return;
+        }
+        if (sizes[firstRoot] < sizes[secondRoot]) {
+            final int root = firstRoot;
+            firstRoot = secondRoot;
+            secondRoot = root;
+        }
+        parents[secondRoot] = firstRoot;
+        sizes[firstRoot] += sizes[secondRoot];
+        componentCount--;
+    }
+
+    /**
+     * Returns the number of connected components, including the ones made of a single vertex.
+     */
+    public int getComponentCount() {
+        return componentCount;
+    }
+
+    /**
+     * Returns if the two given vertices belong to the same component. Vertices which are not part of the graph do not
+     * belong to any component.
+     *
+     * @param first
+     * @param second
+     */
+    public boolean areConnected(final V first, final V second) {
+        final Integer firstId = ids.get(first);
+        final Integer secondId = ids.get(second);
+        return firstId != null && secondId != null && find(firstId) == find(secondId);
+    }
+
+    /**
+     * Returns the number of vertices of the component the given vertex belongs to, or 0 if it is not part of the
+     * graph.
+     *
+     * @param vertex
+     */
+    public int getComponentSize(final V vertex) {
+        final Integer id = ids.get(vertex);
+        return id == null ? 0 : sizes[find(id)];
+    }
+
+    /**
+     * Returns the vertices of each component with at least the given number of vertices, biggest components first.
+     * Smaller components are dropped without building their vertex sets.
+     *
+     * @param minimumSize the minimum number of vertices of the returned components
+     */
+    public List<Set<V>> getComponents(final int minimumSize) {
+        final Map<Integer, Set<V>> components = new HashMap<Integer, Set<V>>();
+        for (int id = 0; id < vertices.size(); id++) {
+            final int root = find(id);
+            if (sizes[root] < minimumSize) {
+                continue;
+            }
+            Set<V> component = components.get(root);
+            if (component == null) {
+                component = new HashSet<V>(sizes[root] * 2);
+                components.put(root, component);
+            }
+            component.add(vertices.get(id));
+        }
+
+        final List<Set<V>> result = new ArrayList<Set<V>>(components.values());
+        Collections.sort(result, new Comparator<Set<V>>() {
+            @Override
+            public int compare(Set<V> first, Set<V> second) {
+                return second.size() - first.size();
+            }
+        });
+        return result;
+    }
+}
@@ -0,0 +1,185 @@
+package graph;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Maximal clique finder implementing the algorithm described in [Eppstein D., Loffler M., Strash D.: Listing All
+ * Maximal Cliques in Sparse Graphs in Near-optimal Time; ISAAC (2010)].
+ * <p/>
+ * The vertices are processed following a {@link DegeneracyOrdering}. For each vertex v a pivoting Bron-Kerbosch search
+ * is started, whose candidates are the neighbours of v placed after it within the order and whose already found nodes
+ * are the neighbours placed before it. As no vertex has more than d later neighbours, d being the degeneracy of the
+ * graph, the running time scales with the degeneracy instead of with the number of vertices.
+ * <p/>
+ * The search works on the int ids assigned by the {@link DegeneracyOrdering}, and reports exactly the same cliques as
+ * {@link BronKerboschCliqueFinder}. As the other finders, it only works with unidirectional graphs.
+ */
+public class DegeneracyCliqueFinder<V, E> extends BaseAbsCliqueFinder<V, E> {
+
+    private CliqueVisitor<V> visitor;
+
+    private DegeneracyOrdering<V> ordering;
+
+    /*  Vertex ids of the clique being built, and its current size  */
+    private int[] potentialClique;
+    private int potentialCliqueSize;
+
+    /*  Read-only view of the potential clique handed to the visitor  */
+    private final List<V> cliqueView = new AbstractList<V>() {
+        @Override
+        public V get(int index) {
+            if (index >= potentialCliqueSize) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + potentialCliqueSize);
+            }
+            return ordering.vertexOf(potentialClique[index]);
+        }
+
+        @Override
+        public int size() {
+            return potentialCliqueSize;
+        }
+    };
+
+    /**
+     * Creates a new clique finder.
+     *
+     * @param graph the graph in which cliques are to be found; graph must be
+     *              simple
+     */
+    public DegeneracyCliqueFinder(BaseAbsGraph<V, E> graph) {
+        super(graph);
+    }
+
+    @Override
+    public void findCliques(CliqueVisitor<V> visitor) {
+        this.visitor = visitor;
+        recursionNodeCount = 0;
+        ordering = new DegeneracyOrdering<V>(graph);
+        potentialClique = new int[ordering.getDegeneracy() + 1];
+
+        for (int i = 0; i < ordering.size(); i++) {
+            final int vertex = ordering.vertexAt(i);
+            final int[] neighbours = ordering.neighboursOf(vertex);
+
+            //Split the neighbourhood into later (candidates) and earlier (already found) vertices
+            final int[] candidates = new int[neighbours.length];
+            final int[] alreadyFound = new int[neighbours.length];
+            int candidatesSize = 0;
+            int alreadyFoundSize = 0;
+            for (int neighbour : neighbours) {
+                if (ordering.positionOf(neighbour) > i) {
+                    candidates[candidatesSize++] = neighbour;
+                } else {
+                    alreadyFound[alreadyFoundSize++] = neighbour;
+                }
+            }
+
+            potentialClique[0] = vertex;
+            potentialCliqueSize = 1;
+            findCliques(candidates, candidatesSize, alreadyFound, alreadyFoundSize);
+        }
+        this.visitor = null;
+    }
+
+    /**
+     * Pivoting Bron-Kerbosch recursion. Both arrays are owned by the call, so they are updated in place while
+     * branching; {@code alreadyFound} must have room for {@code alreadyFoundSize + candidatesSize} elements.
+     */
+    private void findCliques(int[] candidates, int candidatesSize, int[] alreadyFound, int alreadyFoundSize) {
+        recursionNodeCount++;
+        if (potentialCliqueSize + candidatesSize < minimumCliqueSize) {
+            //No clique big enough can be found within this branch
+            return;
+        }
+        if (candidatesSize == 0) {
+            if (alreadyFoundSize == 0) {
+                visitor.visitClique(cliqueView);
+            }
+            return;
+        }
+
+        final int pivot = choosePivot(candidates, candidatesSize, alreadyFound, alreadyFoundSize);
+
+        //Only the candidates not connected to the pivot have to be branched on
+        final int[] branches = new int[candidatesSize];
+        int branchesSize = 0;
+        for (int i = 0; i < candidatesSize; i++) {
+            if (!ordering.isAdjacent(pivot, candidates[i])) {
+                branches[branchesSize++] = candidates[i];
+            }
+        }
+
+        for (int b = 0; b < branchesSize; b++) {
+            final int candidate = branches[b];
+
+            int newCandidatesSize = 0;
+            int newAlreadyFoundSize = 0;
+            final int[] newCandidates = new int[candidatesSize];
+            final int[] newAlreadyFound = new int[candidatesSize + alreadyFoundSize];
+            for (int i = 0; i < candidatesSize; i++) {
+                if (ordering.isAdjacent(candidate, candidates[i])) {
+                    newCandidates[newCandidatesSize++] = candidates[i];
+                }
+            }
+            for (int i = 0; i < alreadyFoundSize; i++) {
+                if (ordering.isAdjacent(candidate, alreadyFound[i])) {
+                    newAlreadyFound[newAlreadyFoundSize++] = alreadyFound[i];
+                }
+            }
+
+            if (potentialCliqueSize == potentialClique.length) {
+                //Only reachable on graphs which are not unidirectional
+                potentialClique = Arrays.copyOf(potentialClique, potentialCliqueSize * 2);
+            }
+            potentialClique[potentialCliqueSize++] = candidate;
+            findCliques(newCandidates, newCandidatesSize, newAlreadyFound, newAlreadyFoundSize);
+            potentialCliqueSize--;
+
+            //Move candidate from candidates to already found
+            for (int i = 0; i < candidatesSize; i++) {
+                if (candidates[i] == candidate) {
+                    candidates[i] = candidates[--candidatesSize];
+                    break;
+                }
+            }
+            alreadyFound[alreadyFoundSize++] = candidate;
+        }
+    }
+
+    /**
+     * Returns the vertex within {@code candidates} or {@code alreadyFound} which is connected to the highest number of
+     * candidates.
+     */
+    private int choosePivot(int[] candidates, int candidatesSize, int[] alreadyFound, int alreadyFoundSize) {
+        int pivot = candidates[0];
+        int maxConnections = -1;
+        for (int i = 0; i < candidatesSize; i++) {
+            final int connections = countConnections(candidates[i], candidates, candidatesSize);
+            if (connections > maxConnections) {
+                maxConnections = connections;
+                pivot = candidates[i];
+            }
+        }
+        for (int i = 0; i < alreadyFoundSize; i++) {
+            final int connections = countConnections(alreadyFound[i], candidates, candidatesSize);
+            if (connections > maxConnections) {
+                maxConnections = connections;
+                pivot = alreadyFound[i];
+            }
+        }
+        return pivot;
+    }
+
+    private int countConnections(int vertex, int[] candidates, int candidatesSize) {
+        int edgecounter = 0;
+        for (int i = 0; i < candidatesSize; i++) {
+            if (ordering.isAdjacent(vertex, candidates[i])) {
+                edgecounter++;
+            }
+        }
+        return edgecounter;
+    }
+
+}
@@ -0,0 +1,247 @@
+package graph;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Degeneracy ordering of the vertices of an undirected Graph. In a degeneracy ordering every vertex has at most
+ * {@link #getDegeneracy()} neighbours placed after it, which is what makes it the preferred outer loop for clique
+ * enumeration on sparse graphs. The ordering is computed in O(V + E) through the core decomposition algorithm described
+ * in [Batagelj V., Zaversnik M.: An O(m) Algorithm for Cores Decomposition of Networks; (2003)], which also provides
+ * the core number of every vertex.
+ * <p/>
+ * Internally each vertex is mapped to a dense int id, and its neighbourhood is stored as a sorted int array. Only
+ * reciprocal connections are taken into account: self loops, edges whose reverse edge does not exist and edges pointing
+ * to vertices that are not part of {@link BaseAbsGraph#vertexSet()} are ignored.
+ *
+ * @param <V> Type of the vertices of the graph.
+ */
+public class DegeneracyOrdering<V> {
+
+    /*  Vertex for each id  */
+    private final List<V> vertices;
+
+    /*  Id for each vertex  */
+    private final Map<V, Integer> ids;
+
+    /*  Sorted neighbour ids for each vertex id  */
+    private final int[][] neighbours;
+
+    /*  Vertex ids in degeneracy order  */
+    private final int[] order;
+
+    /*  Position of each vertex id within the order  */
+    private final int[] position;
+
+    /*  Core number of each vertex id  */
+    private final int[] coreNumbers;
+
+    private int degeneracy;
+
+    /**
+     * Computes the degeneracy ordering for the given graph. Note that the graph is expected to be undirected, this is,
+     * all its connections should be bidirectional.
+     *
+     * @param graph
+     */
+    public DegeneracyOrdering(final BaseAbsGraph<V, ?> graph) {
+        final int vertexCount = graph.vertexSet().size();
+        vertices = new ArrayList<V>(vertexCount);
+        ids = new HashMap<V, Integer>(vertexCount * 2);
+        for (V vertex : graph.vertexSet()) {
+            ids.put(vertex, vertices.size());
+            vertices.add(vertex);
+        }
+
+        neighbours = new int[vertexCount][];
+        for (int id = 0; id < vertexCount; id++) {
+            neighbours[id] = neighbourIds(id, graph);
+        }
+        removeNonReciprocalNeighbours();
+
+        order = new int[vertexCount];
+        position = new int[vertexCount];
+        coreNumbers = new int[vertexCount];
+        computeCores();
+    }
+
+    private <E> int[] neighbourIds(final int id, final BaseAbsGraph<V, E> graph) {
+        final V vertex = vertices.get(id);
+        final Collection<V> vertexNeighbours = graph.getNeighbours(vertex);
+        final int[] result = new int[vertexNeighbours.size()];
+        int size = 0;
+        for (V neighbour : vertexNeighbours) {
+            final Integer neighbourId = ids.get(neighbour);
+            if (neighbourId != null && neighbourId != id) {
+                result[size++] = neighbourId;
+            }
+        }
+        Arrays.sort(result, 0, size);
+
+        //Drop duplicates, which may appear on graphs storing several edges between the same two vertices
+        int unique = 0;
+        for (int i = 0; i < size; i++) {
+            if (unique == 0 || result[unique - 1] != result[i]) {
+                result[unique++] = result[i];
+            }
+        }
+        return unique == result.length ? result : Arrays.copyOf(result, unique);
+    }
+
+    /**
+     * Drops the neighbours which are not connected back to the vertex, so the core numbers are not corrupted by
+     * unidirectional edges.
+     */
+    private void removeNonReciprocalNeighbours() {
+        for (int id = 0; id < neighbours.length; id++) {
+            final int[] vertexNeighbours = neighbours[id];
+            int reciprocal = 0;
+            for (int neighbour : vertexNeighbours) {
+                if (Arrays.binarySearch(neighbours[neighbour], id) >= 0) {
+                    vertexNeighbours[reciprocal++] = neighbour;
+                }
+            }
+            if (reciprocal != vertexNeighbours.length) {
+                neighbours[id] = Arrays.copyOf(vertexNeighbours, reciprocal);
+            }
+        }
+    }
+
+    /**
+     * Bucket based core decomposition. Vertices are processed by increasing remaining degree, and the processing order
+     * is the degeneracy ordering.
+     */
+    private void computeCores() {
+        final int vertexCount = vertices.size();
+        int maxDegree = 0;
+        for (int id = 0; id < vertexCount; id++) {
+            coreNumbers[id] = neighbours[id].length;
+            maxDegree = Math.max(maxDegree, coreNumbers[id]);
+        }
+
+        //bin[d] holds the position within the order of the first vertex with degree d
+        final int[] bin = new int[maxDegree + 1];
+        for (int id = 0; id < vertexCount; id++) {
+            bin[coreNumbers[id]]++;
+        }
+        int start = 0;
+        for (int degree = 0; degree <= maxDegree; degree++) {
+            final int count = bin[degree];
+            bin[degree] = start;
+            start += count;
+        }
+        for (int id = 0; id < vertexCount; id++) {
+            position[id] = bin[coreNumbers[id]];
+            order[position[id]] = id;
+            bin[coreNumbers[id]]++;
+        }
+        for (int degree = maxDegree; degree > 0; degree--) {
+            bin[degree] = bin[degree - 1];
+        }
+        bin[0] = 0;
+
+        for (int i = 0; i < vertexCount; i++) {
+            final int vertex = order[i];
+            degeneracy = Math.max(degeneracy, coreNumbers[vertex]);
+            for (int neighbour : neighbours[vertex]) {
+                if (coreNumbers[neighbour] > coreNumbers[vertex]) {
+                    //Move the neighbour to the beginning of its bucket, and shrink its degree
+                    final int neighbourDegree = coreNumbers[neighbour];
+                    final int neighbourPosition = position[neighbour];
+                    final int firstPosition = bin[neighbourDegree];
+                    final int first = order[firstPosition];
+                    if (neighbour != first) {
+                        position[neighbour] = firstPosition;
+                        order[neighbourPosition] = first;
+                        position[first] = neighbourPosition;
+                        order[firstPosition] = neighbour;
+                    }
+                    bin[neighbourDegree]++;
+                    coreNumbers[neighbour]--;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the vertices of the graph in degeneracy order.
+     */
+    public List<V> getOrdering() {
+        return new AbstractList<V>() {
+            @Override
+            public V get(int index) {
+                return vertices.get(order[index]);
+            }
+
+            @Override
+            public int size() {
+                return order.length;
+            }
+        };
+    }
+
+    /**
+     * Returns the degeneracy of the graph, this is, the highest core number of any of its vertices.
+     */
+    public int getDegeneracy() {
+        return degeneracy;
+    }
+
+    /**
+     * Returns the core number of the given vertex, or -1 if the vertex is not part of the graph. The core number of a
+     * vertex is the highest k for which the vertex belongs to the k-core of the graph.
+     *
+     * @param vertex
+     */
+    public int getCoreNumber(final V vertex) {
+        final Integer id = ids.get(vertex);
+        return id == null ? -1 : coreNumbers[id];
+    }
+
+    /**
+     * Returns the number of vertices of the ordered graph.
+     */
+    int size() {
+        return order.length;
+    }
+
+    /**
+     * Returns the vertex id placed at the given position of the order.
+     */
+    int vertexAt(final int index) {
+        return order[index];
+    }
+
+    /**
+     * Returns the position of the given vertex id within the order.
+     */
+    int positionOf(final int id) {
+        return position[id];
+    }
+
+    /**
+     * Returns the vertex for the given id.
+     */
+    V vertexOf(final int id) {
+        return vertices.get(id);
+    }
+
+    /**
+     * Returns the sorted neighbour ids for the given vertex id. The returned array must not be modified.
+     */
+    int[] neighboursOf(final int id) {
+        return neighbours[id];
+    }
+
+    /**
+     * Returns if the two given vertex ids are connected.
+     */
+    boolean isAdjacent(final int sourceId, final int targetId) {
+        return Arrays.binarySearch(neighbours[sourceId], targetId) >= 0;
+    }
+}
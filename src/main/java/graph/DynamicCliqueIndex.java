@@ -0,0 +1,252 @@
+package graph;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Index of the maximal cliques of an undirected graph, which is updated locally as connections are added or removed
+ * instead of searching the whole graph again.
+ * <p/>
+ * When the connection u-v is added, the new maximal cliques are exactly the ones containing both u and v, which are
+ * searched within the common neighbours of u and v. The only cliques which stop being maximal are {@code K - u} and
+ * {@code K - v} for each of those new cliques K.
+ * <p/>
+ * When the connection u-v is removed, the maximal cliques containing both u and v are dropped. The only cliques which
+ * may become maximal are {@code C - u} and {@code C - v} for each dropped clique C, and each of them is kept only if no
+ * other vertex is connected to all of its vertices.
+ * <p/>
+ * Therefore each update only looks at the neighbourhood of the changed connection. Only the cliques with at least the
+ * minimum clique size are kept.
+ *
+ * @param <V> Type for the Vertex of the graph.
+ */
+public class DynamicCliqueIndex<V> {
+
+    private final int minimumCliqueSize;
+
+    /*  Undirected graph, each connection is stored in both directions  */
+    private final NoEdgeInfoGraph<V> graph = new NoEdgeInfoGraph<V>();
+
+    private final CliqueRegistry<V> cliques = new CliqueRegistry<V>();
+
+    /**
+     * Creates an empty index.
+     *
+     * @param minimumCliqueSize the minimum number of vertices a clique must have for being indexed. Must be at least 2
+     */
+    public DynamicCliqueIndex(int minimumCliqueSize) {
+        if (minimumCliqueSize < 2) {
+            throw new IllegalArgumentException("The minimum clique size must be at least 2");
+        }
+        this.minimumCliqueSize = minimumCliqueSize;
+    }
+
+    /**
+     * Creates an index holding the bidirectional connections of the given graph. Its maximal cliques are found through
+     * a single {@link DegeneracyCliqueFinder} search.
+     *
+     * @param source            the graph to index. It is not modified, and later changes to it are not tracked
+     * @param minimumCliqueSize the minimum number of vertices a clique must have for being indexed. Must be at least 2
+     */
+    public DynamicCliqueIndex(BaseAbsGraph<V, ?> source, int minimumCliqueSize) {
+        this(minimumCliqueSize);
+        for (V vertex : source.vertexSet()) {
+            for (V neighbour : source.getNeighbours(vertex)) {
+                if (!neighbour.equals(vertex) && source.containsEdge(neighbour, vertex)) {
+                    graph.addConnection(vertex, neighbour);
+                }
+            }
+        }
+
+        final DegeneracyCliqueFinder<V, V> finder = new DegeneracyCliqueFinder<V, V>(graph);
+        finder.setMinimumCliqueSize(minimumCliqueSize);
+        finder.findCliques(new CliqueVisitor<V>() {
+            @Override
+            public void visitClique(List<V> clique) {
+                cliques.add(new HashSet<V>(clique));
+            }
+        });
+    }
+
+    /**
+     * Adds the undirected connection between the given vertices, updating the cliques around it. Connections of a
+     * vertex with itself are ignored.
+     *
+     * @param source
+     * @param target
+     * @return if the connection did not exist before
+     */
+    public boolean addConnection(final V source, final V target) {
+        if (source == null || target == null) {
+            throw new IllegalArgumentException("None of the provided parameter can be null");
+        }
+        if (source.equals(target) || graph.containsEdge(source, target)) {
+            return false;
+        }
+        graph.addConnection(source, target);
+        graph.addConnection(target, source);
+
+        //All the maximal cliques containing both vertices are new
+        final LocalCliqueSearch<V> search = newSearch();
+        final Set<V> candidates = LocalCliqueSearch.intersection(search.neighboursOf(source), search.neighboursOf(target));
+        final List<V> potentialClique = new ArrayList<V>(2);
+        potentialClique.add(source);
+        potentialClique.add(target);
+        search.search(potentialClique, candidates, new HashSet<V>(), new CliqueVisitor<V>() {
+            @Override
+            public void visitClique(List<V> clique) {
+                final Set<V> newClique = new HashSet<V>(clique);
+                cliques.add(newClique);
+
+                //The cliques extended by the new connection are not maximal anymore
+                cliques.remove(without(newClique, source));
+                cliques.remove(without(newClique, target));
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Removes the undirected connection between the given vertices, updating the cliques around it.
+     *
+     * @param source
+     * @param target
+     * @return if the connection existed
+     */
+    public boolean removeConnection(final V source, final V target) {
+        if (!graph.containsEdge(source, target)) {
+            return false;
+        }
+        graph.removeConnection(source, target);
+        graph.removeConnection(target, source);
+
+        //The cliques containing both vertices are broken, only their parts without one of them may remain maximal
+        final List<Set<V>> broken = new ArrayList<Set<V>>();
+        for (Set<V> clique : cliques.cliquesOf(source)) {
+            if (clique.contains(target)) {
+                broken.add(clique);
+            }
+        }
+        for (Set<V> clique : broken) {
+            cliques.remove(clique);
+        }
+        for (Set<V> clique : broken) {
+            addIfMaximal(without(clique, source));
+            addIfMaximal(without(clique, target));
+        }
+
+        removeIfIsolated(source);
+        removeIfIsolated(target);
+        return true;
+    }
+
+    /**
+     * Returns if the index has a connection between the given vertices.
+     *
+     * @param source
+     * @param target
+     */
+    public boolean containsConnection(final V source, final V target) {
+        return graph.containsEdge(source, target);
+    }
+
+    /**
+     * Returns a read-only view of all the indexed maximal cliques.
+     */
+    public Collection<Set<V>> getCliques() {
+        return cliques.all();
+    }
+
+    /**
+     * Returns a read-only view of the indexed maximal cliques the given vertex is part of.
+     *
+     * @param vertex
+     */
+    public Collection<Set<V>> getCliquesContaining(final V vertex) {
+        return cliques.cliquesOf(vertex);
+    }
+
+    /**
+     * Returns if the given set of vertices is an indexed maximal clique.
+     *
+     * @param clique
+     */
+    public boolean isMaximalClique(final Set<V> clique) {
+        return cliques.contains(clique);
+    }
+
+    /**
+     * Returns the number of indexed maximal cliques.
+     */
+    public int getCliqueCount() {
+        return cliques.size();
+    }
+
+    /**
+     * Returns the minimum number of vertices a clique must have for being indexed.
+     */
+    public int getMinimumCliqueSize() {
+        return minimumCliqueSize;
+    }
+
+    private LocalCliqueSearch<V> newSearch() {
+        return new LocalCliqueSearch<V>(minimumCliqueSize) {
+            @Override
+            protected Set<V> computeNeighbours(V vertex) {
+                final Set<V> neighbours = new HashSet<V>(graph.getNeighbours(vertex));
+                neighbours.remove(vertex);
+                return neighbours;
+            }
+        };
+    }
+
+    private void addIfMaximal(final Set<V> clique) {
+        if (clique.size() >= minimumCliqueSize && isMaximal(clique)) {
+            cliques.add(clique);
+        }
+    }
+
+    /**
+     * Returns if no vertex outside the given clique is connected to all of its vertices.
+     */
+    private boolean isMaximal(final Set<V> clique) {
+        //Any vertex extending the clique is a neighbour of its vertex with the lowest degree
+        V lowest = null;
+        for (V vertex : clique) {
+            if (lowest == null || graph.getEdges(vertex).size() < graph.getEdges(lowest).size()) {
+                lowest = vertex;
+            }
+        }
+        for (V neighbour : graph.getNeighbours(lowest)) {
+            if (!clique.contains(neighbour) && isConnectedToAll(neighbour, clique)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isConnectedToAll(final V vertex, final Set<V> clique) {
+        for (V member : clique) {
+            if (!graph.containsEdge(vertex, member)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void removeIfIsolated(final V vertex) {
+        final BaseAbsGraph.EdgeContainer<V, V> edges = graph.getEdges(vertex);
+        if (edges != null && edges.isEmpty()) {
+            graph.removeVertex(vertex);
+        }
+    }
+
+    private static <V> Set<V> without(final Set<V> clique, final V vertex) {
+        final Set<V> result = new HashSet<V>(clique);
+        result.remove(vertex);
+        return result;
+    }
+}
@@ -0,0 +1,519 @@
+package graph;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * {@link graph.BaseAbsGraph.EdgeContainer} for graphs whose vertices are non negative int ids and whose edges carry no
+ * information, as in {@link NoEdgeInfoGraph}. The target ids are stored unboxed, in one of three representations which
+ * suit different degrees:
+ * <ul>
+ * <li>{@link Sorted}: a sorted {@code int[]}, taking 4 bytes per edge. Lookups are binary searches and insertions shift
+ * the array, so it is only meant for low degree vertices.</li>
+ * <li>{@link Hashed}: an open addressing int set with linear probing, kept between a quarter and half full so it takes
+ * between 8 and 16 bytes per edge, with constant time lookups and insertions.</li>
+ * <li>{@link Bits}: a bitset indexed by id, taking one bit per vertex of the graph whatever the degree, which makes it
+ * the smallest one for hubs connected to a good part of the graph.</li>
+ * </ul>
+ * The object methods box and unbox the ids, so the primitive ones ({@link #add(int)}, {@link #contains(int)},
+ * {@link #remove(int)}) should be preferred. {@link IntGraph} switches each vertex between representations as its
+ * degree grows.
+ */
+abstract class IntEdgeContainer implements BaseAbsGraph.EdgeContainer<Integer, Integer> {
+
+    /**
+     * Adds the given target id. Returns false if it was already part of the container.
+     */
+    abstract boolean add(int target);
+
+    /**
+     * Returns if the container holds the given target id.
+     */
+    abstract boolean contains(int target);
+
+    /**
+     * Removes the given target id. Returns false if it was not part of the container.
+     */
+    abstract boolean remove(int target);
+
+    /**
+     * Returns an iterator over the target ids. Its {@code remove()} method is supported.
+     */
+    abstract IntIterator intIterator();
+
+    /**
+     * Returns the number of bytes the container takes, not counting the object headers.
+     */
+    abstract long memoryUsage();
+
+    /**
+     * Adds all the target ids of this container to the given one.
+     */
+    void copyTo(IntEdgeContainer other) {
+        final IntIterator targets = intIterator();
+        while (targets.hasNext()) {
+            other.add(targets.next());
+        }
+    }
+
+    @Override
+    public void addEdge(Integer targetVertex, Integer edge) {
+        if (edge < 0) {
+            throw new IllegalArgumentException("Vertex ids cannot be negative");
+        }
+        add(edge);
+    }
+
+    @Override
+    public boolean containsEdge(Integer vertex) {
+        return vertex != null && vertex >= 0 && contains(vertex);
+    }
+
+    @Override
+    public Integer getVertexForEdge(Integer edge) {
+        return containsEdge(edge) ? edge : null;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public Set<Integer> getEdges() {
+        return new AbstractSet<Integer>() {
+            @Override
+            public Iterator<Integer> iterator() {
+                return IntEdgeContainer.this.iterator();
+            }
+
+            @Override
+            public int size() {
+                return IntEdgeContainer.this.size();
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return o instanceof Integer && containsEdge((Integer) o);
+            }
+
+            @Override
+            public boolean remove(Object o) {
+                return o instanceof Integer && (Integer) o >= 0 && IntEdgeContainer.this.remove((Integer) o);
+            }
+        };
+    }
+
+    @Override
+    public void remove(Collection<Integer> edgesToRemove) {
+        for (Integer edge : edgesToRemove) {
+            if (edge != null && edge >= 0) {
+                remove(edge);
+            }
+        }
+    }
+
+    @Override
+    public Iterator<Integer> iterator() {
+        final IntIterator targets = intIterator();
+        return new Iterator<Integer>() {
+            @Override
+            public boolean hasNext() {
+                return targets.hasNext();
+            }
+
+            @Override
+            public Integer next() {
+                return targets.next();
+            }
+
+            @Override
+            public void remove() {
+                targets.remove();
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("EdgeContainer{mEdges=[");
+        final IntIterator targets = intIterator();
+        while (targets.hasNext()) {
+            sb.append(targets.next());
+            if (targets.hasNext()) {
+                sb.append(", ");
+            }
+        }
+        return sb.append("]}").toString();
+    }
+
+    /**
+     * Iterator over primitive int ids.
+     */
+    interface IntIterator {
+
+        boolean hasNext();
+
+        int next();
+
+        /**
+         * Removes the last id returned by {@link #next()}.
+         */
+        void remove();
+    }
+
+    /**
+     * Container storing the target ids in a sorted {@code int[]}.
+     */
+    static final class Sorted extends IntEdgeContainer {
+
+        private int[] targets = new int[4];
+        private int size;
+
+        @Override
+        boolean add(int target) {
+            final int index = Arrays.binarySearch(targets, 0, size, target);
+            if (index >= 0) {
+                return false;
+            }
+            final int insertion = -index - 1;
+            if (size == targets.length) {
+                targets = Arrays.copyOf(targets, size * 2);
+            }
+            System.arraycopy(targets, insertion, targets, insertion + 1, size - insertion);
+            targets[insertion] = target;
+            size++;
+            return true;
+        }
+
+        @Override
+        boolean contains(int target) {
+            return Arrays.binarySearch(targets, 0, size, target) >= 0;
+        }
+
+        @Override
+        boolean remove(int target) {
+            final int index = Arrays.binarySearch(targets, 0, size, target);
+            if (index < 0) {
+                return false;
+            }
+            removeAt(index);
+            return true;
+        }
+
+        private void removeAt(int index) {
+            System.arraycopy(targets, index + 1, targets, index, size - index - 1);
+            size--;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        long memoryUsage() {
+            return 4L * targets.length;
+        }
+
+        @Override
+        IntIterator intIterator() {
+            return new IntIterator() {
+
+                private int index;
+                private boolean canRemove;
+
+                @Override
+                public boolean hasNext() {
+                    return index < size;
+                }
+
+                @Override
+                public int next() {
+                    if (index >= size) {
+                        throw new NoSuchElementException();
+                    }
+                    canRemove = true;
+                    return targets[index++];
+                }
+
+                @Override
+                public void remove() {
+                    if (!canRemove) {
+                        throw new IllegalStateException();
+                    }
+                    canRemove = false;
+                    removeAt(--index);
+                }
+            };
+        }
+    }
+
+    /**
+     * Container storing the target ids in an open addressing hash table with linear probing. Removed ids leave a
+     * tombstone behind, which is dropped when the table is rebuilt.
+     */
+    static final class Hashed extends IntEdgeContainer {
+
+        private static final int EMPTY = -1;
+        private static final int REMOVED = -2;
+
+        private int[] slots;
+
+        /*  Number of ids, and number of slots which are not empty (ids plus tombstones)  */
+        private int size;
+        private int used;
+
+        Hashed(int expectedSize) {
+            int capacity = 8;
+            while (capacity / 2 < expectedSize) {
+                capacity <<= 1;
+            }
+            slots = newSlots(capacity);
+        }
+
+        @Override
+        boolean add(int target) {
+            if (contains(target)) {
+                return false;
+            }
+            final int mask = slots.length - 1;
+            int slot = slotOf(target, mask);
+            while (slots[slot] >= 0) {
+                slot = (slot + 1) & mask;
+            }
+            if (slots[slot] == EMPTY) {
+                used++;
+            }
+            slots[slot] = target;
+            size++;
+            if (used > slots.length / 2) {
+                //Double the table unless most of the used slots are tombstones, which a rebuild of the same size drops
+                rebuild(size > slots.length / 4 ? slots.length * 2 : slots.length);
+            }
+            return true;
+        }
+
+        @Override
+        boolean contains(int target) {
+            return find(target) >= 0;
+        }
+
+        @Override
+        boolean remove(int target) {
+            final int slot = find(target);
+            if (slot < 0) {
+                return false;
+            }
+            slots[slot] = REMOVED;
+            size--;
+            return true;
+        }
+
+        /**
+         * Returns the slot holding the given id, or -1 if it is not part of the table.
+         */
+        private int find(int target) {
+            final int mask = slots.length - 1;
+            int slot = slotOf(target, mask);
+            int current;
+            while ((current = slots[slot]) != EMPTY) {
+                if (current == target) {
+                    return slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        private void rebuild(int capacity) {
+            final int[] oldSlots = slots;
+            slots = newSlots(capacity);
+            size = 0;
+            used = 0;
+            final int mask = capacity - 1;
+            for (int target : oldSlots) {
+                if (target >= 0) {
+                    int slot = slotOf(target, mask);
+                    while (slots[slot] != EMPTY) {
+                        slot = (slot + 1) & mask;
+                    }
+                    slots[slot] = target;
+                    size++;
+                    used++;
+                }
+            }
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        long memoryUsage() {
+            return 4L * slots.length;
+        }
+
+        @Override
+        IntIterator intIterator() {
+            return new IntIterator() {
+
+                private final int[] iterated = slots;
+                private int next = advance(0);
+                private int last = -1;
+
+                private int advance(int slot) {
+                    while (slot < iterated.length && iterated[slot] < 0) {
+                        slot++;
+                    }
+                    return slot;
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return next < iterated.length;
+                }
+
+                @Override
+                public int next() {
+                    if (iterated != slots) {
+                        throw new ConcurrentModificationException();
+                    }
+                    if (next >= iterated.length) {
+                        throw new NoSuchElementException();
+                    }
+                    last = next;
+                    next = advance(next + 1);
+                    return iterated[last];
+                }
+
+                @Override
+                public void remove() {
+                    if (last < 0 || iterated[last] < 0) {
+                        throw new IllegalStateException();
+                    }
+                    //Leaving a tombstone keeps all the other ids in place
+                    iterated[last] = REMOVED;
+                    size--;
+                }
+            };
+        }
+
+        private static int[] newSlots(int capacity) {
+            final int[] slots = new int[capacity];
+            Arrays.fill(slots, EMPTY);
+            return slots;
+        }
+
+        private static int slotOf(int target, int mask) {
+            final int hash = target * 0x9E3779B9;
+            return (hash ^ (hash >>> 16)) & mask;
+        }
+    }
+
+    /**
+     * Container storing the target ids as the set bits of a bitset, which grows to fit the highest id.
+     */
+    static final class Bits extends IntEdgeContainer {
+
+        private long[] words;
+        private int size;
+
+        Bits(int highestTarget) {
+            words = new long[(highestTarget >>> 6) + 1];
+        }
+
+        @Override
+        boolean add(int target) {
+            final int word = target >>> 6;
+            if (word >= words.length) {
+                words = Arrays.copyOf(words, Math.max(word + 1, words.length * 2));
+            }
+            final long bit = 1L << target;
+            if ((words[word] & bit) != 0) {
+                return false;
+            }
+            words[word] |= bit;
+            size++;
+            return true;
+        }
+
+        @Override
+        boolean contains(int target) {
+            final int word = target >>> 6;
+            return word < words.length && (words[word] & (1L << target)) != 0;
+        }
+
+        @Override
+        boolean remove(int target) {
+            if (!contains(target)) {
+                return false;
+            }
+            words[target >>> 6] &= ~(1L << target);
+            size--;
+            return true;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        long memoryUsage() {
+            return 8L * words.length;
+        }
+
+        @Override
+        IntIterator intIterator() {
+            return new IntIterator() {
+
+                private int next = nextSetBit(0);
+                private int last = -1;
+
+                private int nextSetBit(int from) {
+                    int word = from >>> 6;
+                    if (word >= words.length) {
+                        return -1;
+                    }
+                    long bits = words[word] & (-1L << from);
+                    while (bits == 0) {
+                        if (++word >= words.length) {
+                            return -1;
+                        }
+                        bits = words[word];
+                    }
+                    return (word << 6) + Long.numberOfTrailingZeros(bits);
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return next >= 0;
+                }
+
+                @Override
+                public int next() {
+                    if (next < 0) {
+                        throw new NoSuchElementException();
+                    }
+                    last = next;
+                    next = nextSetBit(next + 1);
+                    return last;
+                }
+
+                @Override
+                public void remove() {
+                    if (last < 0 || !Bits.this.remove(last)) {
+                        throw new IllegalStateException();
+                    }
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package graph;
+
+/**
+ * {@link NoEdgeInfoGraph} whose vertices are non negative int ids, storing the connections of each vertex unboxed in an
+ * {@link IntEdgeContainer}. The representation of each vertex is chosen by its degree as connections are added:
+ * <ul>
+ * <li>Vertices start with a sorted {@code int[]}, which takes 4 bytes per edge.</li>
+ * <li>Once they have more than {@link #SORTED_MAX_DEGREE} connections they switch to an open addressing int set, so
+ * insertions and lookups stay constant time.</li>
+ * <li>Once a bitset over all the ids seen so far becomes smaller than their int set, they switch to a bitset.</li>
+ * </ul>
+ * Compared to the {@code HashSet<Integer>} of {@link NoEdgeInfoGraph}, which takes around 48 bytes per edge, each edge
+ * takes between a few bits and 16 bytes. Vertices are not switched back when connections are removed.
+ */
+public class IntGraph extends NoEdgeInfoGraph<Integer> {
+
+    /*  Highest degree of a vertex stored in a sorted array  */
+    static final int SORTED_MAX_DEGREE = 16;
+
+    /*  Highest vertex id seen so far, which sets the size of the bitsets  */
+    private int highestVertex = -1;
+
+    /**
+     * Constructs a new empty graph.
+     */
+    public IntGraph() {
+        super();
+        super.setEdgeContainerFactory(new EdgeContainerFactory<Integer, Integer>() {
+            @Override
+            public EdgeContainer<Integer, Integer> newEdgeContainer() {
+                return new IntEdgeContainer.Sorted();
+            }
+        });
+    }
+
+    @Override
+    public void addVertex(Integer newVertex) {
+        checkVertex(newVertex);
+        super.addVertex(newVertex);
+    }
+
+    @Override
+    public void addConnection(Integer sourceVertex, Integer targetEdge, Integer edge) {
+        checkVertex(sourceVertex);
+        checkVertex(targetEdge);
+        super.addConnection(sourceVertex, targetEdge, edge);
+        highestVertex = Math.max(highestVertex, Math.max(sourceVertex, targetEdge));
+
+        final IntEdgeContainer edges = (IntEdgeContainer) getEdges(sourceVertex);
+        final IntEdgeContainer better = switchContainer(edges);
+        if (better != edges) {
+            edges.copyTo(better);
+            setEdges(sourceVertex, better);
+        }
+    }
+
+    @Override
+    public void addConnection(Integer sourceVertex, Integer targetEdge) {
+        addConnection(sourceVertex, targetEdge, targetEdge);
+    }
+
+    /**
+     * Adds a new connection between the given two vertex ids.
+     *
+     * @param sourceVertex
+     * @param targetVertex
+     */
+    public void addConnection(int sourceVertex, int targetVertex) {
+        //Boxed once, as the target vertex and the edge must be the same instance
+        addConnection(Integer.valueOf(sourceVertex), Integer.valueOf(targetVertex));
+    }
+
+    /**
+     * Returns if the graph has a connection between the two given vertex ids. The target id is looked up unboxed, but
+     * the source id is boxed for finding its container, which only allocates for ids above 127.
+     *
+     * @param sourceVertex
+     * @param targetVertex
+     */
+    public boolean containsEdge(int sourceVertex, int targetVertex) {
+        if (targetVertex < 0) {
+            return false;
+        }
+        final IntEdgeContainer edges = (IntEdgeContainer) getEdges(sourceVertex);
+        return edges != null && edges.contains(targetVertex);
+    }
+
+    /**
+     * Returns the number of connections of the given vertex id, or 0 if it is not part of the graph.
+     *
+     * @param vertex
+     */
+    public int degree(int vertex) {
+        final EdgeContainer<Integer, Integer> edges = getEdges(vertex);
+        return edges == null ? 0 : edges.size();
+    }
+
+    /**
+     * Returns the number of bytes taken by the containers of all the vertices, not counting the object headers nor the
+     * map from vertex to container.
+     */
+    public long edgeMemoryUsage() {
+        long usage = 0;
+        for (Integer vertex : vertexSet()) {
+            usage += ((IntEdgeContainer) getEdges(vertex)).memoryUsage();
+        }
+        return usage;
+    }
+
+    /**
+     * Returns the container a vertex with the given one should switch to, or the same container if it suits the
+     * vertex degree.
+     */
+    private IntEdgeContainer switchContainer(final IntEdgeContainer edges) {
+        final int degree = edges.size();
+        if (edges instanceof IntEdgeContainer.Sorted) {
+            return degree > SORTED_MAX_DEGREE ? new IntEdgeContainer.Hashed(degree) : edges;
+        }
+        if (edges instanceof IntEdgeContainer.Hashed) {
+            //A bitset takes a bit per id, an int set between 64 and 128 bits per connection
+            final long bitsetBytes = (highestVertex >>> 3) + 8;
+            return bitsetBytes < edges.memoryUsage() ? new IntEdgeContainer.Bits(highestVertex) : edges;
+        }
+        return edges;
+    }
+
+    private static void checkVertex(final Integer vertex) {
+        if (vertex != null && vertex < 0) {
+            throw new IllegalArgumentException("Vertex ids cannot be negative");
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package graph;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Pivoting Bron-Kerbosch search started from an arbitrary potential clique, candidates and already found nodes, used
+ * for recomputing only the maximal cliques around some vertices instead of searching the whole graph.
+ * <p/>
+ * Subclasses define the adjacency through {@link #computeNeighbours(Object)}. The neighbourhood of each vertex is only
+ * computed once per instance, so an instance should not outlive the graph state it was created for.
+ *
+ * @param <V> Type for the Vertex of the graph.
+ */
+abstract class LocalCliqueSearch<V> {
+
+    private final int minimumCliqueSize;
+
+    /*  Neighbourhoods computed so far  */
+    private final Map<V, Set<V>> neighbours = new HashMap<V, Set<V>>();
+
+    LocalCliqueSearch(int minimumCliqueSize) {
+        this.minimumCliqueSize = minimumCliqueSize;
+    }
+
+    /**
+     * Returns the vertices connected to the given one, without the vertex itself.
+     */
+    protected abstract Set<V> computeNeighbours(V vertex);
+
+    /**
+     * Returns the vertices connected to the given one, without the vertex itself. The returned set must not be modified.
+     */
+    Set<V> neighboursOf(V vertex) {
+        Set<V> vertexNeighbours = neighbours.get(vertex);
+        if (vertexNeighbours == null) {
+            vertexNeighbours = computeNeighbours(vertex);
+            neighbours.put(vertex, vertexNeighbours);
+        }
+        return vertexNeighbours;
+    }
+
+    /**
+     * Calls the visitor for every maximal clique with at least the minimum number of vertices which contains all the
+     * vertices of {@code potentialClique}, some of {@code candidates} and none of {@code alreadyFound}. The candidates
+     * and already found nodes must be connected to all the vertices of the potential clique; both sets are modified
+     * while searching.
+     *
+     * @param potentialClique vertices every reported clique contains
+     * @param candidates      vertices which may be added to the potential clique
+     * @param alreadyFound    vertices which must not be added to the potential clique
+     * @param visitor         the visitor to notify for every maximal clique
+     */
+    void search(Collection<V> potentialClique, Set<V> candidates, Set<V> alreadyFound, CliqueVisitor<V> visitor) {
+        final List<V> clique = new ArrayList<V>(potentialClique);
+        search(clique, Collections.unmodifiableList(clique), candidates, alreadyFound, visitor);
+    }
+
+    private void search(List<V> clique, List<V> cliqueView, Set<V> candidates, Set<V> alreadyFound,
+                        CliqueVisitor<V> visitor) {
+        if (clique.size() + candidates.size() < minimumCliqueSize) {
+            //No clique big enough can be found within this branch
+            return;
+        }
+        if (candidates.isEmpty()) {
+            if (alreadyFound.isEmpty()) {
+                visitor.visitClique(cliqueView);
+            }
+            return;
+        }
+
+        //Only the candidates not connected to the pivot have to be branched on
+        final Set<V> pivotNeighbours = neighboursOf(choosePivot(candidates, alreadyFound));
+        final List<V> branches = new ArrayList<V>(candidates.size());
+        for (V candidate : candidates) {
+            if (!pivotNeighbours.contains(candidate)) {
+                branches.add(candidate);
+            }
+        }
+
+        for (V candidate : branches) {
+            final Set<V> candidateNeighbours = neighboursOf(candidate);
+            final Set<V> newCandidates = intersection(candidates, candidateNeighbours);
+            final Set<V> newAlreadyFound = intersection(alreadyFound, candidateNeighbours);
+
+            clique.add(candidate);
+            search(clique, cliqueView, newCandidates, newAlreadyFound, visitor);
+            clique.remove(clique.size() - 1);
+
+            //Move candidate from candidates to already found
+            candidates.remove(candidate);
+            alreadyFound.add(candidate);
+        }
+    }
+
+    /**
+     * Returns the vertex within {@code candidates} or {@code alreadyFound} which is connected to the highest number of
+     * candidates.
+     */
+    private V choosePivot(Set<V> candidates, Set<V> alreadyFound) {
+        V pivot = null;
+        int maxConnections = -1;
+        for (V vertex : candidates) {
+            final int connections = intersectionSize(candidates, neighboursOf(vertex));
+            if (connections > maxConnections) {
+                maxConnections = connections;
+                pivot = vertex;
+            }
+        }
+        for (V vertex : alreadyFound) {
+            final int connections = intersectionSize(candidates, neighboursOf(vertex));
+            if (connections > maxConnections) {
+                maxConnections = connections;
+                pivot = vertex;
+            }
+        }
+        return pivot;
+    }
+
+    /**
+     * Returns a new set with the elements of {@code set} contained in {@code other}.
+     */
+    static <V> Set<V> intersection(Set<V> set, Set<V> other) {
+        final Set<V> smaller = set.size() <= other.size() ? set : other;
+        final Set<V> bigger = smaller == set ? other : set;
+        final Set<V> result = new HashSet<V>();
+        for (V vertex : smaller) {
+            if (bigger.contains(vertex)) {
+                result.add(vertex);
+            }
+        }
+        return result;
+    }
+
+    private static <V> int intersectionSize(Set<V> set, Set<V> other) {
+        final Set<V> smaller = set.size() <= other.size() ? set : other;
+        final Set<V> bigger = smaller == set ? other : set;
+        int size = 0;
+        for (V vertex : smaller) {
+            if (bigger.contains(vertex)) {
+                size++;
+            }
+        }
+        return size;
+    }
+}
@@ -0,0 +1,146 @@
+package graph;
+
+/**
+ * Set of primitive longs stored in an open addressing hash table with linear probing. Neither the keys nor the table
+ * slots are boxed, so adding or looking up a key never allocates, except when the table grows.
+ * <p/>
+ * It is meant for packed pairs of int ids (see {@link #pair(int, int)}), where checking if a pair was seen takes a
+ * single probe in the common case.
+ */
+public class LongHashSet {
+
+    /*  Value marking an empty slot. The key with this value is tracked apart  */
+    private static final long EMPTY = 0L;
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private long[] keys;
+
+    /*  Number of keys stored in the table, not counting the EMPTY key  */
+    private int tableSize;
+
+    private boolean containsEmptyKey;
+
+    /*  Number of keys the table may hold before growing, keeping the load factor under 0.5  */
+    private int threshold;
+
+    /**
+     * Creates an empty set.
+     */
+    public LongHashSet() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty set which can hold the given number of keys without growing.
+     *
+     * @param expectedSize
+     */
+    public LongHashSet(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("The expected size cannot be negative");
+        }
+        int capacity = DEFAULT_CAPACITY;
+        while (capacity / 2 < expectedSize) {
+            capacity <<= 1;
+        }
+        keys = new long[capacity];
+        threshold = capacity / 2;
+    }
+
+    /**
+     * Returns the key packing the given pair of ints, the first one in the high 32 bits and the second one in the low
+     * 32 bits.
+     *
+     * @param first
+     * @param second
+     */
+    public static long pair(final int first, final int second) {
+        return ((long) first << 32) | (second & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Adds the given key to the set.
+     *
+     * @param key
+     * @return if the key was not part of the set
+     */
+    public boolean add(final long key) {
+        if (key == EMPTY) {
+            final boolean added = !containsEmptyKey;
+            containsEmptyKey = true;
+            return added;
+        }
+        final int mask = keys.length - 1;
+        int slot = slotOf(key, mask);
+        long current;
+        while ((current = keys[slot]) != EMPTY) {
+            if (current == key) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        if (++tableSize > threshold) {
+            grow();
+        }
+        return true;
+    }
+
+    /**
+     * Returns if the given key is part of the set.
+     *
+     * @param key
+     */
+    public boolean contains(final long key) {
+        if (key == EMPTY) {
+            return containsEmptyKey;
+        }
+        final int mask = keys.length - 1;
+        int slot = slotOf(key, mask);
+        long current;
+        while ((current = keys[slot]) != EMPTY) {
+            if (current == key) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of keys of the set.
+     */
+    public int size() {
+        return tableSize + (containsEmptyKey ? 1 : 0);
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Doubles the capacity of the table.
+     */
+    private void grow() {
+        final long[] oldKeys = keys;
+        keys = new long[oldKeys.length * 2];
+        threshold = keys.length / 2;
+        final int mask = keys.length - 1;
+        for (long key : oldKeys) {
+            if (key != EMPTY) {
+                int slot = slotOf(key, mask);
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+            }
+        }
+    }
+
+    private static int slotOf(final long key, final int mask) {
+        //Fibonacci hashing, so packed pairs differing only in their high or low half spread over the whole table
+        final long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,73 @@
+package graph;
+
+/**
+ * Builds the graph of the bidirectional connections between int ids (e.g. the user ids given by
+ * {@code FaceBookDataProvider}) while the directed connections are read, so no directed graph has to be built and
+ * filtered through {@link NoEdgeInfoGraph#removeNonBidirectionalConnections()} afterwards.
+ * <p/>
+ * Every directed connection seen is kept as a packed pair in a {@link LongHashSet}. When the connection A->B arrives and
+ * B->A was already seen, the connection between A and B is added to the graph in both directions. The check for the
+ * reverse connection is a single probe into the set, without boxing nor allocating anything. The connections of the
+ * graph are stored unboxed as well, see {@link IntGraph}.
+ */
+public class MutualGraphBuilder {
+
+    /*  Directed connections seen so far  */
+    private final LongHashSet connections;
+
+    private final IntGraph graph = new IntGraph();
+
+    /**
+     * Creates an empty builder.
+     */
+    public MutualGraphBuilder() {
+        connections = new LongHashSet();
+    }
+
+    /**
+     * Creates an empty builder which can hold the given number of different directed connections without growing.
+     *
+     * @param expectedConnections
+     */
+    public MutualGraphBuilder(int expectedConnections) {
+        connections = new LongHashSet(expectedConnections);
+    }
+
+    /**
+     * Adds the directed connection from {@code source} to {@code target}. Connections of a vertex with itself are
+     * ignored, as they cannot be part of any clique.
+     *
+     * @param source the id of the source vertex. Cannot be negative
+     * @param target the id of the target vertex. Cannot be negative
+     * @return if the connection made a new bidirectional connection
+     */
+    public boolean addConnection(final int source, final int target) {
+        if (source < 0 || target < 0) {
+            throw new IllegalArgumentException("Vertex ids cannot be negative");
+        }
+        if (source == target || !connections.add(LongHashSet.pair(source, target))) {
+            return false;
+        }
+        if (!connections.contains(LongHashSet.pair(target, source))) {
+            return false;
+        }
+        graph.addConnection(source, target);
+        graph.addConnection(target, source);
+        return true;
+    }
+
+    /**
+     * Returns the number of different directed connections seen so far.
+     */
+    public int getConnectionCount() {
+        return connections.size();
+    }
+
+    /**
+     * Returns the graph of the bidirectional connections seen so far. Vertices with no bidirectional connection are
+     * not part of it.
+     */
+    public IntGraph getGraph() {
+        return graph;
+    }
+}
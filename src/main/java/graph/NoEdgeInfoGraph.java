@@ -35,7 +35,7 @@ public class NoEdgeInfoGraph<V> extends BaseAbsGraph<V, V> {
 
     @Override
     public boolean containsEdge(V sourceVertex, V targetVertex) {
-        final VertexContainer edges = (VertexContainer) super.getEdges(sourceVertex);
+        final EdgeContainer<V, V> edges = super.getEdges(sourceVertex);
         if (edges == null || edges.isEmpty()) {
             return false;
         } else {
@@ -70,6 +70,21 @@ public class NoEdgeInfoGraph<V> extends BaseAbsGraph<V, V> {
     }
 
 
+    /**
+     * Removes the connection from {@code sourceVertex} to {@code targetVertex}, if it exists. As the target vertex is
+     * the edge itself, it is removed straight from the container of the source vertex.
+     *
+     * @param sourceVertex Source vertex
+     * @param targetVertex Target vertex
+     * @return if the connection existed
+     */
+    @Override
+    public boolean removeConnection(V sourceVertex, V targetVertex) {
+        final EdgeContainer<V, V> edges = super.getEdges(sourceVertex);
+        return edges != null && edges.getEdges().remove(targetVertex);
+    }
+
+
     /**
      * A {@link graph.NoEdgeInfoGraph.VertexContainer} which assumes that edge and Vertex information to be the same.
      * In this waz there is no difference between storing an edge or a vertex. Adding and edge with value V1 and then
@@ -139,35 +154,62 @@ public class NoEdgeInfoGraph<V> extends BaseAbsGraph<V, V> {
     /**
      * Remove all connections of the graph which are not bidirectional. A Vertex A has a bidirectional connection with
      * Vertex B only if Vertex B it's also connected to A.
+     * <p/>
+     * Each connection is checked once against the container of its target vertex, and removed in place through the
+     * iterator of its source container, so the graph is filtered in a single pass in O(E) without allocating anything
+     * per vertex. Removing A->B while visiting A does not affect the check of any other connection, as B->A did not
+     * exist to begin with.
+     *
+     * @return the number of removed connections
      */
-    public void removeNonBidirectionalConnections() {
-
-        //For each source vertex edge, check that there is another connection between that target vertex and the source.
-        //If not remove those edges for the the current edge.
+    public int removeNonBidirectionalConnections() {
+        int removed = 0;
         for (V sourceVertex : super.vertexSet()) {
-
-            //Store edges to remove after looping over all edges
-            final Set<V> edgesToRemove = new HashSet<V>();
-            EdgeContainer<V, V> vertexEdges = getEdges(sourceVertex);
-
-            //Check for each edge, that the graph contains another edge for it.
-            for (final V targetVertex : vertexEdges) {
-
-
-                //If the target vertex for the current edge is not connected to the source vertex mark to remove it.
-                final VertexContainer targetVertexConnections = (VertexContainer) super.getEdges(targetVertex);
-                if (targetVertexConnections == null || targetVertexConnections.isEmpty()) {
-                    edgesToRemove.add(targetVertex);
-                    Log.debug("Found edge" + sourceVertex + "->" + targetVertex + " which is no bidirectional. Adding for later removal");
+            final Iterator<V> targetVertices = getEdges(sourceVertex).iterator();
+            while (targetVertices.hasNext()) {
+                final V targetVertex = targetVertices.next();
+                final EdgeContainer<V, V> targetVertexConnections = super.getEdges(targetVertex);
+                if (targetVertexConnections == null || !targetVertexConnections.containsEdge(sourceVertex)) {
+                    targetVertices.remove();
+                    removed++;
                 }
             }
-            if (!edgesToRemove.isEmpty()) {
-                Log.debug("Removing " + edgesToRemove.size() + " edges");
-                vertexEdges.remove(edgesToRemove);
-            }
+        }
+        Log.debug("Removed " + removed + " connections which are not bidirectional");
+        return removed;
+    }
 
+    /**
+     * Removes all the vertices whose core number is lower than the given one, together with all the connections from
+     * or to them. The k-core of a graph is the biggest subgraph in which every vertex has at least k neighbours; as each
+     * vertex of a clique of size n has n-1 neighbours within the clique, removing the vertices outside the (n-1)-core
+     * does not affect any clique of size n or bigger.
+     * <p/>
+     * Only bidirectional connections are taken into account for computing the core numbers.
+     *
+     * @param core the minimum core number a vertex needs for being kept
+     * @return the number of removed vertices
+     */
+    public int removeVerticesBelowCore(final int core) {
+        final DegeneracyOrdering<V> ordering = new DegeneracyOrdering<V>(this);
+        final Set<V> removedVertices = new HashSet<V>();
+        for (V vertex : super.vertexSet()) {
+            if (ordering.getCoreNumber(vertex) < core) {
+                removedVertices.add(vertex);
+            }
+        }
+        if (removedVertices.isEmpty()) {
+            return 0;
         }
 
+        for (V vertex : removedVertices) {
+            super.removeVertex(vertex);
+        }
+        for (V vertex : super.vertexSet()) {
+            getEdges(vertex).remove(removedVertices);
+        }
+        Log.debug("Removed " + removedVertices.size() + " vertices outside of the " + core + "-core");
+        return removedVertices.size();
     }
 
     @Override
@@ -0,0 +1,345 @@
+package graph;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Maximal clique finder which runs the degeneracy ordered search of {@link DegeneracyCliqueFinder} on a
+ * {@link ForkJoinPool}.
+ * <p/>
+ * Every top-level branch (one per vertex, following the {@link DegeneracyOrdering}) is submitted as an independent task.
+ * Whenever a task reaches a node with at least {@link #SPLIT_THRESHOLD} candidates, the branches of that node are forked
+ * as new tasks as well, so big subtrees are split and stolen by idle workers instead of being processed by a single
+ * thread. The found cliques are merged into a concurrent collector; their order is not deterministic, but their content
+ * is, so sorting them (e.g. through {@code PeakTraffic.sortClusters}) always gives the same result.
+ * <p/>
+ * As the other finders, it only works with unidirectional graphs.
+ */
+public class ParallelCliqueFinder<V, E> extends BaseAbsCliqueFinder<V, E> {
+
+    /*  Default minimum number of candidates a search node needs for forking its branches as new tasks  */
+    static final int SPLIT_THRESHOLD = 64;
+
+    private final int parallelism;
+
+    private ForkJoinPool.ForkJoinWorkerThreadFactory threadFactory = ForkJoinPool.defaultForkJoinWorkerThreadFactory;
+
+    private final int splitThreshold;
+
+    private DegeneracyOrdering<V> ordering;
+
+    private CliqueVisitor<V> visitor;
+
+    /*  Recursion nodes visited by the finished tasks of the current search  */
+    private AtomicLong visitedNodes;
+
+    /**
+     * Creates a new clique finder which will use as many threads as available processors.
+     *
+     * @param graph the graph in which cliques are to be found; graph must be
+     *              simple
+     */
+    public ParallelCliqueFinder(BaseAbsGraph<V, E> graph) {
+        this(graph, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a new clique finder which will use the given number of threads.
+     *
+     * @param graph       the graph in which cliques are to be found; graph must be
+     *                    simple
+     * @param parallelism the number of threads to use. Must be positive
+     */
+    public ParallelCliqueFinder(BaseAbsGraph<V, E> graph, int parallelism) {
+        this(graph, parallelism, SPLIT_THRESHOLD);
+    }
+
+    ParallelCliqueFinder(BaseAbsGraph<V, E> graph, int parallelism, int splitThreshold) {
+        super(graph);
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("The number of threads must be positive");
+        }
+        this.parallelism = parallelism;
+        this.splitThreshold = splitThreshold;
+    }
+
+    /**
+     * Returns the number of threads this finder uses.
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Sets the factory creating the threads of the pool of each search, e.g. for measuring their resources.
+     *
+     * @param threadFactory the factory. Cannot be null
+     */
+    public void setThreadFactory(final ForkJoinPool.ForkJoinWorkerThreadFactory threadFactory) {
+        if (threadFactory == null) {
+            throw new IllegalArgumentException("The thread factory cannot be null");
+        }
+        this.threadFactory = threadFactory;
+    }
+
+    /**
+     * Finds all maximal cliques of the graph, calling the given visitor for each of them. Note that the visitor will be
+     * called concurrently from several threads, so it must be thread safe.
+     *
+     * @param visitor the visitor to notify for every maximal clique
+     */
+    @Override
+    public void findCliques(CliqueVisitor<V> visitor) {
+        this.visitor = visitor;
+        ordering = new DegeneracyOrdering<V>(graph);
+        visitedNodes = new AtomicLong();
+
+        final ForkJoinPool pool = new ForkJoinPool(parallelism, threadFactory, null, false);
+        try {
+            pool.invoke(new RangeTask(0, ordering.size()));
+        } finally {
+            pool.shutdown();
+            recursionNodeCount = visitedNodes.get();
+            this.visitor = null;
+        }
+    }
+
+    /**
+     * Finds all maximal cliques of the graph. The cliques found by all the threads are merged into a concurrent
+     * collector.
+     *
+     * @return Collection of cliques (each of which is represented as a Set of
+     * vertices)
+     */
+    @Override
+    public Collection<Set<V>> getAllMaximalCliques() {
+        final Queue<Set<V>> cliques = new ConcurrentLinkedQueue<Set<V>>();
+        findCliques(new CliqueVisitor<V>() {
+            @Override
+            public void visitClique(List<V> clique) {
+                cliques.add(new HashSet<V>(clique));
+            }
+        });
+        return new ArrayList<Set<V>>(cliques);
+    }
+
+    /**
+     * Task which splits a range of positions of the order in halves, until each top-level branch is run on its own.
+     * This way top-level tasks are only created once a worker is about to run them.
+     */
+    private final class RangeTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+
+        RangeTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                topLevelTask(from).compute();
+            } else if (to - from > 1) {
+                final int middle = (from + to) >>> 1;
+                invokeAll(new RangeTask(from, middle), new RangeTask(middle, to));
+            }
+        }
+    }
+
+    /**
+     * Returns the task searching the cliques whose earliest vertex within the order is the one at the given position.
+     */
+    private BranchTask topLevelTask(int position) {
+        final int vertex = ordering.vertexAt(position);
+        final int[] neighbours = ordering.neighboursOf(vertex);
+        final int[] candidates = new int[neighbours.length];
+        final int[] alreadyFound = new int[neighbours.length];
+        int candidatesSize = 0;
+        int alreadyFoundSize = 0;
+        for (int neighbour : neighbours) {
+            if (ordering.positionOf(neighbour) > position) {
+                candidates[candidatesSize++] = neighbour;
+            } else {
+                alreadyFound[alreadyFoundSize++] = neighbour;
+            }
+        }
+        return new BranchTask(new int[]{vertex}, 1, candidates, candidatesSize, alreadyFound, alreadyFoundSize);
+    }
+
+    /**
+     * Task running the pivoting Bron-Kerbosch search for a given potential clique, candidates and already found nodes.
+     */
+    private final class BranchTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        /*  The clique being built, only owned by this task  */
+        private int[] potentialClique;
+        private int potentialCliqueSize;
+
+        private final int[] candidates;
+        private final int candidatesSize;
+        private final int[] alreadyFound;
+        private final int alreadyFoundSize;
+
+        /*  Recursion nodes visited by this task, added to the total once it is done  */
+        private long nodes;
+
+        /*  Read-only view of the potential clique handed to the visitor  */
+        private final List<V> cliqueView = new AbstractList<V>() {
+            @Override
+            public V get(int index) {
+                if (index >= potentialCliqueSize) {
+                    throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + potentialCliqueSize);
+                }
+                return ordering.vertexOf(potentialClique[index]);
+            }
+
+            @Override
+            public int size() {
+                return potentialCliqueSize;
+            }
+        };
+
+        BranchTask(int[] potentialClique, int potentialCliqueSize, int[] candidates, int candidatesSize,
+                   int[] alreadyFound, int alreadyFoundSize) {
+            this.potentialClique = potentialClique;
+            this.potentialCliqueSize = potentialCliqueSize;
+            this.candidates = candidates;
+            this.candidatesSize = candidatesSize;
+            this.alreadyFound = alreadyFound;
+            this.alreadyFoundSize = alreadyFoundSize;
+        }
+
+        @Override
+        protected void compute() {
+            findCliques(candidates, candidatesSize, alreadyFound, alreadyFoundSize);
+            visitedNodes.addAndGet(nodes);
+        }
+
+        /**
+         * Same recursion as {@link DegeneracyCliqueFinder}, which forks the branches of big nodes instead of walking
+         * them. Both arrays are owned by the call; {@code alreadyFound} must have room for
+         * {@code alreadyFoundSize + candidatesSize} elements.
+         */
+        private void findCliques(int[] candidates, int candidatesSize, int[] alreadyFound, int alreadyFoundSize) {
+            nodes++;
+            if (potentialCliqueSize + candidatesSize < minimumCliqueSize) {
+                //No clique big enough can be found within this branch
+                return;
+            }
+            if (candidatesSize == 0) {
+                if (alreadyFoundSize == 0) {
+                    visitor.visitClique(cliqueView);
+                }
+                return;
+            }
+
+            final int pivot = choosePivot(candidates, candidatesSize, alreadyFound, alreadyFoundSize);
+            final int[] branches = new int[candidatesSize];
+            int branchesSize = 0;
+            for (int i = 0; i < candidatesSize; i++) {
+                if (!ordering.isAdjacent(pivot, candidates[i])) {
+                    branches[branchesSize++] = candidates[i];
+                }
+            }
+
+            final boolean split = candidatesSize >= splitThreshold;
+            final List<BranchTask> tasks = split ? new ArrayList<BranchTask>(branchesSize) : null;
+            for (int b = 0; b < branchesSize; b++) {
+                final int candidate = branches[b];
+
+                int newCandidatesSize = 0;
+                int newAlreadyFoundSize = 0;
+                final int[] newCandidates = new int[candidatesSize];
+                final int[] newAlreadyFound = new int[candidatesSize + alreadyFoundSize];
+                for (int i = 0; i < candidatesSize; i++) {
+                    if (ordering.isAdjacent(candidate, candidates[i])) {
+                        newCandidates[newCandidatesSize++] = candidates[i];
+                    }
+                }
+                for (int i = 0; i < alreadyFoundSize; i++) {
+                    if (ordering.isAdjacent(candidate, alreadyFound[i])) {
+                        newAlreadyFound[newAlreadyFoundSize++] = alreadyFound[i];
+                    }
+                }
+
+                if (split) {
+                    final int[] clique = Arrays.copyOf(potentialClique, potentialCliqueSize + 1);
+                    clique[potentialCliqueSize] = candidate;
+                    tasks.add(new BranchTask(clique, clique.length, newCandidates, newCandidatesSize,
+                            newAlreadyFound, newAlreadyFoundSize));
+                } else {
+                    if (potentialCliqueSize == potentialClique.length) {
+                        potentialClique = Arrays.copyOf(potentialClique, Math.max(4, potentialCliqueSize * 2));
+                    }
+                    potentialClique[potentialCliqueSize++] = candidate;
+                    findCliques(newCandidates, newCandidatesSize, newAlreadyFound, newAlreadyFoundSize);
+                    potentialCliqueSize--;
+                }
+
+                //Move candidate from candidates to already found
+                for (int i = 0; i < candidatesSize; i++) {
+                    if (candidates[i] == candidate) {
+                        candidates[i] = candidates[--candidatesSize];
+                        break;
+                    }
+                }
+                alreadyFound[alreadyFoundSize++] = candidate;
+            }
+
+            if (split) {
+                invokeAll(tasks);
+            }
+        }
+
+    }
+
+    /**
+     * Returns the vertex within {@code candidates} or {@code alreadyFound} which is connected to the highest number of
+     * candidates.
+     */
+    private int choosePivot(int[] candidates, int candidatesSize, int[] alreadyFound, int alreadyFoundSize) {
+        int pivot = candidates[0];
+        int maxConnections = -1;
+        for (int i = 0; i < candidatesSize; i++) {
+            final int connections = countConnections(candidates[i], candidates, candidatesSize);
+            if (connections > maxConnections) {
+                maxConnections = connections;
+                pivot = candidates[i];
+            }
+        }
+        for (int i = 0; i < alreadyFoundSize; i++) {
+            final int connections = countConnections(alreadyFound[i], candidates, candidatesSize);
+            if (connections > maxConnections) {
+                maxConnections = connections;
+                pivot = alreadyFound[i];
+            }
+        }
+        return pivot;
+    }
+
+    private int countConnections(int vertex, int[] candidates, int candidatesSize) {
+        int edgecounter = 0;
+        for (int i = 0; i < candidatesSize; i++) {
+            if (ordering.isAdjacent(vertex, candidates[i])) {
+                edgecounter++;
+            }
+        }
+        return edgecounter;
+    }
+}
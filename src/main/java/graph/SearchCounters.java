@@ -0,0 +1,78 @@
+package graph;
+
+/**
+ * Counters of a clique search, see {@link SearchStatistics}. The counters are plain fields which are only touched by the
+ * searching thread, so counting costs a field increment. Other threads read the snapshot the searching thread publishes
+ * every {@link #PUBLISH_INTERVAL} recursion nodes and on every top level branch completed, through
+ * {@link #getStatistics()}.
+ */
+final class SearchCounters {
+
+    /*  Number of recursion nodes between two publications of the statistics. Must be a power of two  */
+    static final long PUBLISH_INTERVAL = 1 << 12;
+
+    private long searchStart;
+
+    long recursionNodes;
+    long containsEdgeCalls;
+    long cliques;
+    long prunedBranches;
+    int maximumDepth;
+    long topLevelBranches;
+    long completedTopLevelBranches;
+
+    /*  Last snapshot of the counters published by the searching thread  */
+    private volatile SearchStatistics statistics = SearchStatistics.NONE;
+
+    /**
+     * Resets the counters for a new search, starting from now.
+     */
+    void reset() {
+        searchStart = System.nanoTime();
+        recursionNodes = 0;
+        containsEdgeCalls = 0;
+        cliques = 0;
+        prunedBranches = 0;
+        maximumDepth = 0;
+        topLevelBranches = 0;
+        completedTopLevelBranches = 0;
+        statistics = SearchStatistics.NONE;
+    }
+
+    /**
+     * Counts a new recursion node at the given depth, publishing the counters every {@link #PUBLISH_INTERVAL} nodes.
+     */
+    void visitNode(int depth) {
+        if ((++recursionNodes & (PUBLISH_INTERVAL - 1)) == 0) {
+            publish(false);
+        }
+        if (depth > maximumDepth) {
+            maximumDepth = depth;
+        }
+    }
+
+    /**
+     * Counts the completion of a branch at the given depth, publishing the counters if it is a top level one.
+     */
+    void completeBranch(int depth) {
+        if (depth == 0) {
+            completedTopLevelBranches++;
+            publish(false);
+        }
+    }
+
+    /**
+     * Publishes a snapshot of the counters for the other threads. Only called by the searching thread.
+     */
+    void publish(boolean finished) {
+        statistics = new SearchStatistics(System.nanoTime() - searchStart, recursionNodes, containsEdgeCalls, cliques,
+                maximumDepth, prunedBranches, topLevelBranches, completedTopLevelBranches, finished);
+    }
+
+    /**
+     * Returns the last snapshot published. Can be called from any thread.
+     */
+    SearchStatistics getStatistics() {
+        return statistics;
+    }
+}
@@ -0,0 +1,81 @@
+package graph;
+
+import java.io.PrintStream;
+import java.util.Locale;
+
+/**
+ * Daemon thread printing the {@link SearchStatistics} of a running search at a fixed period, see
+ * {@link BronKerboschCliqueFinder#setProgressReport(PrintStream, long)}. It only reads the snapshots the search
+ * publishes through its {@link SearchCounters}, so it never slows the search down besides the printing itself.
+ */
+final class SearchProgressReporter implements Runnable {
+
+    private final SearchCounters counters;
+    private final PrintStream out;
+    private final long periodMillis;
+
+    private Thread thread;
+
+    SearchProgressReporter(SearchCounters counters, PrintStream out, long periodMillis) {
+        this.counters = counters;
+        this.out = out;
+        this.periodMillis = periodMillis;
+    }
+
+    /**
+     * Starts reporting from a new daemon thread.
+     */
+    void start() {
+        if (thread != null) {
+            throw new IllegalStateException("The progress reporter has already been started");
+        }
+        thread = new Thread(this, "clique-search-progress");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops reporting, waiting for the reporting thread to finish.
+     */
+    void stop() {
+        if (thread == null) {
+            return;
+        }
+        thread.interrupt();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        thread = null;
+    }
+
+    @Override
+    public void run() {
+        SearchStatistics previous = SearchStatistics.NONE;
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                Thread.sleep(periodMillis);
+                final SearchStatistics current = counters.getStatistics();
+                out.println(format(previous, current));
+                previous = current;
+            }
+        } catch (InterruptedException e) {
+            //The search is over
+        }
+    }
+
+    /**
+     * Returns the progress line for the given snapshot. The throughput is the one since the previous snapshot.
+     */
+    static String format(SearchStatistics previous, SearchStatistics current) {
+        final long elapsed = current.getElapsedNanos() - previous.getElapsedNanos();
+        final double throughput = elapsed <= 0 ? 0
+                : (current.getRecursionNodes() - previous.getRecursionNodes()) * 1e9 / elapsed;
+        return String.format(Locale.US, "Clique search %.1fs: %d nodes (%.0f nodes/s), %d cliques, depth %d, "
+                        + "%d pruned, %.1f%% of %d top level branches left",
+                current.getElapsedNanos() / 1e9, current.getRecursionNodes(), throughput, current.getCliques(),
+                current.getMaximumDepth(), current.getPrunedBranches(), current.getRemainingFraction() * 100,
+                current.getTopLevelBranches());
+    }
+}
@@ -0,0 +1,134 @@
+package graph;
+
+import java.util.Locale;
+
+/**
+ * Immutable snapshot of the counters of a {@link BronKerboschCliqueFinder} or {@link BitSetCliqueFinder} search, see
+ * {@link BronKerboschCliqueFinder#getStatistics()}.
+ */
+public final class SearchStatistics {
+
+    /**
+     * Statistics of a search which did not start yet.
+     */
+    static final SearchStatistics NONE = new SearchStatistics(0, 0, 0, 0, 0, 0, 0, 0, false);
+
+    private final long elapsedNanos;
+    private final long recursionNodes;
+    private final long containsEdgeCalls;
+    private final long cliques;
+    private final int maximumDepth;
+    private final long prunedBranches;
+    private final long topLevelBranches;
+    private final long completedTopLevelBranches;
+    private final boolean finished;
+
+    SearchStatistics(long elapsedNanos, long recursionNodes, long containsEdgeCalls, long cliques, int maximumDepth,
+                     long prunedBranches, long topLevelBranches, long completedTopLevelBranches, boolean finished) {
+        this.elapsedNanos = elapsedNanos;
+        this.recursionNodes = recursionNodes;
+        this.containsEdgeCalls = containsEdgeCalls;
+        this.cliques = cliques;
+        this.maximumDepth = maximumDepth;
+        this.prunedBranches = prunedBranches;
+        this.topLevelBranches = topLevelBranches;
+        this.completedTopLevelBranches = completedTopLevelBranches;
+        this.finished = finished;
+    }
+
+    /**
+     * Returns the nanoseconds elapsed since the search started.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Returns the number of nodes of the recursion tree visited, including the ones whose branch was pruned.
+     */
+    public long getRecursionNodes() {
+        return recursionNodes;
+    }
+
+    /**
+     * Returns the number of times the search asked the graph whether two vertices are connected.
+     */
+    public long getContainsEdgeCalls() {
+        return containsEdgeCalls;
+    }
+
+    /**
+     * Returns the number of maximal cliques reported to the visitor.
+     */
+    public long getCliques() {
+        return cliques;
+    }
+
+    /**
+     * Returns the size of the biggest potential clique the search went through, this is, the depth of the deepest node
+     * visited. The root of the recursion tree has depth 0.
+     */
+    public int getMaximumDepth() {
+        return maximumDepth;
+    }
+
+    /**
+     * Returns the number of nodes whose branch was cut without being explored, either because it could not lead to a
+     * clique of the minimum size or, with the {@link BronKerboschCliqueFinder.Strategy#CLASSIC} strategy, because an
+     * already found node was connected to all the candidates.
+     */
+    public long getPrunedBranches() {
+        return prunedBranches;
+    }
+
+    /**
+     * Returns the number of branches of the root of the recursion tree.
+     */
+    public long getTopLevelBranches() {
+        return topLevelBranches;
+    }
+
+    /**
+     * Returns the number of branches of the root of the recursion tree which were completely explored.
+     */
+    public long getCompletedTopLevelBranches() {
+        return completedTopLevelBranches;
+    }
+
+    /**
+     * Returns if the search is over.
+     */
+    public boolean isFinished() {
+        return finished;
+    }
+
+    /**
+     * Returns the fraction of the branches of the root of the recursion tree which are still to be explored, from 1
+     * before the search starts to 0 once it is over. Branches may differ a lot in size, so this is only a rough estimate
+     * of the work left.
+     */
+    public double getRemainingFraction() {
+        if (finished) {
+            return 0;
+        }
+        if (topLevelBranches == 0) {
+            return 1;
+        }
+        return 1 - (double) completedTopLevelBranches / topLevelBranches;
+    }
+
+    /**
+     * Returns the number of recursion nodes visited per second since the search started.
+     */
+    public double getNodesPerSecond() {
+        return elapsedNanos == 0 ? 0 : recursionNodes * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.US, "SearchStatistics{elapsed=%.3fs, recursionNodes=%d, containsEdgeCalls=%d, "
+                        + "cliques=%d, maximumDepth=%d, prunedBranches=%d, topLevelBranches=%d/%d, finished=%b}",
+                elapsedNanos / 1e9, recursionNodes, containsEdgeCalls, cliques, maximumDepth, prunedBranches,
+                completedTopLevelBranches, topLevelBranches, finished);
+    }
+}
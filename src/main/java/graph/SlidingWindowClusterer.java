@@ -0,0 +1,248 @@
+package graph;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+
+/**
+ * Keeps the clusters (maximal cliques of mutually connected users) of the interactions which took place within a
+ * sliding time window, without searching the whole graph every time the window moves.
+ * <p/>
+ * Interactions are added in time order through {@link #addInteraction(Object, Object, long)}; the ones older than the
+ * window length expire as newer ones arrive, or when the window is moved through {@link #advanceTo(long)}. A count of
+ * interactions is kept for each directed pair of users, so a connection is only added to the underlying
+ * {@link NoEdgeInfoGraph} by the first interaction of the pair within the window and removed when the last one expires.
+ * <p/>
+ * Whenever a bidirectional connection appears or disappears, both users are marked as touched. When asking for the
+ * clusters, only the cliques containing a touched vertex are dropped and searched again: a clique with no touched vertex
+ * kept all its connections, and no vertex could have been connected to or disconnected from all of it without touching
+ * one of its vertices, so it is still a maximal clique. For the touched vertices t1..tn, the cliques containing ti are
+ * searched with the neighbours of ti as candidates, leaving t1..ti-1 as already found nodes, so each clique is only
+ * found once.
+ *
+ * @param <V> Type for the users.
+ */
+public class SlidingWindowClusterer<V> {
+
+    private final long windowLength;
+
+    private final int minimumClusterSize;
+
+    /*  Graph with a connection for each directed pair which interacted within the window  */
+    private final NoEdgeInfoGraph<V> graph = new NoEdgeInfoGraph<V>();
+
+    /*  Interactions within the window, oldest first  */
+    private final Queue<Interaction<V>> interactions = new ArrayDeque<Interaction<V>>();
+
+    /*  Number of interactions within the window for each directed pair  */
+    private final Map<Interaction<V>, int[]> counts = new HashMap<Interaction<V>, int[]>();
+
+    /*  Time of the newest interaction, or the time the window was advanced to  */
+    private long currentTime = Long.MIN_VALUE;
+
+    /*  Vertices whose bidirectional connections changed since the clusters were last updated  */
+    private final Set<V> touched = new LinkedHashSet<V>();
+
+    /*  Current clusters, indexed by vertex  */
+    private final CliqueRegistry<V> clusters = new CliqueRegistry<V>();
+
+    /**
+     * Creates a new clusterer.
+     *
+     * @param windowLength       the length of the window, in the same unit as the interaction times. Must be positive
+     * @param minimumClusterSize the minimum number of users a cluster must have. Must be at least 2
+     */
+    public SlidingWindowClusterer(long windowLength, int minimumClusterSize) {
+        if (windowLength <= 0) {
+            throw new IllegalArgumentException("The window length must be positive");
+        }
+        if (minimumClusterSize < 2) {
+            throw new IllegalArgumentException("The minimum cluster size must be at least 2");
+        }
+        this.windowLength = windowLength;
+        this.minimumClusterSize = minimumClusterSize;
+    }
+
+    /**
+     * Adds an interaction from {@code source} to {@code target} which took place at the given time, moving the window
+     * so it ends at that time. Interactions of a user with itself are ignored.
+     *
+     * @param source
+     * @param target
+     * @param time   the time of the interaction. Cannot be earlier than the end of the window
+     * @throws IllegalArgumentException if any user is null or the time is earlier than the end of the window
+     */
+    public void addInteraction(final V source, final V target, final long time) {
+        if (source == null || target == null) {
+            throw new IllegalArgumentException("None of the provided parameter can be null");
+        }
+        advanceTo(time);
+        if (source.equals(target)) {
+            return;
+        }
+
+        final Interaction<V> interaction = new Interaction<V>(source, target, time);
+        interactions.add(interaction);
+        final int[] count = counts.get(interaction);
+        if (count != null) {
+            count[0]++;
+            return;
+        }
+
+        //First interaction of the pair within the window
+        counts.put(interaction, new int[]{1});
+        graph.addConnection(source, target);
+        if (graph.containsEdge(target, source)) {
+            touched.add(source);
+            touched.add(target);
+        }
+    }
+
+    /**
+     * Moves the window so it ends at the given time, expiring all the interactions which took place at
+     * {@code time - windowLength} or before.
+     *
+     * @param time the new end of the window. Cannot be earlier than the current one
+     * @throws IllegalArgumentException if the time is earlier than the end of the window
+     */
+    public void advanceTo(final long time) {
+        if (time < currentTime) {
+            throw new IllegalArgumentException("Time cannot go backwards: " + time + " is before " + currentTime);
+        }
+        currentTime = time;
+
+        while (!interactions.isEmpty() && interactions.peek().time <= time - windowLength) {
+            final Interaction<V> interaction = interactions.remove();
+            final int[] count = counts.get(interaction);
+            if (--count[0] > 0) {
+                continue;
+            }
+
+            //Last interaction of the pair within the window
+            counts.remove(interaction);
+            if (graph.containsEdge(interaction.target, interaction.source)) {
+                touched.add(interaction.source);
+                touched.add(interaction.target);
+            }
+            graph.removeConnection(interaction.source, interaction.target);
+            if (graph.getEdges(interaction.source).isEmpty()) {
+                graph.removeVertex(interaction.source);
+            }
+        }
+    }
+
+    /**
+     * Returns the end of the window.
+     */
+    public long getCurrentTime() {
+        return currentTime;
+    }
+
+    /**
+     * Returns the number of interactions within the window.
+     */
+    public int getInteractionCount() {
+        return interactions.size();
+    }
+
+    /**
+     * Returns the maximal cliques of mutually connected users within the window with at least the minimum cluster
+     * size. Only the neighbourhoods which changed since the last call are searched again. The returned collection is a
+     * read-only view which changes as the window moves.
+     */
+    public Collection<Set<V>> getClusters() {
+        updateClusters();
+        return clusters.all();
+    }
+
+    /**
+     * Searches again the clusters containing any touched vertex.
+     */
+    private void updateClusters() {
+        if (touched.isEmpty()) {
+            return;
+        }
+        for (V vertex : touched) {
+            clusters.removeAll(vertex);
+        }
+
+        final LocalCliqueSearch<V> search = new LocalCliqueSearch<V>(minimumClusterSize) {
+            @Override
+            protected Set<V> computeNeighbours(V vertex) {
+                return mutualNeighbours(vertex);
+            }
+        };
+        final CliqueVisitor<V> visitor = new CliqueVisitor<V>() {
+            @Override
+            public void visitClique(List<V> clique) {
+                clusters.add(new HashSet<V>(clique));
+            }
+        };
+        final Set<V> done = new HashSet<V>();
+        for (V vertex : touched) {
+            final Set<V> candidates = new HashSet<V>();
+            final Set<V> alreadyFound = new HashSet<V>();
+            for (V neighbour : search.neighboursOf(vertex)) {
+                if (done.contains(neighbour)) {
+                    alreadyFound.add(neighbour);
+                } else {
+                    candidates.add(neighbour);
+                }
+            }
+            search.search(Collections.singleton(vertex), candidates, alreadyFound, visitor);
+            done.add(vertex);
+        }
+        touched.clear();
+    }
+
+    /**
+     * Returns the vertices the given one has a bidirectional connection with.
+     */
+    private Set<V> mutualNeighbours(final V vertex) {
+        final Set<V> neighbours = new HashSet<V>();
+        for (V neighbour : graph.getNeighbours(vertex)) {
+            if (!neighbour.equals(vertex) && graph.containsEdge(neighbour, vertex)) {
+                neighbours.add(neighbour);
+            }
+        }
+        return neighbours;
+    }
+
+    /**
+     * Interaction between two users at a given time. Interactions are equal if they have the same source and target,
+     * whatever their time, so they can be used as the key of their directed pair.
+     */
+    private static final class Interaction<V> {
+
+        private final V source;
+        private final V target;
+        private final long time;
+
+        Interaction(V source, V target, long time) {
+            this.source = source;
+            this.target = target;
+            this.time = time;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            final Interaction<?> that = (Interaction<?>) o;
+            return source.equals(that.source) && target.equals(that.target);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * source.hashCode() + target.hashCode();
+        }
+    }
+}
@@ -1,14 +1,27 @@
 package main;
 
 import Log.Log;
+import data.FacebookData;
+import data.provider.DataConsumer;
 import data.provider.FaceBookDataProvider;
-import data.provider.FacebookDataImpl;
-import data.provider.FileDataProvider;
-import graph.BronKerboschCliqueFinder;
+import data.provider.SymbolTable;
+import graph.BaseAbsGraph;
+import graph.CliqueVisitor;
+import graph.CompactGraph;
+import graph.ComponentCliqueFinder;
+import graph.ConcurrentGraphBuilder;
+import graph.MutualGraphBuilder;
 import graph.NoEdgeInfoGraph;
+import metrics.MetricsRegistry;
+import metrics.PhaseMetrics;
 
+import java.io.BufferedWriter;
 import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Main Class for the main.PeakTraffic code challenge. It contains a main method which executes the program. This main method
@@ -20,6 +33,30 @@ public class PeakTraffic {
 
     private static final int SET_SIZE_THRESHOLD = 3;
 
+    /**
+     * System property with the number of threads parsing the input file, 1 by default. With more than one thread the
+     * connections are gathered by a {@link ConcurrentGraphBuilder} and the graph is frozen into a {@link CompactGraph}.
+     */
+    public static final String THREADS_PROPERTY = "peaktraffic.threads";
+
+    /**
+     * Comparator for alphabetically sorted clusters. Clusters are compared element by element, so the order does not
+     * depend on the order in which the clusters were found.
+     */
+    static final Comparator<List<String>> CLUSTER_COMPARATOR = new Comparator<List<String>>() {
+        @Override
+        public int compare(List<String> strings, List<String> strings2) {
+            final int size = Math.min(strings.size(), strings2.size());
+            for (int i = 0; i < size; i++) {
+                final int comparison = strings.get(i).compareTo(strings2.get(i));
+                if (comparison != 0) {
+                    return comparison;
+                }
+            }
+            return strings.size() - strings2.size();
+        }
+    };
+
     /**
      * Possible return values for the {@link PeakTraffic} program. This return values contain an integer which defines
      * the return code of the program execution, and a String with the message.
@@ -28,7 +65,9 @@ public class PeakTraffic {
         OK(0, "OK"),
         NO_FILE_PROVIDED(10, "No path provided to a file with the data to process. Please provide a path to a valid file"),
         TOO_MANY_ARGUMENTS(20, "More than one parameter was provided. This program does only accept one input file"),
-        NO_VALID_PATH(30, "The provided path does not exist");
+        NO_VALID_PATH(30, "The provided path does not exist"),
+        READ_ERROR(50, "The provided file could not be read"),
+        INVALID_THREAD_COUNT(60, "The " + THREADS_PROPERTY + " property must be a positive number of threads");
 
         final int mReturnCode;
         final String mMessage;
@@ -56,39 +95,184 @@ public class PeakTraffic {
             System.exit(validationResult.getReturnCode());
         }
         final File sourceFile = new File(args[0]);
+        final int threads = threadCount(System.getProperty(THREADS_PROPERTY));
+        if (threads <= 0) {
+            Log.error(PeakTrafficResult.INVALID_THREAD_COUNT.getMessage());
+            System.exit(PeakTrafficResult.INVALID_THREAD_COUNT.getReturnCode());
+        }
 
-        //Create the Data provider which will parse the the file into valid data
-        FileDataProvider provider = new FaceBookDataProvider(sourceFile.getPath());
-        final List<FacebookDataImpl> allData = provider.getAllData();
-
-        //Create an empty graph and add the connections described by the data
-        final NoEdgeInfoGraph<String> g = new NoEdgeInfoGraph<String>();
-        for (FacebookDataImpl d : allData) {
-            g.addConnection(d.getSourceUser(), d.getTargetUser());
+        //Every phase of the run is measured, and the metrics are written once done if the metrics property is set
+        final MetricsRegistry metrics = new MetricsRegistry();
 
+        //Create the Data provider which will parse the the file into valid data, and a graph builder. Each parsed line
+        //is handed to the builder as a connection right away, so the whole log is never held in memory. Users are handled
+        //by the int id the provider gave them, and only translated back to their emails when printing. Dates play no part
+        //in the clusters, so they are skipped.
+        final FaceBookDataProvider provider = new FaceBookDataProvider(sourceFile.getPath(),
+                FaceBookDataProvider.DateMode.SKIP);
+        final SymbolTable users = provider.getSymbolTable();
+        //Parsing and building the graph are a single phase, as they are interleaved. Only bidirectional connections are
+        //kept in the graph, as they are the only ones a cluster can be made of.
+        final PhaseMetrics ingestion = metrics.startPhase("ingestion");
+        final BaseAbsGraph<Integer, Integer> mutualGraph = ingest(provider, ingestion, threads);
+        //Clusters of a partially read log would be wrong, so nothing is printed
+        if (mutualGraph == null) {
+            Log.error(PeakTrafficResult.READ_ERROR.getMessage());
+            System.exit(PeakTrafficResult.READ_ERROR.getReturnCode());
         }
+        ingestion.setCount("users", users.size());
+        ingestion.setCount("vertices", mutualGraph.vertexSet().size());
+        ingestion.setCount("edges", mutualGraph.edgeCount());
 
-        //At this point we have a biDirectional graph. Remove all the vertex connections which are not bidirectional,
-        //converting the graph to uniDirectional. This is compulsorz for current impl.
-        g.removeNonBidirectionalConnections();
+        //Vertices with fewer than SET_SIZE_THRESHOLD - 1 mutual neighbours, even after discarding other such vertices,
+        //cannot be part of any cluster.
+        final PhaseMetrics core = metrics.startPhase("core");
+        final BaseAbsGraph<Integer, Integer> g;
+        if (mutualGraph instanceof CompactGraph) {
+            g = ((CompactGraph<Integer>) mutualGraph).withoutVerticesBelowCore(SET_SIZE_THRESHOLD - 1);
+        } else {
+            ((NoEdgeInfoGraph<Integer>) mutualGraph).removeVerticesBelowCore(SET_SIZE_THRESHOLD - 1);
+            g = mutualGraph;
+        }
+        core.end();
+        core.setCount("removed_vertices", ingestion.getCount("vertices") - g.vertexSet().size());
+        core.setCount("vertices", g.vertexSet().size());
+        core.setCount("edges", g.edgeCount());
 
         Log.debug(g.toString());
 
-        //Find all maximal cliques on the graph
-        BronKerboschCliqueFinder<String, String> finder = new BronKerboschCliqueFinder<String, String>(g);
-        final Collection<Set<String>> result = finder.getAllMaximalCliques();
+        //Find all maximal cliques on the graph. No clique spans two connected components, so each component big enough
+        //to hold a cluster is searched on its own, concurrently with the other ones; dense components are searched over
+        //a bit matrix. Cliques are streamed from the finder, and only the ones big enough to be printed are kept,
+        //already sorted.
+        final PhaseMetrics search = metrics.startPhase("search");
+        final ComponentCliqueFinder<Integer, Integer> finder = new ComponentCliqueFinder<Integer, Integer>(g);
+        finder.setMinimumCliqueSize(SET_SIZE_THRESHOLD);
+        finder.setThreadFactory(search.getWorkers().forkJoinThreadFactory());
+        final Set<List<String>> sortedResult = new TreeSet<List<String>>(CLUSTER_COMPARATOR);
+        final long[] cliques = new long[1];
+        finder.findCliques(new CliqueVisitor<Integer>() {
+            @Override
+            public synchronized void visitClique(List<Integer> clique) {
+                cliques[0]++;
+                if (clique.size() >= SET_SIZE_THRESHOLD) {
+                    final List<String> cluster = new ArrayList<String>(clique.size());
+                    for (Integer user : clique) {
+                        cluster.add(users.symbolOf(user));
+                    }
+                    Collections.sort(cluster);
+                    sortedResult.add(cluster);
+                }
+            }
+        });
+        search.end();
+        search.setCount("recursion_nodes", finder.getRecursionNodeCount());
+        search.setCount("cliques", cliques[0]);
+        search.setCount("clusters", sortedResult.size());
+        search.setCount("workers", search.getWorkers().getThreadCount());
 
-        //Sort the retrieved result and print them
-        final List<List<String>> sortedResult = sortClusters(result);
+        //Print the sorted clusters
+        final PhaseMetrics output = metrics.startPhase("output");
+        final PrintWriter writer = new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out)));
         for (List<String> set : sortedResult) {
-            if (set.size() >= SET_SIZE_THRESHOLD) {
-                System.out.println(prettyPrint(set));
-            } else {
-                Log.debug("Got cluster \'" + prettyPrint(set) + "\', but did not reach the minimum length");
+            writer.println(prettyPrint(set));
+        }
+        writer.flush();
+        output.end();
+        output.setCount("lines", sortedResult.size());
+
+        final String metricsDestination = System.getProperty(MetricsRegistry.PROPERTY);
+        if (metricsDestination != null) {
+            try {
+                metrics.writeJson(metricsDestination);
+            } catch (IOException e) {
+                Log.error("The metrics could not be written to " + metricsDestination + ": " + e.getMessage());
             }
         }
     }
 
+    /**
+     * Parses the file of the given provider into the graph of its mutual connections, ending the given phase once done.
+     * A single thread parses the file from the current one into a {@link NoEdgeInfoGraph}; several threads are workers
+     * of the phase, and the graph they build is frozen into a {@link CompactGraph}.
+     *
+     * @param provider  the provider of the file to parse
+     * @param ingestion the phase to end once the graph is built, where the counts of the ingestion are set
+     * @param threads   the number of threads parsing the file. Must be positive
+     * @return the graph of the mutual connections, or null if the file could not be read
+     */
+    public static BaseAbsGraph<Integer, Integer> ingest(final FaceBookDataProvider provider,
+                                                        final PhaseMetrics ingestion, final int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("The number of threads must be positive");
+        }
+        return threads == 1 ? ingestSequentially(provider, ingestion) : ingestInParallel(provider, ingestion, threads);
+    }
+
+    private static NoEdgeInfoGraph<Integer> ingestSequentially(final FaceBookDataProvider provider,
+                                                               final PhaseMetrics ingestion) {
+        final MutualGraphBuilder builder = new MutualGraphBuilder();
+        final long[] records = new long[1];
+        final boolean read = provider.forEach(new DataConsumer<FacebookData>() {
+            @Override
+            public void consume(FacebookData data) {
+                records[0]++;
+                builder.addConnection(data.getSourceUserId(), data.getTargetUserId());
+            }
+        });
+        if (!read) {
+            return null;
+        }
+        final NoEdgeInfoGraph<Integer> graph = builder.getGraph();
+        ingestion.end();
+        ingestion.setCount("records", records[0]);
+        ingestion.setCount("directed_connections", builder.getConnectionCount());
+        return graph;
+    }
+
+    private static CompactGraph<Integer> ingestInParallel(final FaceBookDataProvider provider,
+                                                          final PhaseMetrics ingestion, final int threads) {
+        final ConcurrentGraphBuilder<Integer> builder = new ConcurrentGraphBuilder<Integer>();
+        final AtomicLong records = new AtomicLong();
+        final AtomicLong connections = new AtomicLong();
+        final boolean read = provider.forEach(new DataConsumer<FacebookData>() {
+            @Override
+            public void consume(FacebookData data) {
+                records.incrementAndGet();
+                if (builder.addConnection(data.getSourceUserId(), data.getTargetUserId())) {
+                    connections.incrementAndGet();
+                }
+            }
+        }, threads, ingestion.getWorkers().threadFactory());
+        if (!read) {
+            return null;
+        }
+        final CompactGraph<Integer> graph = builder.freezeMutual();
+        ingestion.end();
+        ingestion.setCount("records", records.get());
+        ingestion.setCount("directed_connections", connections.get());
+        ingestion.setCount("workers", ingestion.getWorkers().getThreadCount());
+        return graph;
+    }
+
+    /**
+     * Returns the number of threads set through {@link #THREADS_PROPERTY}, 1 if it is not set, or -1 if it is not a
+     * positive number.
+     *
+     * @param property the value of the property, or null if it is not set
+     */
+    public static int threadCount(final String property) {
+        if (property == null) {
+            return 1;
+        }
+        try {
+            final int threads = Integer.parseInt(property.trim());
+            return threads > 0 ? threads : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
     /**
      * Validates the input parameters for the main method of {@link PeakTraffic} program. Possible return types are
      * defined by {@link PeakTraffic.PeakTrafficResult}
@@ -128,15 +312,8 @@ public class PeakTraffic {
             container.add(currentList);
         }
 
-        //At this point we have a List containing alphabetically sorted list. Let's sort the top level list,
-        // comparing the first element of each list
-        final Comparator<List<String>> comparator = new Comparator<List<String>>() {
-            @Override
-            public int compare(List<String> strings, List<String> strings2) {
-                return strings.get(0).compareTo(strings2.get(0));
-            }
-        };
-        Collections.sort(container, comparator);
+        //At this point we have a List containing alphabetically sorted list. Let's sort the top level list
+        Collections.sort(container, CLUSTER_COMPARATOR);
         return container;
     }
 
@@ -0,0 +1,135 @@
+package main;
+
+import Log.Log;
+import data.FacebookData;
+import data.provider.DataConsumer;
+import data.provider.FaceBookDataProvider;
+import data.provider.SymbolTable;
+import graph.SlidingWindowClusterer;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Windowed variant of {@link PeakTraffic}. Instead of finding the clusters of the whole log, it prints the clusters of
+ * the interactions within a trailing window every time the given step has passed, e.g. the clusters of the last 24
+ * hours every hour. The clusters are kept up to date through a {@link SlidingWindowClusterer}, so each report only
+ * searches the neighbourhoods which changed since the previous one.
+ * <p/>
+ * It takes three arguments: the path to the log, the window length in hours and the step in hours. The lines of the log
+ * must be sorted by date. Each report starts with a {@code "# <seconds since the epoch>"} line holding the end of its
+ * window, followed by its clusters in the same format as {@link PeakTraffic}.
+ */
+public class WindowedPeakTraffic {
+
+    private static final int SET_SIZE_THRESHOLD = 3;
+
+    private static final long SECONDS_PER_HOUR = 3600;
+
+    /*  Return code when the window length or the step are not valid, following the ones of PeakTrafficResult  */
+    private static final int INVALID_WINDOW_RETURN_CODE = 40;
+
+    public static void main(String[] args) {
+        //Validate input arguments
+        if (args == null || args.length == 0) {
+            exit(PeakTraffic.PeakTrafficResult.NO_FILE_PROVIDED);
+        } else if (args.length > 3) {
+            exit(PeakTraffic.PeakTrafficResult.TOO_MANY_ARGUMENTS);
+        }
+        final PeakTraffic.PeakTrafficResult validationResult = PeakTraffic.validateInput(new String[]{args[0]});
+        if (validationResult != PeakTraffic.PeakTrafficResult.OK) {
+            exit(validationResult);
+        }
+        final long window = parseHours(args, 1);
+        final long step = parseHours(args, 2);
+
+        final FaceBookDataProvider provider = new FaceBookDataProvider(new File(args[0]).getPath(),
+                FaceBookDataProvider.DateMode.EPOCH_SECONDS);
+        final SymbolTable users = provider.getSymbolTable();
+        final SlidingWindowClusterer<Integer> clusterer = new SlidingWindowClusterer<Integer>(window, SET_SIZE_THRESHOLD);
+        final PrintWriter writer = new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out)));
+
+        final boolean read = provider.forEach(new DataConsumer<FacebookData>() {
+
+            private long nextReport = Long.MIN_VALUE;
+
+            @Override
+            public void consume(FacebookData data) {
+                final long time = data.getCommunicationTime();
+                if (nextReport == Long.MIN_VALUE) {
+                    nextReport = time + step;
+                }
+                //Report every step the log went through before this interaction
+                while (time >= nextReport) {
+                    clusterer.advanceTo(nextReport);
+                    printClusters(writer, clusterer, users);
+                    nextReport += step;
+                }
+                clusterer.addInteraction(data.getSourceUserId(), data.getTargetUserId(), time);
+            }
+        });
+
+        //The windows already reported stay valid, but the last one would miss the unread part of the log
+        if (!read) {
+            writer.flush();
+            exit(PeakTraffic.PeakTrafficResult.READ_ERROR);
+        }
+
+        //Report the window ending at the last interaction
+        printClusters(writer, clusterer, users);
+        writer.flush();
+    }
+
+    private static void exit(final PeakTraffic.PeakTrafficResult result) {
+        Log.error(result.getMessage());
+        System.exit(result.getReturnCode());
+    }
+
+    /**
+     * Returns the number of seconds for the positive number of hours given as the argument at the given index, exiting
+     * if it is missing or not valid.
+     */
+    private static long parseHours(final String[] args, final int index) {
+        try {
+            if (args.length > index) {
+                final long hours = Long.parseLong(args[index]);
+                if (hours > 0) {
+                    return hours * SECONDS_PER_HOUR;
+                }
+            }
+        } catch (NumberFormatException e) {
+            //Reported below
+        }
+        Log.error("The window length and the step must be given as a positive number of hours");
+        System.exit(INVALID_WINDOW_RETURN_CODE);
+        return 0;
+    }
+
+    /**
+     * Prints the current clusters of the given clusterer, alphabetically sorted.
+     */
+    private static void printClusters(final PrintWriter writer, final SlidingWindowClusterer<Integer> clusterer,
+                                      final SymbolTable users) {
+        final Set<List<String>> sortedResult = new TreeSet<List<String>>(PeakTraffic.CLUSTER_COMPARATOR);
+        for (Set<Integer> clique : clusterer.getClusters()) {
+            final List<String> cluster = new ArrayList<String>(clique.size());
+            for (Integer user : clique) {
+                cluster.add(users.symbolOf(user));
+            }
+            Collections.sort(cluster);
+            sortedResult.add(cluster);
+        }
+
+        writer.println("# " + clusterer.getCurrentTime());
+        for (List<String> cluster : sortedResult) {
+            writer.println(PeakTraffic.prettyPrint(cluster));
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package metrics;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Registry of the {@link PhaseMetrics} of a run, e.g. parsing, graph build and clique search, which can be written out as
+ * JSON at any time:
+ * <pre>
+ * {
+ *   "phases": [
+ *     {"name": "search", "wall_nanos": 1520300, "cpu_nanos": 1490000, "thread_cpu_nanos": 1410000,
+ *      "allocated_bytes": 104856, "counts": {"recursion_nodes": 36, "cliques": 2}}
+ *   ]
+ * }
+ * </pre>
+ * Measures which the JVM cannot take are written as {@code null}. Phases are listed in the order they were started;
+ * phases still running are written with the measures taken up to now.
+ * <p/>
+ * Measuring a phase takes a handful of calls to the management beans when it starts and ends, so phases are meant to be
+ * coarse. Counts are set by the code running the phase, which should accumulate them in local variables while working.
+ */
+public class MetricsRegistry {
+
+    /**
+     * System property holding where {@code main.PeakTraffic} writes the metrics of its run once it is done: a file path,
+     * or {@link #STANDARD_ERROR} for the error output. No metrics are written if the property is not set.
+     */
+    public static final String PROPERTY = "peaktraffic.metrics";
+
+    /**
+     * Destination for {@link #writeJson(String)} standing for the error output.
+     */
+    public static final String STANDARD_ERROR = "-";
+
+    private final List<PhaseMetrics> phases = new ArrayList<PhaseMetrics>();
+
+    /**
+     * Starts measuring a new phase from the current thread. The returned phase must be ended through
+     * {@link PhaseMetrics#end()}.
+     *
+     * @param name the name of the phase. Must be unique within the registry
+     */
+    public synchronized PhaseMetrics startPhase(final String name) {
+        if (name == null || name.isEmpty()) {
+            throw new IllegalArgumentException("The name of a phase cannot be empty");
+        }
+        if (getPhase(name) != null) {
+            throw new IllegalArgumentException("The phase " + name + " was already started");
+        }
+        final PhaseMetrics phase = new PhaseMetrics(name);
+        phases.add(phase);
+        return phase;
+    }
+
+    /**
+     * Returns the phase with the given name, or null if it was never started.
+     *
+     * @param name
+     */
+    public synchronized PhaseMetrics getPhase(final String name) {
+        for (PhaseMetrics phase : phases) {
+            if (phase.getName().equals(name)) {
+                return phase;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns all the phases started so far, in the order they were started.
+     */
+    public synchronized List<PhaseMetrics> getPhases() {
+        return Collections.unmodifiableList(new ArrayList<PhaseMetrics>(phases));
+    }
+
+    /**
+     * Returns the JSON representation of all the phases started so far.
+     */
+    public String toJson() {
+        final StringBuilder json = new StringBuilder("{\n  \"phases\": [");
+        final List<PhaseMetrics> phases = getPhases();
+        for (int i = 0; i < phases.size(); i++) {
+            json.append(i == 0 ? "\n    " : ",\n    ");
+            appendPhase(json, phases.get(i));
+        }
+        return json.append(phases.isEmpty() ? "]\n}\n" : "\n  ]\n}\n").toString();
+    }
+
+    /**
+     * Writes the JSON representation of all the phases started so far to the given writer, which is flushed but not
+     * closed.
+     *
+     * @param writer
+     * @throws IOException
+     */
+    public void writeJson(final Writer writer) throws IOException {
+        writer.write(toJson());
+        writer.flush();
+    }
+
+    /**
+     * Writes the JSON representation of all the phases started so far to the given file, replacing it, or to the error
+     * output if the destination is {@link #STANDARD_ERROR}.
+     *
+     * @param destination
+     * @throws IOException
+     */
+    public void writeJson(final String destination) throws IOException {
+        if (STANDARD_ERROR.equals(destination)) {
+            final PrintWriter writer = new PrintWriter(System.err);
+            writer.write(toJson());
+            writer.flush();
+            return;
+        }
+        final Writer writer = new OutputStreamWriter(new FileOutputStream(new File(destination)),
+                Charset.forName("UTF-8"));
+        try {
+            writeJson(writer);
+        } finally {
+            writer.close();
+        }
+    }
+
+    private static void appendPhase(StringBuilder json, PhaseMetrics phase) {
+        json.append("{\"name\": ");
+        appendString(json, phase.getName());
+        json.append(", \"wall_nanos\": ").append(phase.getWallNanos());
+        appendMeasure(json, "cpu_nanos", phase.getCpuNanos());
+        appendMeasure(json, "thread_cpu_nanos", phase.getThreadCpuNanos());
+        appendMeasure(json, "allocated_bytes", phase.getAllocatedBytes());
+        json.append(", \"counts\": {");
+        boolean first = true;
+        for (Map.Entry<String, Long> count : phase.getCounts().entrySet()) {
+            if (!first) {
+                json.append(", ");
+            }
+            first = false;
+            appendString(json, count.getKey());
+            json.append(": ").append(count.getValue());
+        }
+        json.append("}}");
+    }
+
+    private static void appendMeasure(StringBuilder json, String name, long value) {
+        json.append(", \"").append(name).append("\": ");
+        if (value < 0) {
+            json.append("null");
+        } else {
+            json.append(value);
+        }
+    }
+
+    /**
+     * Appends the given string as a JSON string literal, escaping quotes, backslashes and control characters.
+     */
+    static void appendString(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c == '\n') {
+                json.append("\\n");
+            } else if (c == '\t') {
+                json.append("\\t");
+            } else if (c < 0x20) {
+                json.append(String.format("\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        json.append('"');
+    }
+}
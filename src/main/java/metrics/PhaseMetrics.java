@@ -0,0 +1,213 @@
+package metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Resources used by a phase of a run, from the moment it was started through {@link MetricsRegistry#startPhase(String)}
+ * until {@link #end()} is called, plus any number of named counts (e.g. records parsed or vertices left) set by the
+ * code running the phase.
+ * <p/>
+ * The measures are taken from the JVM management beans:
+ * <ul>
+ * <li>wall time, from {@link System#nanoTime()}.</li>
+ * <li>CPU time of the whole process, which includes the worker threads a phase may use as well as the garbage
+ * collector and the compiler threads.</li>
+ * <li>CPU time of the thread which started the phase and of its workers.</li>
+ * <li>bytes allocated by the thread which started the phase and by its workers, through
+ * {@code com.sun.management.ThreadMXBean}.</li>
+ * </ul>
+ * The workers of a phase are the threads created through the factories of {@link #getWorkers()}, e.g. the pool threads
+ * of a parallel clique search.
+ * <p/>
+ * Measures which the running JVM does not support are reported as -1. All the methods are thread safe, so a phase can
+ * be inspected from another thread while it is running.
+ */
+public class PhaseMetrics {
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final OperatingSystemMXBean OPERATING_SYSTEM = ManagementFactory.getOperatingSystemMXBean();
+
+    private final String name;
+    private final long threadId;
+
+    private final long startWall;
+    private final long startCpu;
+    private final long startThreadCpu;
+    private final long startAllocated;
+
+    private final WorkerResources workers = new WorkerResources();
+
+    /*  Measures taken when the phase ended. Meaningless until then  */
+    private boolean ended;
+    private long endWall;
+    private long endCpu;
+    private long endThreadCpu;
+    private long endAllocated;
+    private long endWorkerCpu;
+    private long endWorkerAllocated;
+
+    private final Map<String, Long> counts = new LinkedHashMap<String, Long>();
+
+    /**
+     * Starts measuring a new phase from the current thread.
+     *
+     * @param name
+     */
+    PhaseMetrics(final String name) {
+        this.name = name;
+        threadId = Thread.currentThread().getId();
+        startWall = System.nanoTime();
+        startCpu = processCpuTime();
+        startThreadCpu = threadCpuTime(threadId);
+        startAllocated = threadAllocatedBytes(threadId);
+    }
+
+    /**
+     * Returns the name of the phase.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Stops measuring the phase. Counts can still be set afterwards.
+     */
+    public synchronized void end() {
+        if (ended) {
+            throw new IllegalStateException("The phase " + name + " has already ended");
+        }
+        endWall = System.nanoTime();
+        endCpu = processCpuTime();
+        endThreadCpu = threadCpuTime(threadId);
+        endAllocated = threadAllocatedBytes(threadId);
+        endWorkerCpu = workers.getCpuNanos();
+        endWorkerAllocated = workers.getAllocatedBytes();
+        ended = true;
+    }
+
+    /**
+     * Returns the workers of the phase. Threads working for the phase should be created through its factories, so their
+     * resources are added to the ones of the phase.
+     */
+    public WorkerResources getWorkers() {
+        return workers;
+    }
+
+    /**
+     * Returns if {@link #end()} was called for this phase.
+     */
+    public synchronized boolean isEnded() {
+        return ended;
+    }
+
+    /**
+     * Returns the wall time of the phase in nanoseconds, up to now if it did not end yet.
+     */
+    public synchronized long getWallNanos() {
+        return (ended ? endWall : System.nanoTime()) - startWall;
+    }
+
+    /**
+     * Returns the CPU time used by the whole process during the phase in nanoseconds, up to now if it did not end yet,
+     * or -1 if it cannot be measured.
+     */
+    public synchronized long getCpuNanos() {
+        return difference(startCpu, ended ? endCpu : processCpuTime());
+    }
+
+    /**
+     * Returns the CPU time used during the phase by the thread which started it and by its workers in nanoseconds, up
+     * to now if it did not end yet, or -1 if it cannot be measured.
+     */
+    public synchronized long getThreadCpuNanos() {
+        return sum(difference(startThreadCpu, ended ? endThreadCpu : threadCpuTime(threadId)),
+                ended ? endWorkerCpu : workers.getCpuNanos());
+    }
+
+    /**
+     * Returns the bytes allocated during the phase by the thread which started it and by its workers, up to now if it
+     * did not end yet, or -1 if they cannot be measured.
+     */
+    public synchronized long getAllocatedBytes() {
+        return sum(difference(startAllocated, ended ? endAllocated : threadAllocatedBytes(threadId)),
+                ended ? endWorkerAllocated : workers.getAllocatedBytes());
+    }
+
+    /**
+     * Sets the value of the given count, replacing its previous value if it was already set.
+     *
+     * @param count the name of the count
+     * @param value
+     */
+    public synchronized void setCount(final String count, final long value) {
+        if (count == null || count.isEmpty()) {
+            throw new IllegalArgumentException("The name of a count cannot be empty");
+        }
+        counts.put(count, value);
+    }
+
+    /**
+     * Adds the given amount to the given count, which starts from 0 if it was not set yet.
+     *
+     * @param count  the name of the count
+     * @param amount
+     */
+    public synchronized void addCount(final String count, final long amount) {
+        final Long value = counts.get(count);
+        setCount(count, value == null ? amount : value + amount);
+    }
+
+    /**
+     * Returns the value of the given count, or 0 if it was never set.
+     *
+     * @param count the name of the count
+     */
+    public synchronized long getCount(final String count) {
+        final Long value = counts.get(count);
+        return value == null ? 0 : value;
+    }
+
+    /**
+     * Returns a copy of all the counts of the phase, in the order they were first set.
+     */
+    public synchronized Map<String, Long> getCounts() {
+        return Collections.unmodifiableMap(new LinkedHashMap<String, Long>(counts));
+    }
+
+    private static long difference(long start, long end) {
+        return start < 0 || end < 0 ? -1 : end - start;
+    }
+
+    private static long sum(long value, long other) {
+        return value < 0 || other < 0 ? -1 : value + other;
+    }
+
+    private static long processCpuTime() {
+        if (OPERATING_SYSTEM instanceof com.sun.management.OperatingSystemMXBean) {
+            return ((com.sun.management.OperatingSystemMXBean) OPERATING_SYSTEM).getProcessCpuTime();
+        }
+        return -1;
+    }
+
+    static long threadCpuTime(long threadId) {
+        if (THREADS.isThreadCpuTimeSupported() && THREADS.isThreadCpuTimeEnabled()) {
+            return THREADS.getThreadCpuTime(threadId);
+        }
+        return -1;
+    }
+
+    static long threadAllocatedBytes(long threadId) {
+        if (THREADS instanceof com.sun.management.ThreadMXBean) {
+            final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) THREADS;
+            if (threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+                return threads.getThreadAllocatedBytes(threadId);
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,156 @@
+package metrics;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * CPU time and bytes allocated by the worker threads of a {@link PhaseMetrics}, e.g. the threads of the pool searching
+ * the cliques. The JVM forgets the measures of a thread once it dies, and pools are usually shut down before their phase
+ * ends, so the workers have to be created through {@link #threadFactory()} or {@link #forkJoinThreadFactory()}: each
+ * thread created by them records its own totals right before terminating.
+ * <p/>
+ * The totals include the threads still running, measured up to now, so they can be read at any time. All the methods
+ * are thread safe.
+ */
+public class WorkerResources {
+
+    /*  Threads created so far, and the totals of the ones which terminated  */
+    private final List<Thread> threads = new ArrayList<Thread>();
+    private final Set<Thread> terminated = new HashSet<Thread>();
+    private long terminatedCpu;
+    private long terminatedAllocated;
+
+    WorkerResources() {
+    }
+
+    /**
+     * Returns a factory for the threads of an {@link java.util.concurrent.ExecutorService} whose resources are added to
+     * these ones.
+     */
+    public ThreadFactory threadFactory() {
+        return new ThreadFactory() {
+            @Override
+            public Thread newThread(final Runnable runnable) {
+                final Thread thread = new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            runnable.run();
+                        } finally {
+                            record();
+                        }
+                    }
+                });
+                thread.setDaemon(true);
+                register(thread);
+                return thread;
+            }
+        };
+    }
+
+    /**
+     * Returns a factory for the threads of a {@link ForkJoinPool} whose resources are added to these ones.
+     */
+    public ForkJoinPool.ForkJoinWorkerThreadFactory forkJoinThreadFactory() {
+        return new ForkJoinPool.ForkJoinWorkerThreadFactory() {
+            @Override
+            public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+                final ForkJoinWorkerThread thread = new MeasuredWorkerThread(pool);
+                register(thread);
+                return thread;
+            }
+        };
+    }
+
+    /**
+     * Returns the number of threads created through the factories.
+     */
+    public synchronized int getThreadCount() {
+        return threads.size();
+    }
+
+    /**
+     * Returns the CPU time used by all the threads created through the factories in nanoseconds, or -1 if it cannot be
+     * measured.
+     */
+    public synchronized long getCpuNanos() {
+        if (PhaseMetrics.threadCpuTime(Thread.currentThread().getId()) < 0) {
+            return -1;
+        }
+        long total = terminatedCpu;
+        for (Thread thread : threads) {
+            total += measure(thread, true);
+        }
+        return total;
+    }
+
+    /**
+     * Returns the bytes allocated by all the threads created through the factories, or -1 if they cannot be measured.
+     */
+    public synchronized long getAllocatedBytes() {
+        if (PhaseMetrics.threadAllocatedBytes(Thread.currentThread().getId()) < 0) {
+            return -1;
+        }
+        long total = terminatedAllocated;
+        for (Thread thread : threads) {
+            total += measure(thread, false);
+        }
+        return total;
+    }
+
+    /**
+     * Returns the current measure of the given running thread, or 0 if it terminated, as its totals are already
+     * recorded. A thread records its totals before dying, so a thread which cannot be measured anymore has been
+     * recorded.
+     */
+    private long measure(Thread thread, boolean cpu) {
+        if (terminated.contains(thread)) {
+            return 0;
+        }
+        final long value = cpu ? PhaseMetrics.threadCpuTime(thread.getId())
+                : PhaseMetrics.threadAllocatedBytes(thread.getId());
+        return Math.max(0, value);
+    }
+
+    private synchronized void register(Thread thread) {
+        threads.add(thread);
+    }
+
+    /**
+     * Records the totals of the current thread, which is about to terminate.
+     */
+    private void record() {
+        final Thread current = Thread.currentThread();
+        final long cpu = PhaseMetrics.threadCpuTime(current.getId());
+        final long allocated = PhaseMetrics.threadAllocatedBytes(current.getId());
+        synchronized (this) {
+            terminatedCpu += Math.max(0, cpu);
+            terminatedAllocated += Math.max(0, allocated);
+            terminated.add(current);
+        }
+    }
+
+    /**
+     * Fork/join worker recording its totals when it terminates.
+     */
+    private final class MeasuredWorkerThread extends ForkJoinWorkerThread {
+
+        MeasuredWorkerThread(ForkJoinPool pool) {
+            super(pool);
+        }
+
+        @Override
+        protected void onTermination(Throwable exception) {
+            try {
+                record();
+            } finally {
+                super.onTermination(exception);
+            }
+        }
+    }
+}
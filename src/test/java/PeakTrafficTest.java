@@ -1,7 +1,11 @@
 import org.junit.Test;
 
+import java.util.*;
+
 import static main.PeakTraffic.PeakTrafficResult;
 import static main.PeakTraffic.PeakTrafficResult.*;
+import static main.PeakTraffic.sortClusters;
+import static main.PeakTraffic.threadCount;
 import static main.PeakTraffic.validateInput;
 import static org.junit.Assert.assertEquals;
 
@@ -42,4 +46,27 @@ public class PeakTrafficTest {
         assertEquals("Expected too many arguments error when providing two input values", OK, validationResult);
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testThreadCount() {
+        assertEquals("A single thread is used by default", 1, threadCount(null));
+        assertEquals(4, threadCount("4"));
+        assertEquals(4, threadCount(" 4 "));
+        assertEquals(-1, threadCount("0"));
+        assertEquals(-1, threadCount("-2"));
+        assertEquals(-1, threadCount("many"));
+    }
+
+    @Test
+    public void testSortClustersSameFirstElement() {
+        final Set<String> first = new HashSet<String>(Arrays.asList("c", "a", "d"));
+        final Set<String> second = new HashSet<String>(Arrays.asList("b", "a", "c"));
+
+        final List<List<String>> expected = Arrays.asList(Arrays.asList("a", "b", "c"), Arrays.asList("a", "c", "d"));
+        final List<Set<String>> clusters = new ArrayList<Set<String>>(Arrays.asList(first, second));
+        assertEquals("Clusters sharing the first element should be sorted by the following ones", expected, sortClusters(clusters));
+
+        Collections.reverse(clusters);
+        assertEquals("The sorting should not depend on the order of the given clusters", expected, sortClusters(clusters));
+    }
+
+}
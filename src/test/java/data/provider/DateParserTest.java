@@ -0,0 +1,54 @@
+package data.provider;
+
+import org.junit.Test;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TimeZone;
+
+import static org.junit.Assert.*;
+
+public class DateParserTest {
+
+    @Test
+    public void testParseEpochSeconds() {
+        assertEquals(1229046781L, DateParser.parseEpochSeconds("Thu Dec 11 17:53:01 PST 2008"));
+        assertEquals(0L, DateParser.parseEpochSeconds("Thu Jan 1 00:00:00 UTC 1970"));
+        assertEquals(-1L, DateParser.parseEpochSeconds("Wed Dec 31 23:59:59 GMT 1969"));
+        assertEquals("Extra whitespace should be ignored", 1229046781L,
+                DateParser.parseEpochSeconds("  Thu  Dec 11\t17:53:01 PST  2008 "));
+    }
+
+    @Test
+    public void testParseEpochSecondsSameAsSimpleDateFormat() throws Exception {
+        final SimpleDateFormat format = new SimpleDateFormat("EEE MMM d HH:mm:ss zzz yyyy", Locale.US);
+        final Random random = new Random(42);
+        for (String zone : new String[]{"UTC", "EST", "PST"}) {
+            format.setTimeZone(TimeZone.getTimeZone(zone));
+            for (int i = 0; i < 1000; i++) {
+                //Random dates between 1901 and 2037
+                final long millis = (random.nextLong() % (Integer.MAX_VALUE * 1000L)) / 1000 * 1000;
+                final String date = format.format(new Date(millis));
+                if (date.contains(" " + zone + " ")) {
+                    assertEquals(date, millis / 1000, DateParser.parseEpochSeconds(date));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testParseEpochSecondsMalformed() {
+        for (String date : new String[]{"", "Thu", "Thu Dec 11 17:53 PST 2008", "Thu Foo 11 17:53:01 PST 2008",
+                "Thu Dec 11 17:53:01 XYZ 2008", "Thu Dec 11 17:53:01 PST", "Thu Dec 11 17:53:01 PST 2008 extra",
+                "Thu Dec 32 17:53:01 PST 2008", "Thu Dec 11 24:53:01 PST 2008", "Thu Dec 1a 17:53:01 PST 2008"}) {
+            try {
+                DateParser.parseEpochSeconds(date);
+                fail("Expected IllegalArgumentException when parsing the malformed date '" + date + "'");
+            } catch (IllegalArgumentException e) {
+                //expected
+            }
+        }
+    }
+}
@@ -45,4 +45,123 @@ public class FaceBookDataProviderTest {
             fail("No exception was expected when getting elements from a valid file");
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testDataFromStringSeparators() {
+        final FaceBookDataProvider provider = new FaceBookDataProvider("./src/test/resources/inputFacebook.txt");
+        final FacebookData expected = new FacebookDataImpl("Thu Dec 11 17:53:01 PST 2008", "a@facebook.com", "b@facebook.com");
+
+        assertEquals("Fields separated by tabs should be parsed", expected,
+                provider.dataFromString("Thu Dec 11 17:53:01 PST 2008\ta@facebook.com\tb@facebook.com"));
+        assertEquals("Fields separated by runs of spaces should be parsed", expected,
+                provider.dataFromString("Thu Dec 11 17:53:01 PST 2008  a@facebook.com     b@facebook.com"));
+        assertEquals("Leading and trailing whitespace should be ignored", expected,
+                provider.dataFromString("  Thu Dec 11 17:53:01 PST 2008 \t a@facebook.com\t b@facebook.com \r"));
+    }
+
+    @Test
+    public void testDataFromStringMalformed() {
+        final FaceBookDataProvider provider = new FaceBookDataProvider("./src/test/resources/inputFacebook.txt");
+        for (String line : new String[]{"", "   ", "a@facebook.com", "a@facebook.com    b@facebook.com"}) {
+            try {
+                provider.dataFromString(line);
+                fail("Expected IllegalArgumentException when parsing the malformed line '" + line + "'");
+            } catch (IllegalArgumentException e) {
+                //expected
+            }
+        }
+    }
+
+    @Test
+    public void testDataFromBytes() throws Exception {
+        final FaceBookDataProvider provider = new FaceBookDataProvider("./src/test/resources/inputFacebook.txt");
+        final byte[] line = "xxThu Dec 11 17:53:01 PST 2008\ta@facebook.com   b@facebook.com \rxx".getBytes("UTF-8");
+        final FacebookData data = provider.dataFromBytes(line, 2, line.length - 4);
+        assertEquals(new FacebookDataImpl("Thu Dec 11 17:53:01 PST 2008", "a@facebook.com", "b@facebook.com"), data);
+        assertEquals(2, provider.getUserCount());
+    }
+
+    @Test
+    public void testDataFromBytesSharesUsers() throws Exception {
+        final FaceBookDataProvider provider = new FaceBookDataProvider("./src/test/resources/inputFacebook.txt");
+        final byte[] first = "Thu Dec 11 17:53:01 PST 2008    a@facebook.com    b@facebook.com".getBytes("UTF-8");
+        final byte[] second = "Thu Dec 11 17:53:02 PST 2008    b@facebook.com    a@facebook.com".getBytes("UTF-8");
+        final FacebookData firstData = provider.dataFromBytes(first, 0, first.length);
+        final FacebookData secondData = provider.dataFromBytes(second, 0, second.length);
+        assertSame("Repeated users should share the same String", firstData.getSourceUser(), secondData.getTargetUser());
+        assertSame("Repeated users should share the same String", firstData.getTargetUser(), secondData.getSourceUser());
+        assertEquals(2, provider.getUserCount());
+    }
+
+    @Test
+    public void testDataFromBytesMalformed() throws Exception {
+        final FaceBookDataProvider provider = new FaceBookDataProvider("./src/test/resources/inputFacebook.txt");
+        for (String line : new String[]{"", "   ", "a@facebook.com", "a@facebook.com    b@facebook.com"}) {
+            final byte[] bytes = line.getBytes("UTF-8");
+            try {
+                provider.dataFromBytes(bytes, 0, bytes.length);
+                fail("Expected IllegalArgumentException when parsing the malformed line '" + line + "'");
+            } catch (IllegalArgumentException e) {
+                //expected
+            }
+        }
+    }
+
+    @Test
+    public void testUserIds() throws Exception {
+        final FaceBookDataProvider provider = new FaceBookDataProvider("./src/test/resources/inputFacebook.txt");
+        final byte[] line = "Thu Dec 11 17:53:02 PST 2008    b@facebook.com    c@facebook.com".getBytes("UTF-8");
+        final FacebookData first = provider.dataFromString("Thu Dec 11 17:53:01 PST 2008    a@facebook.com    b@facebook.com");
+        final FacebookData second = provider.dataFromBytes(line, 0, line.length);
+
+        //Both parsing paths share the same ids
+        assertEquals(0, first.getSourceUserId());
+        assertEquals(1, first.getTargetUserId());
+        assertEquals(1, second.getSourceUserId());
+        assertEquals(2, second.getTargetUserId());
+        assertEquals("c@facebook.com", provider.getSymbolTable().symbolOf(second.getTargetUserId()));
+        assertEquals(-1, new FacebookDataImpl("Thu Dec 11 17:53:01 PST 2008", "a@facebook.com", "b@facebook.com").getSourceUserId());
+    }
+
+    @Test
+    public void testDateModes() throws Exception {
+        final String text = "Thu Dec 11 17:53:01 PST 2008    a@facebook.com    b@facebook.com";
+        final byte[] line = text.getBytes("UTF-8");
+        final long time = 1229046781L;
+
+        for (FaceBookDataProvider.DateMode mode : FaceBookDataProvider.DateMode.values()) {
+            final FaceBookDataProvider provider = new FaceBookDataProvider("./src/test/resources/inputFacebook.txt", mode);
+            assertEquals(mode, provider.getDateMode());
+            for (FacebookData data : new FacebookData[]{provider.dataFromString(text), provider.dataFromBytes(line, 0, line.length)}) {
+                assertEquals("a@facebook.com", data.getSourceUser());
+                assertEquals("b@facebook.com", data.getTargetUser());
+                switch (mode) {
+                    case STRING:
+                    case LAZY:
+                        assertEquals("Thu Dec 11 17:53:01 PST 2008", data.getCommunicationDate());
+                        assertEquals(time, data.getCommunicationTime());
+                        break;
+                    case EPOCH_SECONDS:
+                        assertNull(data.getCommunicationDate());
+                        assertEquals(time, data.getCommunicationTime());
+                        break;
+                    case SKIP:
+                        assertNull(data.getCommunicationDate());
+                        assertEquals(FacebookData.NO_TIME, data.getCommunicationTime());
+                        break;
+                }
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEpochSecondsMalformedDate() {
+        new FaceBookDataProvider("./src/test/resources/inputFacebook.txt", FaceBookDataProvider.DateMode.EPOCH_SECONDS)
+                .dataFromString("Thu Dec 11 PST 2008    a@facebook.com    b@facebook.com");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullDateMode() {
+        new FaceBookDataProvider("./src/test/resources/inputFacebook.txt", null);
+    }
+}
@@ -3,9 +3,16 @@ package data.provider;
 import base.PeekTrafficBaseTest;
 import org.junit.Test;
 
+import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.*;
 
@@ -54,4 +61,186 @@ public class FileDataProviderTest extends PeekTrafficBaseTest {
         }
 
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testParallelDataProviderNotValidFile() {
+        final FileDataProvider<String> provider = new PeekTrafficBaseTest.DirectParsingDataProviderAdapter("./src/test/resources/input2.txt");
+        assertTrue("Data retrieved from a non valid file should be empty", provider.getAllData(2).isEmpty());
+    }
+
+    @Test
+    public void testParallelDataProviderSameDataAsSequential() throws IOException {
+        final File file = File.createTempFile("parallelInput", ".txt");
+        file.deleteOnExit();
+        final PrintWriter writer = new PrintWriter(file, "UTF-8");
+        for (int i = 0; i < 1000; i++) {
+            //Lines of different lengths, some of them with Windows line breaks and some empty
+            writer.print("line " + i + (i % 7 == 0 ? " with some more content" : ""));
+            writer.print(i % 3 == 0 ? "\r\n" : "\n");
+            if (i % 100 == 0) {
+                writer.print("\n");
+            }
+        }
+        writer.print("last line without line break");
+        writer.close();
+
+        final FileDataProvider<String> provider = new PeekTrafficBaseTest.DirectParsingDataProviderAdapter(file.getPath());
+        final List<String> expected = provider.getAllData();
+        assertEquals(1011, expected.size());
+        for (int parallelism = 1; parallelism <= 8; parallelism *= 2) {
+            assertEquals("Parallel reading with " + parallelism + " threads should return the same data", expected,
+                    provider.getAllData(parallelism));
+        }
+    }
+
+    @Test
+    public void testParallelForEachSameDataAsSequential() throws IOException {
+        final File file = File.createTempFile("parallelForEachInput", ".txt");
+        file.deleteOnExit();
+        final PrintWriter writer = new PrintWriter(file, "UTF-8");
+        for (int i = 0; i < 1000; i++) {
+            writer.print("line " + i + (i % 3 == 0 ? "\r\n" : "\n"));
+        }
+        writer.close();
+
+        final FileDataProvider<String> provider = new PeekTrafficBaseTest.DirectParsingDataProviderAdapter(file.getPath());
+        final List<String> expected = provider.getAllData();
+        Collections.sort(expected);
+        for (int parallelism = 1; parallelism <= 8; parallelism *= 2) {
+            final List<String> data = Collections.synchronizedList(new ArrayList<String>());
+            assertTrue(provider.forEach(new DataConsumer<String>() {
+                @Override
+                public void consume(String item) {
+                    data.add(item);
+                }
+            }, parallelism));
+            Collections.sort(data);
+            assertEquals("Parallel reading with " + parallelism + " threads should hand the same data", expected, data);
+        }
+    }
+
+    @Test
+    public void testParallelForEachNotValidFile() {
+        final FileDataProvider<String> provider = new PeekTrafficBaseTest.DirectParsingDataProviderAdapter("./src/test/resources/input2.txt");
+        assertFalse(provider.forEach(new DataConsumer<String>() {
+            @Override
+            public void consume(String item) {
+                fail("No data should be read from a non valid file");
+            }
+        }, 2));
+    }
+
+    @Test
+    public void testParallelForEachThreadFactory() throws IOException {
+        final File file = File.createTempFile("threadFactoryInput", ".txt");
+        file.deleteOnExit();
+        final PrintWriter writer = new PrintWriter(file, "UTF-8");
+        for (int i = 0; i < 100; i++) {
+            writer.println("line " + i);
+        }
+        writer.close();
+
+        final AtomicInteger created = new AtomicInteger();
+        final AtomicInteger consumed = new AtomicInteger();
+        final FileDataProvider<String> provider = new PeekTrafficBaseTest.DirectParsingDataProviderAdapter(file.getPath());
+        assertTrue(provider.forEach(new DataConsumer<String>() {
+            @Override
+            public void consume(String item) {
+                consumed.incrementAndGet();
+            }
+        }, 2, new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                created.incrementAndGet();
+                return new Thread(runnable);
+            }
+        }));
+        assertEquals(100, consumed.get());
+        assertTrue("The parsing threads are created through the factory", created.get() > 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParallelForEachNullThreadFactory() {
+        new PeekTrafficBaseTest.DirectParsingDataProviderAdapter("./src/test/resources/input.txt").forEach(
+                new DataConsumer<String>() {
+                    @Override
+                    public void consume(String item) {
+                    }
+                }, 2, null);
+    }
+
+    @Test
+    public void testParallelDataProviderEmptyFile() throws IOException {
+        final File file = File.createTempFile("emptyInput", ".txt");
+        file.deleteOnExit();
+        final FileDataProvider<String> provider = new PeekTrafficBaseTest.DirectParsingDataProviderAdapter(file.getPath());
+        assertTrue("Data retrieved from an empty file should be empty", provider.getAllData(4).isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParallelDataProviderNoThreads() {
+        new PeekTrafficBaseTest.DirectParsingDataProviderAdapter("./src/test/resources/input.txt").getAllData(0);
+    }
+
+    @Test
+    public void testForEachNotValidFile() {
+        final FileDataProvider<String> provider = new PeekTrafficBaseTest.DirectParsingDataProviderAdapter("./src/test/resources/input2.txt");
+        final List<String> consumed = new ArrayList<String>();
+        assertFalse("Reading a non valid file should not complete", provider.forEach(new DataConsumer<String>() {
+            @Override
+            public void consume(String data) {
+                consumed.add(data);
+            }
+        }));
+        assertTrue("No data should be consumed from a non valid file", consumed.isEmpty());
+    }
+
+    @Test
+    public void testForEachValidFile() throws IOException {
+        final File file = File.createTempFile("streamInput", ".txt");
+        file.deleteOnExit();
+        final PrintWriter writer = new PrintWriter(file, "UTF-8");
+        writer.println("The first line");
+        writer.println("The second line");
+        writer.close();
+
+        final FileDataProvider<String> provider = new PeekTrafficBaseTest.DirectParsingDataProviderAdapter(file.getPath());
+        final List<String> consumed = new ArrayList<String>();
+        assertTrue("Reading a valid file should complete", provider.forEach(new DataConsumer<String>() {
+            @Override
+            public void consume(String data) {
+                consumed.add(data);
+            }
+        }));
+        assertEquals("Data should be consumed following the order of the file", provider.getAllData(), consumed);
+        assertEquals(2, consumed.size());
+    }
+
+    @Test
+    public void testForEachLinesAcrossBufferBoundaries() throws IOException {
+        final File file = File.createTempFile("longInput", ".txt");
+        file.deleteOnExit();
+        final PrintWriter writer = new PrintWriter(file, "UTF-8");
+        final List<String> expected = new ArrayList<String>();
+        final StringBuilder longLine = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            //Lines bigger than the read buffer are mixed with short ones, so lines are split between reads
+            final String line = i % 1000 == 0 ? longLine.append("a very long line ").toString() + i : "line " + i;
+            writer.print(line);
+            writer.print(i % 2 == 0 ? "\r\n" : "\n");
+            expected.add(line);
+            if (i % 1000 == 0) {
+                for (int j = 0; j < 10000; j++) {
+                    longLine.append('x');
+                }
+            }
+        }
+        writer.print("last line without line break");
+        expected.add("last line without line break");
+        writer.close();
+
+        final FileDataProvider<String> provider = new PeekTrafficBaseTest.DirectParsingDataProviderAdapter(file.getPath());
+        assertEquals("All the lines should be read whatever their length", expected, provider.getAllData());
+        assertEquals("Parallel reading should return the same lines", expected, provider.getAllData(3));
+    }
+}
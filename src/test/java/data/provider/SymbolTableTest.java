@@ -0,0 +1,118 @@
+package data.provider;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class SymbolTableTest {
+
+    @Test
+    public void testInternReturnsSameInstance() throws Exception {
+        final SymbolTable table = new SymbolTable();
+        final byte[] line = "a@facebook.com b@facebook.com a@facebook.com".getBytes("UTF-8");
+        final String first = table.intern(line, 0, 14);
+        final String second = table.intern(line, 15, 14);
+        final String third = table.intern(line, 30, 14);
+
+        assertEquals("a@facebook.com", first);
+        assertEquals("b@facebook.com", second);
+        assertSame("Repeated symbols should return the same String", first, third);
+        assertEquals(2, table.size());
+    }
+
+    @Test
+    public void testInternEmptySymbol() {
+        final SymbolTable table = new SymbolTable();
+        assertEquals("", table.intern(new byte[0], 0, 0));
+        assertEquals(1, table.size());
+    }
+
+    @Test
+    public void testInternManySymbols() throws Exception {
+        final SymbolTable table = new SymbolTable();
+        final List<String> symbols = new ArrayList<String>();
+        for (int i = 0; i < 10000; i++) {
+            final byte[] bytes = ("user" + i + "@facebook.com").getBytes("UTF-8");
+            symbols.add(table.intern(bytes, 0, bytes.length));
+        }
+        assertEquals(10000, table.size());
+
+        //Symbols must still be found after the table grew
+        for (int i = 0; i < 10000; i++) {
+            final byte[] bytes = ("user" + i + "@facebook.com").getBytes("UTF-8");
+            assertSame(symbols.get(i), table.intern(bytes, 0, bytes.length));
+        }
+        assertEquals(10000, table.size());
+    }
+
+    @Test
+    public void testIds() throws Exception {
+        final SymbolTable table = new SymbolTable();
+        final byte[] bytes = "b@facebook.com".getBytes("UTF-8");
+        assertEquals("Ids should start at 0", 0, table.internId("a@facebook.com"));
+        assertEquals("Ids should be consecutive", 1, table.internId(bytes, 0, bytes.length));
+        assertEquals("Known symbols should keep their id", 0, table.internId("a@facebook.com"));
+        assertEquals(1, table.idOf("b@facebook.com"));
+        assertEquals("Unknown symbols should have no id", -1, table.idOf("c@facebook.com"));
+        assertEquals(2, table.size());
+
+        assertEquals("a@facebook.com", table.symbolOf(0));
+        assertSame(table.intern(bytes, 0, bytes.length), table.symbolOf(1));
+    }
+
+    @Test
+    public void testConcurrentIntern() throws Exception {
+        final SymbolTable table = new SymbolTable(4);
+        final int threadCount = 4;
+        final int symbolCount = 20000;
+        final int[][] ids = new int[threadCount][symbolCount];
+        final List<Thread> threads = new ArrayList<Thread>();
+        for (int t = 0; t < threadCount; t++) {
+            final int thread = t;
+            threads.add(new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    //Each thread interns all the symbols, starting at a different one
+                    for (int i = 0; i < symbolCount; i++) {
+                        final int symbol = (i + thread * symbolCount / threadCount) % symbolCount;
+                        ids[thread][symbol] = table.internId("user" + symbol + "@facebook.com");
+                    }
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(symbolCount, table.size());
+        final boolean[] seen = new boolean[symbolCount];
+        for (int symbol = 0; symbol < symbolCount; symbol++) {
+            final int id = ids[0][symbol];
+            for (int t = 1; t < threadCount; t++) {
+                assertEquals("Every thread gets the same id for a symbol", id, ids[t][symbol]);
+            }
+            assertFalse("Ids are not shared between symbols", seen[id]);
+            seen[id] = true;
+            assertEquals("user" + symbol + "@facebook.com", table.symbolOf(id));
+            assertEquals(id, table.idOf("user" + symbol + "@facebook.com"));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonPositiveShardCount() {
+        new SymbolTable(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSymbolOfUnknownId() {
+        final SymbolTable table = new SymbolTable();
+        table.internId("a@facebook.com");
+        table.symbolOf(1);
+    }
+}
@@ -0,0 +1,153 @@
+package generator;
+
+import data.FacebookData;
+import data.provider.DataConsumer;
+import data.provider.FaceBookDataProvider;
+import graph.ComponentCliqueFinder;
+import graph.MutualGraphBuilder;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class LogGeneratorTest {
+
+    @Test
+    public void testSameSeedSameLog() throws IOException {
+        final LogGenerator generator = new LogGenerator(100, 500);
+        generator.setPlantedCliqueSizes(4);
+        final StringWriter first = new StringWriter();
+        final StringWriter second = new StringWriter();
+        generator.write(first);
+        generator.write(second);
+        assertEquals(first.toString(), second.toString());
+
+        generator.setSeed(7);
+        final StringWriter other = new StringWriter();
+        generator.write(other);
+        assertFalse("A different seed should write a different log", first.toString().equals(other.toString()));
+    }
+
+    @Test
+    public void testLinesFollowTheProviderFormat() throws IOException {
+        final LogGenerator generator = new LogGenerator(50, 1000);
+        generator.setReciprocity(0.5);
+        generator.setPlantedCliqueSizes(5, 3);
+        final File file = File.createTempFile("generatedLog", ".txt");
+        file.deleteOnExit();
+        final long lines = generator.write(file);
+        //Random interactions, about half of them answered, and the interactions of both cliques
+        assertTrue(lines > 1000 + 20 + 6);
+
+        final FaceBookDataProvider provider = new FaceBookDataProvider(file.getPath(),
+                FaceBookDataProvider.DateMode.EPOCH_SECONDS);
+        final List<FacebookData> data = provider.getAllData();
+        assertEquals(lines, data.size());
+        for (int i = 0; i < data.size(); i++) {
+            assertEquals("Each line should take place one second after the previous one",
+                    data.get(0).getCommunicationTime() + i, data.get(i).getCommunicationTime());
+            assertFalse(data.get(i).getSourceUser().equals(data.get(i).getTargetUser()));
+        }
+        assertEquals(1229046781L, data.get(0).getCommunicationTime());
+
+        //Same layout as the challenge input: date, source and target separated by four spaces
+        final BufferedReader reader = new BufferedReader(new FileReader(file));
+        final String firstLine;
+        try {
+            firstLine = reader.readLine();
+        } finally {
+            reader.close();
+        }
+        assertTrue(firstLine, firstLine.matches("Thu Dec 11 17:53:01 PST 2008 {4}user\\d+@facebook\\.com {4}user\\d+@facebook\\.com"));
+    }
+
+    @Test
+    public void testPowerLawDegrees() throws IOException {
+        final LogGenerator generator = new LogGenerator(1000, 20000);
+        generator.setPowerLawExponent(2.1);
+        final StringWriter writer = new StringWriter();
+        generator.write(writer);
+
+        final Map<String, int[]> degrees = new HashMap<String, int[]>();
+        for (String line : writer.toString().split("\n")) {
+            final String source = line.split(" {4}")[1];
+            int[] degree = degrees.get(source);
+            if (degree == null) {
+                degree = new int[1];
+                degrees.put(source, degree);
+            }
+            degree[0]++;
+        }
+        //The first users are the hubs
+        final int[] hub = degrees.get(LogGenerator.user(0));
+        final int[] tail = degrees.get(LogGenerator.user(999));
+        assertTrue(hub[0] > 20 * (tail == null ? 1 : tail[0]));
+    }
+
+    @Test
+    public void testPlantedCliquesAreFound() throws IOException {
+        final LogGenerator generator = new LogGenerator(2000, 5000);
+        generator.setReciprocity(0.1);
+        generator.setPlantedCliqueSizes(8, 6);
+        final File file = File.createTempFile("plantedLog", ".txt");
+        file.deleteOnExit();
+        generator.write(file);
+        assertEquals(2, generator.getPlantedCliques().size());
+
+        final FaceBookDataProvider provider = new FaceBookDataProvider(file.getPath(),
+                FaceBookDataProvider.DateMode.SKIP);
+        final MutualGraphBuilder builder = new MutualGraphBuilder();
+        provider.forEach(new DataConsumer<FacebookData>() {
+            @Override
+            public void consume(FacebookData data) {
+                builder.addConnection(data.getSourceUserId(), data.getTargetUserId());
+            }
+        });
+        final ComponentCliqueFinder<Integer, Integer> finder = new ComponentCliqueFinder<Integer, Integer>(
+                builder.getGraph(), 1);
+        finder.setMinimumCliqueSize(3);
+        final Collection<Set<Integer>> cliques = finder.getAllMaximalCliques();
+
+        for (List<Integer> planted : generator.getPlantedCliques()) {
+            final Set<String> users = new HashSet<String>();
+            for (Integer user : planted) {
+                users.add(LogGenerator.user(user));
+            }
+            boolean found = false;
+            for (Set<Integer> clique : cliques) {
+                final Set<String> cliqueUsers = new HashSet<String>();
+                for (Integer user : clique) {
+                    cliqueUsers.add(provider.getSymbolTable().symbolOf(user));
+                }
+                found |= cliqueUsers.containsAll(users);
+            }
+            assertTrue("The planted clique " + users + " should be part of a found clique", found);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidReciprocity() {
+        new LogGenerator(10, 10).setReciprocity(1.5);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCliqueBiggerThanUsers() {
+        new LogGenerator(10, 10).setPlantedCliqueSizes(11);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTooFewUsers() {
+        new LogGenerator(1, 10);
+    }
+}
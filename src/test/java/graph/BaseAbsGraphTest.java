@@ -183,4 +183,19 @@ public class BaseAbsGraphTest extends PeekTrafficBaseTest {
         assertEquals("The Edge V should be within the returned Edges after having added the tuple (V1,V2,E1)", "V2", edges.getVertexForEdge("E1"));
 
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testRemoveConnection() {
+        BaseAbsGraph<String, String> graph = new BaseGraphAdapter(mEdgeContainerFactory);
+        graph.addConnection("V1", "V2", "E1");
+        graph.addConnection("V1", "V2", "E2");
+        graph.addConnection("V1", "V3", "E3");
+
+        assertTrue("Removing an existing connection should succeed", graph.removeConnection("V1", "V2"));
+        assertEquals("All the edges to the target vertex should be removed", 1, graph.getEdges("V1").size());
+        assertNotNull(graph.getEdges("V1").getVertexForEdge("E3"));
+        assertFalse("Removing a missing connection should fail", graph.removeConnection("V1", "V2"));
+        assertFalse("Removing a connection from a missing vertex should fail", graph.removeConnection("V4", "V1"));
+        assertTrue("Vertices should be kept after removing their connections", graph.vertexSet().contains("V1"));
+    }
+}
@@ -0,0 +1,129 @@
+package graph;
+
+import org.junit.Test;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class BitMatrixGraphTest {
+
+    @Test
+    public void testEmptyGraph() {
+        final BitMatrixGraph<String> graph = BitMatrixGraph.fromGraph(new NoEdgeInfoGraph<String>());
+        assertEquals(0, graph.vertexCount());
+        assertEquals(0, graph.edgeCount());
+        assertTrue(graph.vertexSet().isEmpty());
+        assertFalse(graph.containsEdge("V1", "V2"));
+        assertEquals(0, BitMatrixGraph.densityOf(graph), 0);
+    }
+
+    @Test
+    public void testSameConnections() {
+        final NoEdgeInfoGraph<String> source = new NoEdgeInfoGraph<String>();
+        source.addConnection("V1", "V2");
+        source.addConnection("V1", "V3");
+        source.addConnection("V2", "V1");
+        source.addVertex("V3");
+        //Self loops and connections to vertices outside of the vertex set are dropped
+        source.addConnection("V3", "V3");
+        source.addConnection("V3", "V5");
+
+        final BitMatrixGraph<String> graph = BitMatrixGraph.fromGraph(source);
+        assertEquals(source.vertexSet(), graph.vertexSet());
+        assertEquals(3, graph.edgeCount());
+        assertTrue(graph.containsEdge("V1", "V2"));
+        assertTrue(graph.containsEdge("V1", "V3"));
+        assertFalse("Connections are directed", graph.containsEdge("V3", "V1"));
+        assertFalse(graph.containsEdge("V3", "V3"));
+        assertFalse(graph.containsEdge(null, "V1"));
+
+        final int id = graph.idOf("V1");
+        assertEquals("V1", graph.vertexOf(id));
+        assertEquals(2, graph.degree(id));
+        assertEquals(-1, graph.idOf("V5"));
+        assertEquals(0, graph.commonNeighbourCount(id, graph.idOf("V2")));
+
+        final BaseAbsGraph.EdgeContainer<String, String> edges = graph.getEdges("V1");
+        assertEquals(2, edges.size());
+        assertTrue(edges.containsEdge("V2"));
+        assertNull(edges.getVertexForEdge("V4"));
+        assertEquals(new HashSet<String>(graph.getNeighbours("V1")), edges.getEdges());
+        assertNull(graph.getEdges("V5"));
+    }
+
+    @Test
+    public void testRowOperations() {
+        final NoEdgeInfoGraph<Integer> source = new NoEdgeInfoGraph<Integer>();
+        //More than 64 vertices, so the rows span several words
+        for (int vertex = 0; vertex < 150; vertex++) {
+            source.addVertex(vertex);
+        }
+        for (int vertex = 0; vertex < 150; vertex++) {
+            if (vertex % 2 == 0) {
+                source.addConnection(0, vertex);
+            }
+            if (vertex % 3 == 0) {
+                source.addConnection(1, vertex);
+            }
+        }
+        final BitMatrixGraph<Integer> graph = BitMatrixGraph.fromGraph(source);
+        final int first = graph.idOf(0);
+        final int second = graph.idOf(1);
+
+        final Set<Integer> common = new HashSet<Integer>();
+        for (int vertex = 6; vertex < 150; vertex += 6) {
+            common.add(vertex);
+        }
+        assertEquals(common.size(), graph.commonNeighbourCount(first, second));
+
+        final long[] bitset = new long[graph.wordsPerRow()];
+        graph.copyRow(first, bitset);
+        graph.intersectRow(second, bitset);
+        final Set<Integer> intersection = new HashSet<Integer>();
+        for (int id = 0; id < graph.vertexCount(); id++) {
+            if ((bitset[id >>> 6] & (1L << id)) != 0) {
+                intersection.add(graph.vertexOf(id));
+            }
+        }
+        assertEquals(common, intersection);
+        assertEquals(common.size(), graph.countConnections(second, bitset));
+
+        graph.subtractRow(first, bitset);
+        assertEquals(0, graph.countConnections(second, bitset));
+    }
+
+    @Test
+    public void testDensity() {
+        final NoEdgeInfoGraph<String> source = new NoEdgeInfoGraph<String>();
+        source.addConnection("V1", "V2");
+        source.addConnection("V2", "V1");
+        source.addConnection("V1", "V1");
+        source.addVertex("V3");
+        assertEquals(2.0 / 6, BitMatrixGraph.densityOf(source), 1e-9);
+        assertTrue(BitMatrixGraph.isDenseEnough(source, 0.3));
+        assertFalse(BitMatrixGraph.isDenseEnough(source, 0.5));
+        assertEquals(BitMatrixGraph.densityOf(source), BitMatrixGraph.densityOf(BitMatrixGraph.fromGraph(source)), 1e-9);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testImmutable() {
+        final NoEdgeInfoGraph<String> source = new NoEdgeInfoGraph<String>();
+        source.addConnection("V1", "V2");
+        BitMatrixGraph.fromGraph(source).addConnection("V2", "V1", "V1");
+    }
+
+    @Test
+    public void testCliquesMatchSourceGraph() {
+        final NoEdgeInfoGraph<String> source = new NoEdgeInfoGraph<String>();
+        BronKerboschCliqueFinderTest.createRandomGraph(source, new Random(5), 100, 0.3);
+
+        final Collection<Set<String>> expected = new BronKerboschCliqueFinder<String, String>(source).getAllMaximalCliques();
+        final Collection<Set<String>> actual = new DegeneracyCliqueFinder<String, String>(
+                BitMatrixGraph.fromGraph(source)).getAllMaximalCliques();
+        assertEquals(new HashSet<Set<String>>(expected), new HashSet<Set<String>>(actual));
+    }
+}
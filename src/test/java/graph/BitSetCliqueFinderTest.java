@@ -0,0 +1,75 @@
+package graph;
+
+import org.junit.Test;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BitSetCliqueFinderTest {
+
+    @Test
+    public void testEmptyGraph() {
+        final BitSetCliqueFinder<String, String> finder =
+                new BitSetCliqueFinder<String, String>(new NoEdgeInfoGraph<String>());
+        assertTrue("An empty graph has no cliques", finder.getAllMaximalCliques().isEmpty());
+    }
+
+    @Test
+    public void testSelfLoopsAreIgnored() {
+        final NoEdgeInfoGraph<String> g = new NoEdgeInfoGraph<String>();
+        g.addConnection("V1", "V1");
+        g.addConnection("V1", "V2");
+        g.addConnection("V2", "V1");
+        final Collection<Set<String>> cliques = new BitSetCliqueFinder<String, String>(g).getAllMaximalCliques();
+        assertEquals(1, cliques.size());
+        assertEquals(2, cliques.iterator().next().size());
+    }
+
+    @Test
+    public void testStatistics() {
+        final NoEdgeInfoGraph<String> g = new NoEdgeInfoGraph<String>();
+        BronKerboschCliqueFinderTest.createRandomGraph(g, new Random(3), 100, 0.3);
+        final BitSetCliqueFinder<String, String> finder = new BitSetCliqueFinder<String, String>(g);
+        assertEquals(SearchStatistics.NONE, finder.getStatistics());
+
+        final int cliques = finder.getAllMaximalCliques().size();
+        final SearchStatistics statistics = finder.getStatistics();
+        assertTrue(statistics.isFinished());
+        assertEquals(cliques, statistics.getCliques());
+        assertEquals(finder.getRecursionNodeCount(), statistics.getRecursionNodes());
+        assertTrue(statistics.getMaximumDepth() > 1);
+        assertTrue(statistics.getTopLevelBranches() > 0);
+        assertEquals(statistics.getTopLevelBranches(), statistics.getCompletedTopLevelBranches());
+        assertEquals(0, statistics.getPrunedBranches());
+
+        finder.setMinimumCliqueSize(5);
+        finder.getAllMaximalCliques();
+        assertTrue(finder.getStatistics().getCliques() < cliques);
+        assertTrue(finder.getStatistics().getPrunedBranches() > 0);
+    }
+
+    @Test
+    public void testMatchesBronKerboschOnRandomGraphs() {
+        final Random random = new Random(42);
+        for (int round = 0; round < 20; round++) {
+            final NoEdgeInfoGraph<String> g = new NoEdgeInfoGraph<String>();
+            //More than 64 vertices, so the bitsets span several words
+            BronKerboschCliqueFinderTest.createRandomGraph(g, random, 100, 0.05 * (round % 10 + 1));
+
+            //The pivot finder would run over a bit matrix itself on dense graphs
+            final BronKerboschCliqueFinder<String, String> pivotFinder = new BronKerboschCliqueFinder<String, String>(g,
+                    BronKerboschCliqueFinder.Strategy.PIVOT);
+            pivotFinder.setDenseGraphThreshold(2);
+            final Collection<Set<String>> expected = pivotFinder.getAllMaximalCliques();
+            final Collection<Set<String>> actual = new BitSetCliqueFinder<String, String>(g).getAllMaximalCliques();
+
+            assertEquals("Each clique should be reported only once", expected.size(), actual.size());
+            assertEquals(new HashSet<Set<String>>(expected), new HashSet<Set<String>>(actual));
+        }
+    }
+}
@@ -2,11 +2,18 @@ package graph;
 
 import org.junit.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
 import java.util.Collection;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
 import java.util.Set;
+import java.util.regex.Pattern;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 public class BronKerboschCliqueFinderTest {
 
@@ -125,4 +132,265 @@ public class BronKerboschCliqueFinderTest {
 
         assertEquals(expected, actual);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testFindAllWithPivot() {
+        NoEdgeInfoGraph g = new NoEdgeInfoGraph();
+        createGraph(g);
+
+        BronKerboschCliqueFinder<String, String> classicFinder =
+                new BronKerboschCliqueFinder<String, String>(g);
+        BronKerboschCliqueFinder<String, String> pivotFinder =
+                new BronKerboschCliqueFinder<String, String>(g, BronKerboschCliqueFinder.Strategy.PIVOT);
+
+        Set<Set<String>> expected = new HashSet<Set<String>>(classicFinder.getAllMaximalCliques());
+        Set<Set<String>> actual = new HashSet<Set<String>>(pivotFinder.getAllMaximalCliques());
+
+        assertEquals(4, actual.size());
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void testFindBiggestWithPivot() {
+        NoEdgeInfoGraph g = new NoEdgeInfoGraph();
+        createGraph(g);
+
+        BronKerboschCliqueFinder<String, String> finder =
+                new BronKerboschCliqueFinder<String, String>(g, BronKerboschCliqueFinder.Strategy.PIVOT);
+
+        Collection<Set<String>> cliques = finder.getBiggestMaximalCliques();
+        assertEquals(1, cliques.size());
+        assertEquals(4, cliques.iterator().next().size());
+    }
+
+    @Test
+    public void testPivotMatchesClassicOnRandomGraphs() {
+        final Random random = new Random(42);
+        for (int round = 0; round < 20; round++) {
+            NoEdgeInfoGraph g = new NoEdgeInfoGraph();
+            createRandomGraph(g, random, 30, 0.3);
+
+            Collection<Set<String>> classic = new BronKerboschCliqueFinder<String, String>(g).getAllMaximalCliques();
+            BronKerboschCliqueFinder<String, String> pivotFinder = new BronKerboschCliqueFinder<String, String>(g,
+                    BronKerboschCliqueFinder.Strategy.PIVOT);
+            pivotFinder.setDenseGraphThreshold(2);
+            Collection<Set<String>> pivot = pivotFinder.getAllMaximalCliques();
+
+            assertEquals("Both strategies should report the same number of cliques", classic.size(), pivot.size());
+            assertEquals(new HashSet<Set<String>>(classic), new HashSet<Set<String>>(pivot));
+        }
+    }
+
+    @Test
+    public void testPivotSwitchesToBitMatrixOnDenseGraphs() {
+        final Random random = new Random(7);
+        for (int round = 0; round < 10; round++) {
+            NoEdgeInfoGraph g = new NoEdgeInfoGraph();
+            createRandomGraph(g, random, 80, 0.5);
+            assertTrue(BitMatrixGraph.isDenseEnough(g, BronKerboschCliqueFinder.DEFAULT_DENSE_GRAPH_THRESHOLD));
+
+            BronKerboschCliqueFinder<String, String> dense = new BronKerboschCliqueFinder<String, String>(g,
+                    BronKerboschCliqueFinder.Strategy.PIVOT);
+            dense.setMinimumCliqueSize(3);
+            BronKerboschCliqueFinder<String, String> sparse = new BronKerboschCliqueFinder<String, String>(g,
+                    BronKerboschCliqueFinder.Strategy.PIVOT);
+            sparse.setMinimumCliqueSize(3);
+            sparse.setDenseGraphThreshold(2);
+
+            Collection<Set<String>> expected = sparse.getAllMaximalCliques();
+            Collection<Set<String>> actual = dense.getAllMaximalCliques();
+            assertEquals(expected.size(), actual.size());
+            assertEquals(new HashSet<Set<String>>(expected), new HashSet<Set<String>>(actual));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeDenseGraphThreshold() {
+        new BronKerboschCliqueFinder<String, String>(new NoEdgeInfoGraph(), BronKerboschCliqueFinder.Strategy.PIVOT)
+                .setDenseGraphThreshold(-1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullStrategy() {
+        new BronKerboschCliqueFinder<String, String>(new NoEdgeInfoGraph(), null);
+    }
+
+    @Test
+    public void testFindCliquesWithVisitor() {
+        NoEdgeInfoGraph g = new NoEdgeInfoGraph();
+        createGraph(g);
+
+        final List<BaseAbsCliqueFinder<String, String>> finders = new ArrayList<BaseAbsCliqueFinder<String, String>>();
+        finders.add(new BronKerboschCliqueFinder<String, String>(g));
+        finders.add(new BronKerboschCliqueFinder<String, String>(g, BronKerboschCliqueFinder.Strategy.PIVOT));
+        finders.add(new DegeneracyCliqueFinder<String, String>(g));
+        finders.add(new BitSetCliqueFinder<String, String>(g));
+        finders.add(new ParallelCliqueFinder<String, String>(g, 2));
+
+        final Set<Set<String>> expected = new HashSet<Set<String>>(
+                new BronKerboschCliqueFinder<String, String>(g).getAllMaximalCliques());
+        for (BaseAbsCliqueFinder<String, String> finder : finders) {
+            final Set<Set<String>> visited = new HashSet<Set<String>>();
+            finder.findCliques(new CliqueVisitor<String>() {
+                @Override
+                public synchronized void visitClique(List<String> clique) {
+                    visited.add(new HashSet<String>(clique));
+                }
+            });
+            assertEquals("The visitor should be called once per maximal clique", expected, visited);
+        }
+    }
+
+    @Test
+    public void testMinimumCliqueSize() {
+        final Random random = new Random(11);
+        for (int round = 0; round < 10; round++) {
+            NoEdgeInfoGraph g = new NoEdgeInfoGraph();
+            createRandomGraph(g, random, 40, 0.1 * (round + 1) - 0.05);
+
+            final int minimumSize = 2 + round % 3;
+            final Set<Set<String>> expected = new HashSet<Set<String>>();
+            for (Set<String> clique : new BronKerboschCliqueFinder<String, String>(g).getAllMaximalCliques()) {
+                if (clique.size() >= minimumSize) {
+                    expected.add(clique);
+                }
+            }
+
+            final List<BaseAbsCliqueFinder<String, String>> finders = new ArrayList<BaseAbsCliqueFinder<String, String>>();
+            finders.add(new BronKerboschCliqueFinder<String, String>(g));
+            finders.add(new BronKerboschCliqueFinder<String, String>(g, BronKerboschCliqueFinder.Strategy.PIVOT));
+            finders.add(new DegeneracyCliqueFinder<String, String>(g));
+            finders.add(new BitSetCliqueFinder<String, String>(g));
+            finders.add(new ParallelCliqueFinder<String, String>(g, 2));
+            for (BaseAbsCliqueFinder<String, String> finder : finders) {
+                finder.setMinimumCliqueSize(minimumSize);
+                final Collection<Set<String>> actual = finder.getAllMaximalCliques();
+                assertEquals("Only the cliques of at least " + minimumSize + " vertices should be found",
+                        expected.size(), actual.size());
+                assertEquals(expected, new HashSet<Set<String>>(actual));
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonPositiveMinimumCliqueSize() {
+        new BronKerboschCliqueFinder<String, String>(new NoEdgeInfoGraph()).setMinimumCliqueSize(0);
+    }
+
+    @Test
+    public void testStatistics() {
+        NoEdgeInfoGraph g = new NoEdgeInfoGraph();
+        createGraph(g);
+
+        for (BronKerboschCliqueFinder.Strategy strategy : BronKerboschCliqueFinder.Strategy.values()) {
+            final BronKerboschCliqueFinder<String, String> finder = new BronKerboschCliqueFinder<String, String>(g, strategy);
+            finder.setDenseGraphThreshold(2);
+            assertEquals(SearchStatistics.NONE, finder.getStatistics());
+            assertEquals(1, finder.getStatistics().getRemainingFraction(), 0);
+
+            final int cliques = finder.getAllMaximalCliques().size();
+            final SearchStatistics statistics = finder.getStatistics();
+            assertTrue(statistics.isFinished());
+            assertEquals(cliques, statistics.getCliques());
+            assertEquals(finder.getRecursionNodeCount(), statistics.getRecursionNodes());
+            assertTrue(statistics.getContainsEdgeCalls() > 0);
+            assertTrue("The deepest node holds the biggest clique, or is its parent",
+                    statistics.getMaximumDepth() == 3 || statistics.getMaximumDepth() == 4);
+            assertTrue(statistics.getTopLevelBranches() > 0);
+            assertEquals(statistics.getTopLevelBranches(), statistics.getCompletedTopLevelBranches());
+            assertEquals(0, statistics.getRemainingFraction(), 0);
+
+            finder.setMinimumCliqueSize(4);
+            finder.getAllMaximalCliques();
+            assertEquals(1, finder.getStatistics().getCliques());
+            assertTrue("Branches which cannot reach 4 vertices are pruned",
+                    finder.getStatistics().getPrunedBranches() > 0);
+        }
+    }
+
+    @Test
+    public void testStatisticsOfDenseSearch() {
+        NoEdgeInfoGraph g = new NoEdgeInfoGraph();
+        createGraph(g);
+        final BronKerboschCliqueFinder<String, String> finder =
+                new BronKerboschCliqueFinder<String, String>(g, BronKerboschCliqueFinder.Strategy.PIVOT);
+        finder.setDenseGraphThreshold(0);
+
+        final int cliques = finder.getAllMaximalCliques().size();
+        final SearchStatistics statistics = finder.getStatistics();
+        assertTrue(statistics.isFinished());
+        assertEquals(cliques, statistics.getCliques());
+        assertEquals(finder.getRecursionNodeCount(), statistics.getRecursionNodes());
+        assertEquals("The bit matrix search does not ask the graph for edges", 0, statistics.getContainsEdgeCalls());
+        assertTrue("The deepest node holds the biggest clique, or is its parent",
+                statistics.getMaximumDepth() == 3 || statistics.getMaximumDepth() == 4);
+        assertTrue(statistics.getTopLevelBranches() > 0);
+        assertEquals(statistics.getTopLevelBranches(), statistics.getCompletedTopLevelBranches());
+
+        finder.setMinimumCliqueSize(4);
+        finder.getAllMaximalCliques();
+        assertEquals(1, finder.getStatistics().getCliques());
+        assertTrue("Branches which cannot reach 4 vertices are pruned",
+                finder.getStatistics().getPrunedBranches() > 0);
+    }
+
+    @Test
+    public void testProgressReport() {
+        NoEdgeInfoGraph g = new NoEdgeInfoGraph();
+        createGraph(g);
+
+        //Every clique takes 20 periods to visit, so the progress is printed several times before the search is over
+        final CliqueVisitor<String> slowVisitor = new CliqueVisitor<String>() {
+            @Override
+            public void visitClique(List<String> clique) {
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        for (double denseGraphThreshold : new double[]{0, 2}) {
+            for (BronKerboschCliqueFinder.Strategy strategy : BronKerboschCliqueFinder.Strategy.values()) {
+                final ByteArrayOutputStream progress = new ByteArrayOutputStream();
+                final BronKerboschCliqueFinder<String, String> finder =
+                        new BronKerboschCliqueFinder<String, String>(g, strategy);
+                finder.setDenseGraphThreshold(denseGraphThreshold);
+                finder.setProgressReport(new PrintStream(progress, true), 1);
+                finder.findCliques(slowVisitor);
+
+                for (Thread thread : Thread.getAllStackTraces().keySet()) {
+                    assertTrue("The reporter is stopped with the search",
+                            !"clique-search-progress".equals(thread.getName()));
+                }
+                final String report = progress.toString();
+                assertTrue(report.startsWith("Clique search "));
+                assertTrue("The top level branches are counted while searching: " + report,
+                        Pattern.compile("% of [1-9][0-9]* top level branches left").matcher(report).find());
+
+                finder.setProgressReport(null, 0);
+                progress.reset();
+                finder.getAllMaximalCliques();
+                assertEquals(0, progress.size());
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonPositiveProgressPeriod() {
+        new BronKerboschCliqueFinder<String, String>(new NoEdgeInfoGraph()).setProgressReport(System.err, 0);
+    }
+
+    static void createRandomGraph(NoEdgeInfoGraph g, Random random, int vertexCount, double density) {
+        for (int i = 0; i < vertexCount; i++) {
+            g.addVertex("v" + i);
+        }
+        for (int i = 0; i < vertexCount; i++) {
+            for (int j = i + 1; j < vertexCount; j++) {
+                if (random.nextDouble() < density) {
+                    addBidirectionalConnection(g, "v" + i, "v" + j);
+                }
+            }
+        }
+    }
+}
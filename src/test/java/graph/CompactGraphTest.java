@@ -0,0 +1,101 @@
+package graph;
+
+import org.junit.Test;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class CompactGraphTest {
+
+    @Test
+    public void testEmptyGraph() {
+        final CompactGraph<String> graph = CompactGraph.fromGraph(new NoEdgeInfoGraph<String>());
+        assertEquals(0, graph.vertexCount());
+        assertEquals(0, graph.edgeCount());
+        assertTrue("A graph built from an empty graph should be empty", graph.vertexSet().isEmpty());
+        assertFalse(graph.containsEdge("V1", "V2"));
+    }
+
+    @Test
+    public void testSameConnections() {
+        final NoEdgeInfoGraph<String> source = new NoEdgeInfoGraph<String>();
+        source.addConnection("V1", "V2");
+        source.addConnection("V1", "V3");
+        source.addConnection("V2", "V1");
+        source.addVertex("V3");
+        source.addVertex("V4");
+        //V5 is not part of the vertex set, so the connection to it is dropped
+        source.addConnection("V4", "V5");
+
+        final CompactGraph<String> graph = CompactGraph.fromGraph(source);
+        assertEquals(source.vertexSet(), graph.vertexSet());
+        assertEquals(3, graph.edgeCount());
+        assertTrue(graph.containsEdge("V1", "V2"));
+        assertTrue(graph.containsEdge("V1", "V3"));
+        assertTrue(graph.containsEdge("V2", "V1"));
+        assertFalse("Connections are directed", graph.containsEdge("V3", "V1"));
+        assertFalse(graph.containsEdge("V4", "V5"));
+        assertFalse(graph.containsEdge(null, "V1"));
+
+        final int id = graph.idOf("V1");
+        assertEquals("V1", graph.vertexOf(id));
+        assertEquals(2, graph.degree(id));
+        assertTrue(graph.containsEdge(id, graph.idOf("V3")));
+        assertEquals(-1, graph.idOf("V5"));
+
+        final BaseAbsGraph.EdgeContainer<String, String> edges = graph.getEdges("V1");
+        assertEquals(2, edges.size());
+        assertTrue(edges.containsEdge("V2"));
+        assertEquals("V3", edges.getVertexForEdge("V3"));
+        assertNull(edges.getVertexForEdge("V4"));
+        assertEquals(new HashSet<String>(graph.getNeighbours("V1")), edges.getEdges());
+        assertNull(graph.getEdges("V5"));
+    }
+
+    @Test
+    public void testWithoutVerticesBelowCore() {
+        final Random random = new Random(13);
+        final NoEdgeInfoGraph<String> source = new NoEdgeInfoGraph<String>();
+        BronKerboschCliqueFinderTest.createRandomGraph(source, random, 200, 0.02);
+        final CompactGraph<String> graph = CompactGraph.fromGraph(source);
+
+        final CompactGraph<String> core = graph.withoutVerticesBelowCore(2);
+        source.removeVerticesBelowCore(2);
+        assertEquals("Same vertices as the mutable graph", source.vertexSet(), core.vertexSet());
+        assertEquals(source.edgeCount(), core.edgeCount());
+        for (String vertex : core.vertexSet()) {
+            assertEquals(new HashSet<String>(source.getNeighbours(vertex)),
+                    new HashSet<String>(core.getNeighbours(vertex)));
+        }
+        assertSame("Nothing is left to remove", core, core.withoutVerticesBelowCore(2));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testImmutable() {
+        final NoEdgeInfoGraph<String> source = new NoEdgeInfoGraph<String>();
+        source.addConnection("V1", "V2");
+        CompactGraph.fromGraph(source).addConnection("V2", "V1", "V1");
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testImmutableRemoveConnection() {
+        final NoEdgeInfoGraph<String> source = new NoEdgeInfoGraph<String>();
+        source.addConnection("V1", "V2");
+        CompactGraph.fromGraph(source).removeConnection("V1", "V2");
+    }
+
+    @Test
+    public void testCliquesMatchSourceGraph() {
+        final NoEdgeInfoGraph<String> source = new NoEdgeInfoGraph<String>();
+        BronKerboschCliqueFinderTest.createRandomGraph(source, new Random(5), 50, 0.3);
+
+        final Collection<Set<String>> expected = new BronKerboschCliqueFinder<String, String>(source).getAllMaximalCliques();
+        final Collection<Set<String>> actual = new DegeneracyCliqueFinder<String, String>(
+                CompactGraph.fromGraph(source)).getAllMaximalCliques();
+        assertEquals(new HashSet<Set<String>>(expected), new HashSet<Set<String>>(actual));
+    }
+}
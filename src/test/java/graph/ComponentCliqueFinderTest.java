@@ -0,0 +1,155 @@
+package graph;
+
+import org.junit.Test;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class ComponentCliqueFinderTest {
+
+    @Test
+    public void testEmptyGraph() {
+        final ComponentCliqueFinder<String, String> finder =
+                new ComponentCliqueFinder<String, String>(new NoEdgeInfoGraph<String>(), 2);
+        assertTrue("An empty graph has no cliques", finder.getAllMaximalCliques().isEmpty());
+    }
+
+    @Test
+    public void testSmallComponentsAreDropped() {
+        final NoEdgeInfoGraph<String> g = new NoEdgeInfoGraph<String>();
+        connect(g, "V1", "V2");
+        connect(g, "V2", "V3");
+        connect(g, "V3", "V1");
+        connect(g, "V4", "V5");
+        g.addVertex("V6");
+
+        final ComponentCliqueFinder<String, String> finder = new ComponentCliqueFinder<String, String>(g, 2);
+        final Collection<Set<String>> all = finder.getAllMaximalCliques();
+        assertEquals(3, all.size());
+
+        finder.setMinimumCliqueSize(3);
+        final Collection<Set<String>> big = finder.getAllMaximalCliques();
+        assertEquals(1, big.size());
+        assertEquals(3, big.iterator().next().size());
+    }
+
+    @Test
+    public void testMatchesBronKerboschOnRandomGraphs() {
+        final Random random = new Random(23);
+        for (int round = 0; round < 10; round++) {
+            //Several random components, some of them dense and some of them sparse
+            final NoEdgeInfoGraph<String> g = new NoEdgeInfoGraph<String>();
+            for (int component = 0; component < 6; component++) {
+                final NoEdgeInfoGraph<String> part = new NoEdgeInfoGraph<String>();
+                BronKerboschCliqueFinderTest.createRandomGraph(part, random, 10 + random.nextInt(80),
+                        0.02 + random.nextDouble() * 0.4);
+                for (String vertex : part.vertexSet()) {
+                    g.addVertex(component + vertex);
+                    for (String neighbour : part.getNeighbours(vertex)) {
+                        g.addConnection(component + vertex, component + neighbour);
+                    }
+                }
+            }
+
+            for (int minimumSize = 1; minimumSize <= 3; minimumSize++) {
+                final BronKerboschCliqueFinder<String, String> expectedFinder =
+                        new BronKerboschCliqueFinder<String, String>(g, BronKerboschCliqueFinder.Strategy.PIVOT);
+                expectedFinder.setMinimumCliqueSize(minimumSize);
+                final ComponentCliqueFinder<String, String> finder = new ComponentCliqueFinder<String, String>(g, 3);
+                finder.setMinimumCliqueSize(minimumSize);
+
+                final Collection<Set<String>> expected = expectedFinder.getAllMaximalCliques();
+                final Collection<Set<String>> actual = finder.getAllMaximalCliques();
+                assertEquals("Each clique should be reported only once", expected.size(), actual.size());
+                assertEquals(new HashSet<Set<String>>(expected), new HashSet<Set<String>>(actual));
+            }
+        }
+    }
+
+    @Test
+    public void testVisitorSeesWholeCliques() {
+        final NoEdgeInfoGraph<String> g = new NoEdgeInfoGraph<String>();
+        BronKerboschCliqueFinderTest.createRandomGraph(g, new Random(3), 60, 0.2);
+        final Set<Set<String>> visited = new HashSet<Set<String>>();
+        new ComponentCliqueFinder<String, String>(g, 1).findCliques(new CliqueVisitor<String>() {
+            @Override
+            public void visitClique(List<String> clique) {
+                visited.add(new HashSet<String>(clique));
+            }
+        });
+        assertEquals(new HashSet<Set<String>>(new DegeneracyCliqueFinder<String, String>(g).getAllMaximalCliques()),
+                visited);
+    }
+
+    @Test
+    public void testRecursionNodeCountAddsUpComponents() {
+        final NoEdgeInfoGraph<String> g = new NoEdgeInfoGraph<String>();
+        connect(g, "V1", "V2");
+        connect(g, "V2", "V3");
+        connect(g, "V3", "V1");
+        connect(g, "V4", "V5");
+        connect(g, "V5", "V6");
+        connect(g, "V6", "V4");
+        connect(g, "V6", "V7");
+
+        final ComponentCliqueFinder<String, String> sequential = new ComponentCliqueFinder<String, String>(g, 1);
+        assertEquals(0, sequential.getRecursionNodeCount());
+        sequential.getAllMaximalCliques();
+        assertTrue(sequential.getRecursionNodeCount() > 0);
+
+        final ComponentCliqueFinder<String, String> parallel = new ComponentCliqueFinder<String, String>(g, 2);
+        parallel.getAllMaximalCliques();
+        assertEquals("The nodes visited do not depend on the threads", sequential.getRecursionNodeCount(),
+                parallel.getRecursionNodeCount());
+
+        parallel.setMinimumCliqueSize(5);
+        parallel.getAllMaximalCliques();
+        assertEquals("No component is searched", 0, parallel.getRecursionNodeCount());
+    }
+
+    @Test
+    public void testThreadFactory() {
+        final NoEdgeInfoGraph<String> g = new NoEdgeInfoGraph<String>();
+        connect(g, "V1", "V2");
+        connect(g, "V2", "V3");
+        connect(g, "V3", "V1");
+        connect(g, "V4", "V5");
+        connect(g, "V5", "V6");
+        connect(g, "V6", "V4");
+
+        final AtomicInteger created = new AtomicInteger();
+        final ComponentCliqueFinder<String, String> finder = new ComponentCliqueFinder<String, String>(g, 2);
+        finder.setThreadFactory(new ForkJoinPool.ForkJoinWorkerThreadFactory() {
+            @Override
+            public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+                created.incrementAndGet();
+                return ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            }
+        });
+        assertEquals(2, finder.getAllMaximalCliques().size());
+        assertTrue("The pool threads are created through the factory", created.get() > 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullThreadFactory() {
+        new ComponentCliqueFinder<String, String>(new NoEdgeInfoGraph<String>()).setThreadFactory(null);
+    }
+
+    private static void connect(final NoEdgeInfoGraph<String> g, final String source, final String target) {
+        g.addConnection(source, target);
+        g.addConnection(target, source);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidParallelism() {
+        new ComponentCliqueFinder<String, String>(new NoEdgeInfoGraph<String>(), 0);
+    }
+}
@@ -0,0 +1,94 @@
+package graph;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class ConcurrentGraphBuilderTest {
+
+    @Test
+    public void testFreeze() {
+        final ConcurrentGraphBuilder<String> builder = new ConcurrentGraphBuilder<String>(4);
+        assertTrue(builder.addConnection("V1", "V2"));
+        assertFalse("Repeated connections should not change the graph", builder.addConnection("V1", "V2"));
+        builder.addConnection("V2", "V1");
+        builder.addConnection("V2", "V3");
+        builder.addVertex("V4");
+        assertTrue(builder.containsConnection("V2", "V3"));
+        assertFalse(builder.containsConnection("V3", "V2"));
+        assertEquals(3, builder.getVertexCount());
+
+        final CompactGraph<String> graph = builder.freeze();
+        assertEquals(3, graph.vertexCount());
+        assertTrue(graph.containsEdge("V1", "V2"));
+        assertTrue(graph.containsEdge("V2", "V1"));
+        assertFalse("V3 was never added as a vertex", graph.containsEdge("V2", "V3"));
+
+        final CompactGraph<String> mutual = builder.freezeMutual();
+        assertEquals(2, mutual.vertexCount());
+        assertEquals(2, mutual.edgeCount());
+        assertTrue(mutual.containsEdge("V1", "V2"));
+    }
+
+    @Test
+    public void testConcurrentBuildMatchesSequentialOne() throws InterruptedException {
+        final int threadCount = 4;
+        final ConcurrentGraphBuilder<Integer> builder = new ConcurrentGraphBuilder<Integer>(3);
+        final List<Thread> threads = new ArrayList<Thread>();
+        final NoEdgeInfoGraph<Integer> expected = new NoEdgeInfoGraph<Integer>();
+        final MutualGraphBuilder expectedMutual = new MutualGraphBuilder();
+        for (int t = 0; t < threadCount; t++) {
+            final int[][] connections = new int[5000][];
+            final Random random = new Random(t);
+            for (int i = 0; i < connections.length; i++) {
+                connections[i] = new int[]{random.nextInt(200), random.nextInt(200)};
+                expected.addConnection(connections[i][0], connections[i][1]);
+                expectedMutual.addConnection(connections[i][0], connections[i][1]);
+            }
+            threads.add(new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int[] connection : connections) {
+                        builder.addConnection(connection[0], connection[1]);
+                    }
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        final CompactGraph<Integer> graph = builder.freeze();
+        assertEquals(expected.vertexSet(), graph.vertexSet());
+        for (Integer vertex : expected.vertexSet()) {
+            assertEquals(new HashSet<Integer>(expected.getNeighbours(vertex)),
+                    new HashSet<Integer>(graph.getNeighbours(vertex)));
+        }
+
+        final NoEdgeInfoGraph<Integer> mutualExpected = expectedMutual.getGraph();
+        final CompactGraph<Integer> mutual = builder.freezeMutual();
+        assertEquals(mutualExpected.vertexSet(), mutual.vertexSet());
+        for (Integer vertex : mutualExpected.vertexSet()) {
+            assertEquals(new HashSet<Integer>(mutualExpected.getNeighbours(vertex)),
+                    new HashSet<Integer>(mutual.getNeighbours(vertex)));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidShardCount() {
+        new ConcurrentGraphBuilder<String>(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullVertex() {
+        new ConcurrentGraphBuilder<String>().addConnection("V1", null);
+    }
+}
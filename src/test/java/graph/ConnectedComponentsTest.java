@@ -0,0 +1,84 @@
+package graph;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class ConnectedComponentsTest {
+
+    @Test
+    public void testEmptyGraph() {
+        final ConnectedComponents<String> components = new ConnectedComponents<String>(new NoEdgeInfoGraph<String>());
+        assertEquals(0, components.getComponentCount());
+        assertTrue(components.getComponents(1).isEmpty());
+    }
+
+    @Test
+    public void testComponents() {
+        final NoEdgeInfoGraph<String> graph = new NoEdgeInfoGraph<String>();
+        graph.addVertex("V2");
+        graph.addVertex("V5");
+        //Edges are taken as undirected
+        graph.addConnection("V1", "V2");
+        graph.addConnection("V3", "V2");
+        graph.addConnection("V4", "V5");
+        graph.addVertex("V6");
+        //V7 is not part of the vertex set, so the connection to it is ignored
+        graph.addConnection("V6", "V7");
+
+        final ConnectedComponents<String> components = new ConnectedComponents<String>(graph);
+        assertEquals(3, components.getComponentCount());
+        assertTrue(components.areConnected("V1", "V3"));
+        assertFalse(components.areConnected("V1", "V4"));
+        assertFalse(components.areConnected("V6", "V7"));
+        assertEquals(3, components.getComponentSize("V2"));
+        assertEquals(1, components.getComponentSize("V6"));
+        assertEquals(0, components.getComponentSize("V7"));
+
+        final List<Set<String>> all = components.getComponents(1);
+        assertEquals(3, all.size());
+        assertEquals(3, all.get(0).size());
+        assertEquals(2, all.get(1).size());
+        assertEquals(1, all.get(2).size());
+
+        final List<Set<String>> big = components.getComponents(3);
+        assertEquals(1, big.size());
+        final Set<String> expected = new HashSet<String>();
+        expected.add("V1");
+        expected.add("V2");
+        expected.add("V3");
+        assertEquals(expected, big.get(0));
+    }
+
+    @Test
+    public void testComponentsPartitionTheGraph() {
+        final Random random = new Random(17);
+        final NoEdgeInfoGraph<Integer> graph = new NoEdgeInfoGraph<Integer>();
+        for (int i = 0; i < 500; i++) {
+            graph.addVertex(i);
+        }
+        for (int i = 0; i < 300; i++) {
+            graph.addConnection(random.nextInt(500), random.nextInt(500));
+        }
+
+        final ConnectedComponents<Integer> components = new ConnectedComponents<Integer>(graph);
+        final List<Set<Integer>> all = components.getComponents(1);
+        assertEquals(components.getComponentCount(), all.size());
+        final Set<Integer> seen = new HashSet<Integer>();
+        for (Set<Integer> component : all) {
+            for (Integer vertex : component) {
+                assertTrue("Components should not overlap", seen.add(vertex));
+                assertEquals(component.size(), components.getComponentSize(vertex));
+                for (Integer neighbour : graph.getNeighbours(vertex)) {
+                    assertTrue(component.contains(neighbour));
+                }
+            }
+        }
+        assertEquals(graph.vertexSet(), seen);
+    }
+}
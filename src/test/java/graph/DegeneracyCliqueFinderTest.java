@@ -0,0 +1,44 @@
+package graph;
+
+import org.junit.Test;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class DegeneracyCliqueFinderTest {
+
+    @Test
+    public void testEmptyGraph() {
+        final DegeneracyCliqueFinder<String, String> finder =
+                new DegeneracyCliqueFinder<String, String>(new NoEdgeInfoGraph<String>());
+        assertTrue("An empty graph has no cliques", finder.getAllMaximalCliques().isEmpty());
+    }
+
+    @Test
+    public void testIsolatedVertex() {
+        final NoEdgeInfoGraph<String> g = new NoEdgeInfoGraph<String>();
+        g.addVertex("V1");
+        final Collection<Set<String>> cliques = new DegeneracyCliqueFinder<String, String>(g).getAllMaximalCliques();
+        assertEquals("An isolated vertex is a maximal clique on its own", 1, cliques.size());
+    }
+
+    @Test
+    public void testMatchesBronKerboschOnRandomGraphs() {
+        final Random random = new Random(42);
+        for (int round = 0; round < 20; round++) {
+            final NoEdgeInfoGraph<String> g = new NoEdgeInfoGraph<String>();
+            BronKerboschCliqueFinderTest.createRandomGraph(g, random, 40, 0.05 * (round % 10 + 1));
+
+            final Collection<Set<String>> expected = new BronKerboschCliqueFinder<String, String>(g).getAllMaximalCliques();
+            final Collection<Set<String>> actual = new DegeneracyCliqueFinder<String, String>(g).getAllMaximalCliques();
+
+            assertEquals("Each clique should be reported only once", expected.size(), actual.size());
+            assertEquals(new HashSet<Set<String>>(expected), new HashSet<Set<String>>(actual));
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package graph;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class DegeneracyOrderingTest {
+
+    private static void addBidirectionalConnection(NoEdgeInfoGraph<String> g, String sourceVertex, String targetVertex) {
+        g.addConnection(sourceVertex, targetVertex);
+        g.addConnection(targetVertex, sourceVertex);
+    }
+
+    @Test
+    public void testEmptyGraph() {
+        final DegeneracyOrdering<String> ordering = new DegeneracyOrdering<String>(new NoEdgeInfoGraph<String>());
+        assertTrue("The ordering of an empty graph should be empty", ordering.getOrdering().isEmpty());
+        assertEquals(0, ordering.getDegeneracy());
+    }
+
+    @Test
+    public void testCoreNumbers() {
+        final NoEdgeInfoGraph<String> g = new NoEdgeInfoGraph<String>();
+        //Triangle V1,V2,V3 with a tail V3-V4-V5
+        addBidirectionalConnection(g, "V1", "V2");
+        addBidirectionalConnection(g, "V1", "V3");
+        addBidirectionalConnection(g, "V2", "V3");
+        addBidirectionalConnection(g, "V3", "V4");
+        addBidirectionalConnection(g, "V4", "V5");
+        g.addVertex("V6");
+
+        final DegeneracyOrdering<String> ordering = new DegeneracyOrdering<String>(g);
+        assertEquals("The degeneracy of a triangle with a tail is 2", 2, ordering.getDegeneracy());
+        assertEquals(2, ordering.getCoreNumber("V1"));
+        assertEquals(2, ordering.getCoreNumber("V2"));
+        assertEquals(2, ordering.getCoreNumber("V3"));
+        assertEquals(1, ordering.getCoreNumber("V4"));
+        assertEquals(1, ordering.getCoreNumber("V5"));
+        assertEquals(0, ordering.getCoreNumber("V6"));
+        assertEquals("Non existing vertices should have no core number", -1, ordering.getCoreNumber("V7"));
+    }
+
+    @Test
+    public void testSelfLoopsAreIgnored() {
+        final NoEdgeInfoGraph<String> g = new NoEdgeInfoGraph<String>();
+        g.addConnection("V1", "V1");
+        final DegeneracyOrdering<String> ordering = new DegeneracyOrdering<String>(g);
+        assertEquals(0, ordering.getCoreNumber("V1"));
+    }
+
+    @Test
+    public void testLaterNeighboursBoundedByDegeneracy() {
+        final NoEdgeInfoGraph<String> g = new NoEdgeInfoGraph<String>();
+        BronKerboschCliqueFinderTest.createRandomGraph(g, new Random(7), 60, 0.2);
+        final DegeneracyOrdering<String> ordering = new DegeneracyOrdering<String>(g);
+
+        final List<String> order = ordering.getOrdering();
+        assertEquals("All the vertices should be ordered", g.vertexSet(), new HashSet<String>(order));
+        for (int i = 0; i < order.size(); i++) {
+            int laterNeighbours = 0;
+            for (int j = i + 1; j < order.size(); j++) {
+                if (g.containsEdge(order.get(i), order.get(j))) {
+                    laterNeighbours++;
+                }
+            }
+            assertTrue("A vertex cannot have more later neighbours than the degeneracy",
+                    laterNeighbours <= ordering.getDegeneracy());
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package graph;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class DynamicCliqueIndexTest {
+
+    @Test
+    public void testAddAndRemoveConnections() {
+        final DynamicCliqueIndex<String> index = new DynamicCliqueIndex<String>(3);
+        assertTrue(index.addConnection("a", "b"));
+        assertTrue(index.addConnection("b", "c"));
+        assertFalse("Connections are undirected", index.addConnection("b", "a"));
+        assertFalse("Self loops should be ignored", index.addConnection("a", "a"));
+        assertEquals(0, index.getCliqueCount());
+
+        assertTrue(index.addConnection("a", "c"));
+        assertTrue(index.isMaximalClique(set("a", "b", "c")));
+
+        //Extending the clique replaces it
+        index.addConnection("d", "a");
+        index.addConnection("d", "b");
+        index.addConnection("d", "c");
+        assertEquals(1, index.getCliqueCount());
+        assertTrue(index.isMaximalClique(set("a", "b", "c", "d")));
+        assertEquals(1, index.getCliquesContaining("d").size());
+
+        //Breaking it leaves the two triangles without one of the vertices
+        assertTrue(index.removeConnection("c", "d"));
+        assertFalse(index.removeConnection("c", "d"));
+        assertFalse(index.containsConnection("d", "c"));
+        assertEquals(2, index.getCliqueCount());
+        assertTrue(index.isMaximalClique(set("a", "b", "c")));
+        assertTrue(index.isMaximalClique(set("a", "b", "d")));
+        assertTrue(index.getCliquesContaining("e").isEmpty());
+    }
+
+    @Test
+    public void testSameCliquesAsFullSearch() {
+        final Random random = new Random(21);
+        final int vertices = 16;
+        final DynamicCliqueIndex<String> index = new DynamicCliqueIndex<String>(3);
+        final NoEdgeInfoGraph<String> graph = new NoEdgeInfoGraph<String>();
+        for (int i = 0; i < 2000; i++) {
+            final String source = "v" + random.nextInt(vertices);
+            final String target = "v" + random.nextInt(vertices);
+            if (source.equals(target)) {
+                continue;
+            }
+            //Connections are added and removed with the same probability, so the density stays around one half
+            if (random.nextBoolean()) {
+                assertEquals(!graph.containsEdge(source, target), index.addConnection(source, target));
+                graph.addConnection(source, target);
+                graph.addConnection(target, source);
+            } else {
+                assertEquals(graph.containsEdge(source, target), index.removeConnection(source, target));
+                graph.removeConnection(source, target);
+                graph.removeConnection(target, source);
+            }
+
+            if (i % 20 == 0) {
+                assertEquals("Cliques differ after " + i + " updates", fullSearch(graph, 3),
+                        new HashSet<Set<String>>(index.getCliques()));
+            }
+        }
+    }
+
+    @Test
+    public void testIndexExistingGraph() {
+        final NoEdgeInfoGraph<String> graph = new NoEdgeInfoGraph<String>();
+        BronKerboschCliqueFinderTest.createRandomGraph(graph, new Random(3), 30, 0.4);
+        graph.addConnection("v0", "unidirectional");
+
+        final DynamicCliqueIndex<String> index = new DynamicCliqueIndex<String>(graph, 3);
+        assertEquals(fullSearch(graph, 3), new HashSet<Set<String>>(index.getCliques()));
+        assertFalse("Only bidirectional connections should be indexed", index.containsConnection("v0", "unidirectional"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMinimumCliqueSize() {
+        new DynamicCliqueIndex<String>(1);
+    }
+
+    private static Set<Set<String>> fullSearch(NoEdgeInfoGraph<String> graph, int minimumSize) {
+        final Set<Set<String>> cliques = new HashSet<Set<String>>();
+        final BronKerboschCliqueFinder<String, String> finder = new BronKerboschCliqueFinder<String, String>(graph,
+                BronKerboschCliqueFinder.Strategy.PIVOT);
+        for (Set<String> clique : finder.getAllMaximalCliques()) {
+            if (clique.size() >= minimumSize) {
+                cliques.add(clique);
+            }
+        }
+        return cliques;
+    }
+
+    private static Set<String> set(String... vertices) {
+        final Set<String> set = new HashSet<String>();
+        for (String vertex : vertices) {
+            set.add(vertex);
+        }
+        return set;
+    }
+}
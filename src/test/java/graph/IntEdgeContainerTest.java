@@ -0,0 +1,97 @@
+package graph;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class IntEdgeContainerTest {
+
+    private static List<IntEdgeContainer> newContainers() {
+        final List<IntEdgeContainer> containers = new ArrayList<IntEdgeContainer>();
+        containers.add(new IntEdgeContainer.Sorted());
+        containers.add(new IntEdgeContainer.Hashed(2));
+        containers.add(new IntEdgeContainer.Bits(10));
+        return containers;
+    }
+
+    @Test
+    public void testSameContentAsHashSet() {
+        for (IntEdgeContainer container : newContainers()) {
+            final Random random = new Random(5);
+            final Set<Integer> expected = new HashSet<Integer>();
+            for (int i = 0; i < 5000; i++) {
+                final int target = random.nextInt(300);
+                if (random.nextInt(3) == 0) {
+                    assertEquals(expected.remove(target), container.remove(target));
+                } else {
+                    assertEquals(expected.add(target), container.add(target));
+                }
+                assertEquals(expected.size(), container.size());
+            }
+            for (int target = 0; target < 400; target++) {
+                assertEquals(expected.contains(target), container.contains(target));
+                assertEquals(expected.contains(target), container.containsEdge(target));
+            }
+            assertEquals(expected, container.getEdges());
+        }
+    }
+
+    @Test
+    public void testIteratorRemove() {
+        for (IntEdgeContainer container : newContainers()) {
+            for (int target = 0; target < 100; target++) {
+                container.add(target);
+            }
+            final Iterator<Integer> edges = container.iterator();
+            while (edges.hasNext()) {
+                if (edges.next() % 2 == 0) {
+                    edges.remove();
+                }
+            }
+            assertEquals(50, container.size());
+            for (int target = 0; target < 100; target++) {
+                assertEquals(target % 2 == 1, container.contains(target));
+            }
+        }
+    }
+
+    @Test
+    public void testCopyTo() {
+        final IntEdgeContainer sorted = new IntEdgeContainer.Sorted();
+        sorted.add(70);
+        sorted.add(3);
+        sorted.add(15);
+        final IntEdgeContainer bits = new IntEdgeContainer.Bits(10);
+        sorted.copyTo(bits);
+        assertEquals(sorted.getEdges(), bits.getEdges());
+    }
+
+    @Test
+    public void testObjectMethods() {
+        for (IntEdgeContainer container : newContainers()) {
+            assertTrue(container.isEmpty());
+            container.addEdge(7, 7);
+            assertFalse(container.containsEdge(-1));
+            assertFalse(container.containsEdge(null));
+            assertEquals(Integer.valueOf(7), container.getVertexForEdge(7));
+            assertNull(container.getVertexForEdge(8));
+            final List<Integer> toRemove = new ArrayList<Integer>();
+            toRemove.add(7);
+            toRemove.add(-3);
+            container.remove(toRemove);
+            assertTrue(container.isEmpty());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeEdge() {
+        new IntEdgeContainer.Sorted().addEdge(-1, -1);
+    }
+}
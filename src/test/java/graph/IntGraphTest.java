@@ -0,0 +1,88 @@
+package graph;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class IntGraphTest {
+
+    @Test
+    public void testContainerSwitchesWithDegree() {
+        final IntGraph graph = new IntGraph();
+        for (int target = 1; target <= IntGraph.SORTED_MAX_DEGREE; target++) {
+            graph.addConnection(0, target);
+        }
+        assertTrue(graph.getEdges(0) instanceof IntEdgeContainer.Sorted);
+
+        graph.addConnection(0, IntGraph.SORTED_MAX_DEGREE + 1);
+        assertTrue(graph.getEdges(0) instanceof IntEdgeContainer.Hashed);
+
+        for (int target = IntGraph.SORTED_MAX_DEGREE + 2; target < 2000; target++) {
+            graph.addConnection(0, target);
+        }
+        assertTrue("A hub connected to most ids should use a bitset", graph.getEdges(0) instanceof IntEdgeContainer.Bits);
+        assertEquals(1999, graph.degree(0));
+        for (int target = 1; target < 2000; target++) {
+            assertTrue(graph.containsEdge(0, target));
+        }
+        assertFalse(graph.containsEdge(0, 0));
+        assertFalse(graph.containsEdge(0, -5));
+        assertEquals(0, graph.degree(12345));
+    }
+
+    @Test
+    public void testHashedContainerSize() {
+        final IntGraph graph = new IntGraph();
+        //Spread ids, so a bitset never gets smaller than the int set
+        for (int target = 1; target <= IntGraph.SORTED_MAX_DEGREE + 1; target++) {
+            graph.addConnection(0, target * 100000);
+        }
+        assertTrue(graph.getEdges(0) instanceof IntEdgeContainer.Hashed);
+        assertTrue("An int set takes at most 16 bytes per edge", graph.edgeMemoryUsage() <= 16L * (IntGraph.SORTED_MAX_DEGREE + 1));
+    }
+
+    @Test
+    public void testSameCliquesAsNoEdgeInfoGraph() {
+        final Random random = new Random(3);
+        final IntGraph intGraph = new IntGraph();
+        final NoEdgeInfoGraph<Integer> graph = new NoEdgeInfoGraph<Integer>();
+        for (int i = 0; i < 3000; i++) {
+            final int source = random.nextInt(60);
+            final int target = random.nextInt(60);
+            if (source != target) {
+                intGraph.addConnection(source, target);
+                graph.addConnection(source, target);
+            }
+        }
+        assertEquals(graph.removeNonBidirectionalConnections(), intGraph.removeNonBidirectionalConnections());
+        assertEquals(graph.removeVerticesBelowCore(3), intGraph.removeVerticesBelowCore(3));
+        assertEquals(graph.vertexSet(), intGraph.vertexSet());
+        assertEquals(cliquesOf(graph), cliquesOf(intGraph));
+    }
+
+    @Test
+    public void testRemoveConnection() {
+        final IntGraph graph = new IntGraph();
+        for (int target = 1; target < 100; target++) {
+            graph.addConnection(0, target);
+        }
+        assertTrue(graph.removeConnection(0, 50));
+        assertFalse(graph.removeConnection(0, 50));
+        assertFalse(graph.containsEdge(0, 50));
+        assertEquals(98, graph.degree(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeIds() {
+        new IntGraph().addConnection(1, -2);
+    }
+
+    private static Set<Set<Integer>> cliquesOf(final NoEdgeInfoGraph<Integer> graph) {
+        final DegeneracyCliqueFinder<Integer, Integer> finder = new DegeneracyCliqueFinder<Integer, Integer>(graph);
+        return new HashSet<Set<Integer>>(finder.getAllMaximalCliques());
+    }
+}
@@ -0,0 +1,63 @@
+package graph;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class LongHashSetTest {
+
+    @Test
+    public void testAddAndContains() {
+        final LongHashSet set = new LongHashSet();
+        assertTrue(set.isEmpty());
+        assertTrue(set.add(42L));
+        assertFalse("Adding an existing key should not change the set", set.add(42L));
+        assertTrue(set.contains(42L));
+        assertFalse(set.contains(43L));
+        assertEquals(1, set.size());
+    }
+
+    @Test
+    public void testZeroKey() {
+        final LongHashSet set = new LongHashSet();
+        assertFalse(set.contains(0L));
+        assertTrue(set.add(0L));
+        assertFalse(set.add(0L));
+        assertTrue(set.contains(0L));
+        assertEquals(1, set.size());
+        assertTrue(set.add(LongHashSet.pair(0, 1)));
+        assertEquals(2, set.size());
+    }
+
+    @Test
+    public void testPair() {
+        assertEquals(0x0000000100000002L, LongHashSet.pair(1, 2));
+        assertFalse(LongHashSet.pair(1, 2) == LongHashSet.pair(2, 1));
+        assertEquals(0x00000001FFFFFFFFL, LongHashSet.pair(1, -1));
+    }
+
+    @Test
+    public void testSameContentAsHashSet() {
+        final Random random = new Random(7);
+        final LongHashSet set = new LongHashSet(4);
+        final Set<Long> expected = new HashSet<Long>();
+        for (int i = 0; i < 100000; i++) {
+            final long key = LongHashSet.pair(random.nextInt(500), random.nextInt(500));
+            assertEquals(expected.add(key), set.add(key));
+        }
+        assertEquals(expected.size(), set.size());
+        for (int i = 0; i < 10000; i++) {
+            final long key = LongHashSet.pair(random.nextInt(600), random.nextInt(600));
+            assertEquals(expected.contains(key), set.contains(key));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeExpectedSize() {
+        new LongHashSet(-1);
+    }
+}
@@ -0,0 +1,58 @@
+package graph;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class MutualGraphBuilderTest {
+
+    @Test
+    public void testOnlyBidirectionalConnections() {
+        final MutualGraphBuilder builder = new MutualGraphBuilder();
+        assertFalse(builder.addConnection(1, 2));
+        assertFalse(builder.addConnection(2, 3));
+        assertFalse("Self connections should be ignored", builder.addConnection(3, 3));
+        assertTrue("The reverse connection should make a bidirectional one", builder.addConnection(2, 1));
+        assertFalse("Repeated connections should not change the graph", builder.addConnection(1, 2));
+
+        final NoEdgeInfoGraph<Integer> graph = builder.getGraph();
+        assertTrue(graph.containsEdge(1, 2));
+        assertTrue(graph.containsEdge(2, 1));
+        assertFalse(graph.containsEdge(2, 3));
+        assertEquals("Vertices without bidirectional connections should not be added", 2, graph.vertexSet().size());
+        assertEquals(3, builder.getConnectionCount());
+    }
+
+    @Test
+    public void testSameGraphAsFilteringDirectedGraph() {
+        final Random random = new Random(11);
+        final MutualGraphBuilder builder = new MutualGraphBuilder(16);
+        final NoEdgeInfoGraph<Integer> directed = new NoEdgeInfoGraph<Integer>();
+        for (int i = 0; i < 5000; i++) {
+            final int source = random.nextInt(100);
+            final int target = random.nextInt(100);
+            builder.addConnection(source, target);
+            if (source != target) {
+                directed.addConnection(source, target);
+            }
+        }
+        directed.removeNonBidirectionalConnections();
+
+        final NoEdgeInfoGraph<Integer> mutual = builder.getGraph();
+        for (Integer vertex : directed.vertexSet()) {
+            for (Integer neighbour : directed.getNeighbours(vertex)) {
+                assertTrue(mutual.containsEdge(vertex, neighbour));
+            }
+        }
+        for (Integer vertex : mutual.vertexSet()) {
+            assertEquals(directed.getNeighbours(vertex).size(), mutual.getNeighbours(vertex).size());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeIds() {
+        new MutualGraphBuilder().addConnection(-1, 2);
+    }
+}
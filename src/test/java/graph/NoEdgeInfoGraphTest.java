@@ -19,6 +19,17 @@ public class NoEdgeInfoGraphTest {
     }
 
 
+    @Test
+    public void testEdgeCount() {
+        final NoEdgeInfoGraph<String> graph = new NoEdgeInfoGraph<String>();
+        assertEquals(0, graph.edgeCount());
+        graph.addVertex("V3");
+        graph.addConnection("V1", "V2");
+        graph.addConnection("V2", "V1");
+        graph.addConnection("V1", "V3");
+        assertEquals("Each direction of a connection counts as one edge", 3, graph.edgeCount());
+    }
+
     @Test
     public void testGetEmptyVertexSet() {
         NoEdgeInfoGraph graph = new NoEdgeInfoGraph();
@@ -209,6 +220,24 @@ public class NoEdgeInfoGraphTest {
         assertFalse(graph.containsEdge("V3", "V2"));
     }
 
+    @Test
+    public void testRemoveNonBidirectionalConnectionsMixedConnections() throws Exception {
+        NoEdgeInfoGraph<String> graph = new NoEdgeInfoGraph<String>();
+        graph.addConnection("V1", "V2");
+        graph.addConnection("V2", "V1");
+        graph.addConnection("V2", "V3");
+        graph.addConnection("V3", "V1");
+        graph.addConnection("V3", "V3");
+
+        assertEquals("Only V2->V3 and V3->V1 are not bidirectional", 2, graph.removeNonBidirectionalConnections());
+        assertTrue(graph.containsEdge("V1", "V2"));
+        assertTrue(graph.containsEdge("V2", "V1"));
+        assertFalse("The target having other connections should not keep the connection", graph.containsEdge("V2", "V3"));
+        assertFalse(graph.containsEdge("V3", "V1"));
+        assertTrue("Self loops are their own reverse connection", graph.containsEdge("V3", "V3"));
+        assertEquals(0, graph.removeNonBidirectionalConnections());
+    }
+
     @Test
     public void testGetVertexFromEdgeOK() throws Exception {
         NoEdgeInfoGraph graph = new NoEdgeInfoGraph();
@@ -226,4 +255,45 @@ public class NoEdgeInfoGraphTest {
         assertNull("Expected to get V1 as vertex, when retrieving the vertex from the edge.", edges.getVertexForEdge("V4"));
 
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testRemoveVerticesBelowCore() throws Exception {
+        NoEdgeInfoGraph<String> graph = new NoEdgeInfoGraph<String>();
+        //Triangle V1,V2,V3 with a tail V3-V4
+        for (String[] connection : new String[][]{{"V1", "V2"}, {"V1", "V3"}, {"V2", "V3"}, {"V3", "V4"}}) {
+            graph.addConnection(connection[0], connection[1]);
+            graph.addConnection(connection[1], connection[0]);
+        }
+        graph.addVertex("V5");
+
+        assertEquals("Vertices V4 and V5 are outside the 2-core", 2, graph.removeVerticesBelowCore(2));
+        assertEquals(3, graph.vertexSet().size());
+        assertFalse("Vertex V4 should have been removed", graph.vertexSet().contains("V4"));
+        assertFalse("The connection to a removed vertex should be removed as well", graph.containsEdge("V3", "V4"));
+        assertTrue(graph.containsEdge("V1", "V2"));
+        assertEquals(0, graph.removeVerticesBelowCore(2));
+    }
+
+    @Test
+    public void testRemoveVertex() throws Exception {
+        NoEdgeInfoGraph<String> graph = new NoEdgeInfoGraph<String>();
+        graph.addConnection("V1", "V2");
+        assertTrue(graph.removeVertex("V1"));
+        assertFalse(graph.removeVertex("V1"));
+        assertTrue(graph.vertexSet().isEmpty());
+    }
+
+    @Test
+    public void testRemoveConnection() throws Exception {
+        NoEdgeInfoGraph<String> graph = new NoEdgeInfoGraph<String>();
+        graph.addConnection("V1", "V2");
+        graph.addConnection("V2", "V1");
+
+        assertTrue(graph.removeConnection("V1", "V2"));
+        assertFalse("The connection should be removed", graph.containsEdge("V1", "V2"));
+        assertTrue("The opposite connection should be kept", graph.containsEdge("V2", "V1"));
+        assertFalse(graph.removeConnection("V1", "V2"));
+        assertFalse(graph.removeConnection("V3", "V1"));
+        assertEquals("Vertices should be kept after removing their connections", 2, graph.vertexSet().size());
+    }
+}
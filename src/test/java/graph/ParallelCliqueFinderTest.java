@@ -0,0 +1,54 @@
+package graph;
+
+import org.junit.Test;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ParallelCliqueFinderTest {
+
+    @Test
+    public void testEmptyGraph() {
+        final ParallelCliqueFinder<String, String> finder =
+                new ParallelCliqueFinder<String, String>(new NoEdgeInfoGraph<String>(), 2);
+        assertTrue("An empty graph has no cliques", finder.getAllMaximalCliques().isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNoThreads() {
+        new ParallelCliqueFinder<String, String>(new NoEdgeInfoGraph<String>(), 0);
+    }
+
+    @Test
+    public void testMatchesBronKerboschOnRandomGraphs() {
+        final Random random = new Random(42);
+        for (int round = 0; round < 10; round++) {
+            final NoEdgeInfoGraph<String> g = new NoEdgeInfoGraph<String>();
+            BronKerboschCliqueFinderTest.createRandomGraph(g, random, 50, 0.1 * (round + 1) - 0.05);
+
+            final Collection<Set<String>> expected = new DegeneracyCliqueFinder<String, String>(g).getAllMaximalCliques();
+            final Collection<Set<String>> actual = new ParallelCliqueFinder<String, String>(g, 4).getAllMaximalCliques();
+
+            assertEquals("Each clique should be reported only once", expected.size(), actual.size());
+            assertEquals(new HashSet<Set<String>>(expected), new HashSet<Set<String>>(actual));
+        }
+    }
+
+    @Test
+    public void testSplitsBigSubtrees() {
+        //Use a low split threshold, so nested tasks are forked at several depths
+        final NoEdgeInfoGraph<String> g = new NoEdgeInfoGraph<String>();
+        BronKerboschCliqueFinderTest.createRandomGraph(g, new Random(3), 80, 0.5);
+
+        final Collection<Set<String>> expected = new BitSetCliqueFinder<String, String>(g).getAllMaximalCliques();
+        final Collection<Set<String>> actual = new ParallelCliqueFinder<String, String>(g, 3, 4).getAllMaximalCliques();
+
+        assertEquals("Each clique should be reported only once", expected.size(), actual.size());
+        assertEquals(new HashSet<Set<String>>(expected), new HashSet<Set<String>>(actual));
+    }
+}
@@ -0,0 +1,48 @@
+package graph;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SearchProgressReporterTest {
+
+    @Test
+    public void testFormat() {
+        final SearchStatistics previous = new SearchStatistics(1000000000L, 1000, 5000, 3, 4, 10, 8, 2, false);
+        final SearchStatistics current = new SearchStatistics(3000000000L, 5000, 25000, 7, 6, 30, 8, 6, false);
+        assertEquals("Clique search 3.0s: 5000 nodes (2000 nodes/s), 7 cliques, depth 6, 30 pruned, "
+                + "25.0% of 8 top level branches left", SearchProgressReporter.format(previous, current));
+    }
+
+    @Test
+    public void testFormatFirstReport() {
+        final SearchStatistics current = new SearchStatistics(500000000L, 100, 300, 1, 2, 0, 0, 0, false);
+        assertEquals("Clique search 0.5s: 100 nodes (200 nodes/s), 1 cliques, depth 2, 0 pruned, "
+                + "100.0% of 0 top level branches left", SearchProgressReporter.format(SearchStatistics.NONE, current));
+    }
+
+    @Test
+    public void testRemainingFraction() {
+        assertEquals(0.75, new SearchStatistics(1, 1, 0, 0, 0, 0, 4, 1, false).getRemainingFraction(), 1e-9);
+        assertEquals(0, new SearchStatistics(1, 1, 0, 0, 0, 0, 4, 1, true).getRemainingFraction(), 0);
+        assertEquals(200, new SearchStatistics(500000000L, 100, 0, 0, 0, 0, 0, 0, true).getNodesPerSecond(), 1e-9);
+    }
+
+    @Test
+    public void testStartAndStop() throws InterruptedException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final SearchProgressReporter reporter =
+                new SearchProgressReporter(new SearchCounters(), new PrintStream(out, true), 1);
+        reporter.start();
+        Thread.sleep(20);
+        reporter.stop();
+        final int size = out.size();
+        assertTrue("Reports are printed until stopped", size > 0);
+        Thread.sleep(10);
+        assertEquals("Nothing is printed once stopped", size, out.size());
+    }
+}
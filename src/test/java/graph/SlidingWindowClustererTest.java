@@ -0,0 +1,113 @@
+package graph;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class SlidingWindowClustererTest {
+
+    @Test
+    public void testClustersExpire() {
+        final SlidingWindowClusterer<String> clusterer = new SlidingWindowClusterer<String>(10, 3);
+        clusterer.addInteraction("a", "b", 0);
+        clusterer.addInteraction("b", "a", 1);
+        clusterer.addInteraction("a", "c", 2);
+        clusterer.addInteraction("c", "a", 3);
+        clusterer.addInteraction("b", "c", 4);
+        assertTrue("A cluster needs all its connections to be bidirectional", clusterer.getClusters().isEmpty());
+
+        clusterer.addInteraction("c", "b", 5);
+        final Set<String> cluster = new HashSet<String>();
+        cluster.add("a");
+        cluster.add("b");
+        cluster.add("c");
+        assertEquals(1, clusterer.getClusters().size());
+        assertTrue(clusterer.getClusters().contains(cluster));
+
+        //A repeated interaction keeps the connection alive after the first one expires
+        clusterer.addInteraction("a", "b", 8);
+        clusterer.advanceTo(10);
+        assertEquals("Only the first interaction should have expired", 6, clusterer.getInteractionCount());
+        assertEquals(1, clusterer.getClusters().size());
+
+        clusterer.advanceTo(11);
+        assertTrue("The cluster should disappear once the b -> a connection expires", clusterer.getClusters().isEmpty());
+        assertEquals(11, clusterer.getCurrentTime());
+    }
+
+    @Test
+    public void testSameClustersAsFullSearch() {
+        final Random random = new Random(13);
+        final int users = 8;
+        final long windowLength = 40;
+        final SlidingWindowClusterer<String> clusterer = new SlidingWindowClusterer<String>(windowLength, 3);
+        final List<long[]> interactions = new ArrayList<long[]>();
+
+        long time = 0;
+        int clustersSeen = 0;
+        for (int i = 0; i < 3000; i++) {
+            time += random.nextInt(3);
+            final int source = random.nextInt(users);
+            final int target = random.nextInt(users);
+            clusterer.addInteraction("v" + source, "v" + target, time);
+            interactions.add(new long[]{source, target, time});
+
+            if (i % 25 == 0) {
+                assertEquals("Clusters differ at time " + time, fullSearch(interactions, time, windowLength),
+                        new HashSet<Set<String>>(clusterer.getClusters()));
+                clustersSeen += clusterer.getClusters().size();
+            }
+        }
+        assertTrue("The test should go through windows with clusters", clustersSeen > 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTimeCannotGoBackwards() {
+        final SlidingWindowClusterer<String> clusterer = new SlidingWindowClusterer<String>(10, 3);
+        clusterer.addInteraction("a", "b", 5);
+        clusterer.addInteraction("b", "a", 4);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMinimumClusterSize() {
+        new SlidingWindowClusterer<String>(10, 1);
+    }
+
+    /**
+     * Returns the clusters of at least 3 users found by searching the whole mutual graph of the interactions within
+     * the window ending at the given time.
+     */
+    private static Set<Set<String>> fullSearch(List<long[]> interactions, long time, long windowLength) {
+        final NoEdgeInfoGraph<String> directed = new NoEdgeInfoGraph<String>();
+        for (long[] interaction : interactions) {
+            if (interaction[2] > time - windowLength && interaction[0] != interaction[1]) {
+                directed.addConnection("v" + interaction[0], "v" + interaction[1]);
+            }
+        }
+        final NoEdgeInfoGraph<String> mutual = new NoEdgeInfoGraph<String>();
+        for (String vertex : directed.vertexSet()) {
+            for (String neighbour : directed.getNeighbours(vertex)) {
+                if (directed.containsEdge(neighbour, vertex)) {
+                    mutual.addConnection(vertex, neighbour);
+                }
+            }
+        }
+
+        final Set<Set<String>> clusters = new HashSet<Set<String>>();
+        final Collection<Set<String>> cliques = new BronKerboschCliqueFinder<String, String>(mutual,
+                BronKerboschCliqueFinder.Strategy.PIVOT).getAllMaximalCliques();
+        for (Set<String> clique : cliques) {
+            if (clique.size() >= 3) {
+                clusters.add(clique);
+            }
+        }
+        return clusters;
+    }
+}
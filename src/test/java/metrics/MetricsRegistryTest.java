@@ -0,0 +1,161 @@
+package metrics;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class MetricsRegistryTest {
+
+    @Test
+    public void testEmptyRegistry() {
+        final MetricsRegistry registry = new MetricsRegistry();
+        assertTrue(registry.getPhases().isEmpty());
+        assertNull(registry.getPhase("parse"));
+        assertEquals("{\n  \"phases\": []\n}\n", registry.toJson());
+    }
+
+    @Test
+    public void testPhaseMeasures() {
+        final MetricsRegistry registry = new MetricsRegistry();
+        final PhaseMetrics phase = registry.startPhase("work");
+        assertFalse(phase.isEnded());
+
+        long sum = 0;
+        for (int i = 0; i < 1000; i++) {
+            sum += new int[100].length;
+        }
+        phase.end();
+        assertEquals(100000, sum);
+        assertTrue(phase.isEnded());
+
+        final long wall = phase.getWallNanos();
+        assertTrue(wall >= 0);
+        assertEquals("Measures are frozen once the phase ended", wall, phase.getWallNanos());
+        if (phase.getAllocatedBytes() >= 0) {
+            assertTrue("The arrays allocated are counted", phase.getAllocatedBytes() >= 1000 * 400);
+        }
+        assertTrue(phase.getThreadCpuNanos() >= -1);
+        assertTrue(phase.getCpuNanos() >= -1);
+    }
+
+    @Test
+    public void testWorkersAreMeasured() throws Exception {
+        final PhaseMetrics phase = new MetricsRegistry().startPhase("work");
+        final Runnable work = new Runnable() {
+            @Override
+            public void run() {
+                long sum = 0;
+                for (int i = 0; i < 1000; i++) {
+                    sum += new int[100].length;
+                }
+                if (sum != 100000) {
+                    throw new IllegalStateException();
+                }
+            }
+        };
+
+        final ExecutorService executor = Executors.newFixedThreadPool(2, phase.getWorkers().threadFactory());
+        executor.submit(work).get();
+        executor.submit(work).get();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        final ForkJoinPool pool = new ForkJoinPool(2, phase.getWorkers().forkJoinThreadFactory(), null, false);
+        pool.submit(work).get();
+        pool.shutdown();
+        phase.end();
+
+        final int threads = phase.getWorkers().getThreadCount();
+        assertTrue(threads >= 2 && threads <= 4);
+        if (phase.getWorkers().getAllocatedBytes() >= 0) {
+            assertTrue("The arrays allocated by the workers are counted, dead or alive",
+                    phase.getWorkers().getAllocatedBytes() >= 3 * 1000 * 400);
+            assertTrue(phase.getAllocatedBytes() >= phase.getWorkers().getAllocatedBytes());
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testEndTwice() {
+        final PhaseMetrics phase = new MetricsRegistry().startPhase("work");
+        phase.end();
+        phase.end();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDuplicatePhase() {
+        final MetricsRegistry registry = new MetricsRegistry();
+        registry.startPhase("work");
+        registry.startPhase("work");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEmptyPhaseName() {
+        new MetricsRegistry().startPhase("");
+    }
+
+    @Test
+    public void testCounts() {
+        final PhaseMetrics phase = new MetricsRegistry().startPhase("work");
+        assertEquals(0, phase.getCount("records"));
+        phase.addCount("records", 3);
+        phase.addCount("records", 4);
+        phase.setCount("vertices", 10);
+        assertEquals(7, phase.getCount("records"));
+
+        final Map<String, Long> counts = phase.getCounts();
+        assertEquals(2, counts.size());
+        assertEquals("Counts keep the order they were set in", "records", counts.keySet().iterator().next());
+        phase.setCount("records", 1);
+        assertEquals("The counts returned are a copy", Long.valueOf(7), counts.get("records"));
+    }
+
+    @Test
+    public void testJson() throws IOException {
+        final MetricsRegistry registry = new MetricsRegistry();
+        final PhaseMetrics parse = registry.startPhase("parse");
+        parse.setCount("records", 17);
+        parse.end();
+        final PhaseMetrics search = registry.startPhase("search \"all\"");
+        search.setCount("cliques", 2);
+        search.setCount("recursion_nodes", 36);
+
+        final String json = registry.toJson();
+        assertTrue(json.startsWith("{\n  \"phases\": [\n    {\"name\": \"parse\", \"wall_nanos\": "));
+        assertTrue(json.contains("\"counts\": {\"records\": 17}}"));
+        assertTrue("Names are escaped", json.contains("{\"name\": \"search \\\"all\\\"\""));
+        assertTrue(json.contains("\"counts\": {\"cliques\": 2, \"recursion_nodes\": 36}}"));
+        assertTrue(json.indexOf("parse") < json.indexOf("search"));
+        assertTrue(json.endsWith("}}\n  ]\n}\n"));
+
+        final StringWriter writer = new StringWriter();
+        search.end();
+        registry.writeJson(writer);
+        assertEquals(registry.toJson(), writer.toString());
+
+        final File file = File.createTempFile("metrics", ".json");
+        try {
+            registry.writeJson(file.getPath());
+            assertEquals(registry.toJson(), new String(Files.readAllBytes(file.toPath()), Charset.forName("UTF-8")));
+        } finally {
+            assertTrue(file.delete());
+        }
+    }
+
+    @Test
+    public void testEscapeControlCharacters() {
+        final StringBuilder json = new StringBuilder();
+        MetricsRegistry.appendString(json, "a\\b\n\tc\u0001");
+        assertEquals("\"a\\\\b\\n\\tc\\u0001\"", json.toString());
+    }
+}